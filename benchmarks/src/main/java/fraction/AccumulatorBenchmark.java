@@ -0,0 +1,96 @@
+package fraction;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares summing <pre>size</pre> fractions with a {@link FractionAccumulator} against chaining
+ * {@link Fractions#add(Fraction, Fraction)} calls, which normalise (finding at least one greatest common divisor)
+ * after every addition. Denominators are at most <pre>maxDenominator</pre>: small ones keep the total within
+ * <pre>int</pre> components, and larger ones soon push it to <pre>long</pre> and beyond.
+ *
+ * The <pre>reductions</pre> and <pre>sums</pre> counters give the accumulator's reductions per sum, each of which
+ * is one greatest common divisor, against the <pre>size</pre> normalisations of the chained calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AccumulatorBenchmark {
+
+    @Param({"12", "1000"})
+    public int maxDenominator;
+
+    @Param({"1000"})
+    public int size;
+
+    private Fraction[] fractions;
+
+    /**
+     * Counts the accumulator's reductions, and the sums they were made over.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long reductions;
+        public long sums;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reductions = 0;
+            sums = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        fractions = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            fractions[i] = Fraction.of(random.nextInt(-100, 100), random.nextInt(1, maxDenominator + 1));
+        }
+    }
+
+    @Benchmark
+    public Fraction accumulator(Counters counters) {
+        FractionAccumulator accumulator = new FractionAccumulator();
+        for (Fraction f : fractions) {
+            accumulator.add(f);
+        }
+        Fraction sum = accumulator.toFraction();
+        counters.reductions += accumulator.reductions();
+        counters.sums++;
+        return sum;
+    }
+
+    @Benchmark
+    public Fraction chainedAdd() {
+        Fraction sum = Fraction.of(0);
+        for (Fraction f : fractions) {
+            sum = Fractions.add(sum, f);
+        }
+        return sum;
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AccumulatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
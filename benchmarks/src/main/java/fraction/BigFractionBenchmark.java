@@ -0,0 +1,140 @@
+package fraction;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares <pre>BigFraction</pre> with a naive rational that always holds <pre>BigInteger</pre> components, for
+ * each of the operand magnitudes described by {@link Magnitude}.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): while results fit inline, <pre>BigFraction</pre>
+ * should allocate only its result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BigFractionBenchmark {
+
+    /**
+     * The numerators and denominators of the two operands, <pre>a/b</pre> and <pre>c/d</pre>.
+     */
+    public enum Magnitude {
+        // within int range, as FractionImpl would hold them
+        INT("12345", "46339", "23456", "46341"),
+
+        // near 2^62, so intermediate products need 128 bits but results stay inline
+        LONG("4611686018427387903", "4611686018427387847", "-4611686018427387901", "4611686018427387847"),
+
+        // near 2^62 and coprime, so sums and products are promoted
+        WIDE("4611686018427387903", "4611686018427387847", "4611686018427387817", "4611686018427387733"),
+
+        // around 2^200, so every operation is done with BigInteger
+        HUGE("1606938044258990275541962092341162602522202993782792835301377",
+                "803469022129495137770981046170581301261101496891396417650687",
+                "1606938044258990275541962092341162602522202993782792835301611",
+                "803469022129495137770981046170581301261101496891396417650699");
+
+        final BigInteger a, b, c, d;
+
+        Magnitude(String a, String b, String c, String d) {
+            this.a = new BigInteger(a);
+            this.b = new BigInteger(b);
+            this.c = new BigInteger(c);
+            this.d = new BigInteger(d);
+        }
+    }
+
+    /**
+     * A rational that always holds <pre>BigInteger</pre> components, normalising each result with
+     * <pre>BigInteger.gcd</pre>, as the baseline <pre>BigFraction</pre> is compared with.
+     */
+    static final class NaiveRational {
+        final BigInteger numerator, denominator;
+
+        NaiveRational(BigInteger numerator, BigInteger denominator) {
+            BigInteger gcd = numerator.gcd(denominator);
+            this.numerator = numerator.divide(gcd);
+            this.denominator = denominator.divide(gcd);
+        }
+
+        NaiveRational add(NaiveRational other) {
+            return new NaiveRational(numerator.multiply(other.denominator).add(other.numerator.multiply(denominator)),
+                    denominator.multiply(other.denominator));
+        }
+
+        NaiveRational multiply(NaiveRational other) {
+            return new NaiveRational(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+        }
+
+        int compareTo(NaiveRational other) {
+            return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
+        }
+    }
+
+    @Param
+    public Magnitude magnitude;
+
+    private Fraction left, right;
+    private NaiveRational naiveLeft, naiveRight;
+
+    @Setup
+    public void setUp() {
+        left = new BigFraction(magnitude.a, magnitude.b);
+        right = new BigFraction(magnitude.c, magnitude.d);
+        naiveLeft = new NaiveRational(magnitude.a, magnitude.b);
+        naiveRight = new NaiveRational(magnitude.c, magnitude.d);
+    }
+
+    @Benchmark
+    public Fraction add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public Fraction multiply() {
+        return left.multiply(right);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return left.compareTo(right);
+    }
+
+    @Benchmark
+    public NaiveRational naiveAdd() {
+        return naiveLeft.add(naiveRight);
+    }
+
+    @Benchmark
+    public NaiveRational naiveMultiply() {
+        return naiveLeft.multiply(naiveRight);
+    }
+
+    @Benchmark
+    public int naiveCompareTo() {
+        return naiveLeft.compareTo(naiveRight);
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BigFractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,118 @@
+package fraction;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link FractionArrays}' element-wise arithmetic on columns of <pre>size</pre> fractions with the same
+ * arithmetic done by <pre>FractionImpl</pre> in a loop over <pre>Fraction[]</pre> arrays, one result allocated
+ * per element. Operands are small enough that no result overflows.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): the bulk operations should allocate only their
+ * scratch blocks, whatever the size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BulkArithmeticBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private FractionArray left, right, destination;
+    private Fraction[] leftFractions, rightFractions, destinationFractions;
+    private final Fraction factor = Fraction.of(3, 7);
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        left = new FractionArray(size);
+        right = new FractionArray(size);
+        destination = new FractionArray(size);
+        leftFractions = new Fraction[size];
+        rightFractions = new Fraction[size];
+        destinationFractions = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            left.set(i, random.nextInt(-10_000, 10_000), random.nextInt(1, 10_000));
+            right.set(i, random.nextInt(1, 10_000), random.nextInt(1, 10_000));
+            leftFractions[i] = left.get(i);
+            rightFractions[i] = right.get(i);
+        }
+    }
+
+    @Benchmark
+    public BitSet bulkAdd() {
+        return FractionArrays.add(left, right, destination);
+    }
+
+    @Benchmark
+    public Fraction[] loopAdd() {
+        for (int i = 0; i < size; i++) {
+            destinationFractions[i] = leftFractions[i].add(rightFractions[i]);
+        }
+        return destinationFractions;
+    }
+
+    @Benchmark
+    public BitSet bulkMultiply() {
+        return FractionArrays.multiply(left, right, destination);
+    }
+
+    @Benchmark
+    public Fraction[] loopMultiply() {
+        for (int i = 0; i < size; i++) {
+            destinationFractions[i] = leftFractions[i].multiply(rightFractions[i]);
+        }
+        return destinationFractions;
+    }
+
+    @Benchmark
+    public BitSet bulkDivide() {
+        return FractionArrays.divide(left, right, destination);
+    }
+
+    @Benchmark
+    public Fraction[] loopDivide() {
+        for (int i = 0; i < size; i++) {
+            destinationFractions[i] = leftFractions[i].divide(rightFractions[i]);
+        }
+        return destinationFractions;
+    }
+
+    @Benchmark
+    public BitSet bulkScale() {
+        return FractionArrays.scale(left, factor, destination);
+    }
+
+    @Benchmark
+    public Fraction[] loopScale() {
+        for (int i = 0; i < size; i++) {
+            destinationFractions[i] = leftFractions[i].multiply(factor);
+        }
+        return destinationFractions;
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BulkArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
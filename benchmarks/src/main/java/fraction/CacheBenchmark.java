@@ -0,0 +1,115 @@
+package fraction;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares allocating fractions with the constructor against the canonical instances returned by
+ * {@link Fraction#of(int, int)} and by arithmetic, over operands drawn from a small range (mostly cached) and a
+ * large range (mostly not).
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): <pre>gc.alloc.rate.norm</pre> should fall to zero for
+ * cached results. {@link #hitRate()} runs with statistics enabled and reports the proportion of lookups that hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CacheBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"8", "100000"})
+    public int range;
+
+    private int[] numerators, denominators;
+    private Fraction[] fractions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        numerators = new int[SIZE];
+        denominators = new int[SIZE];
+        fractions = new Fraction[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            numerators[i] = random.nextInt(2 * range + 1) - range;
+            denominators[i] = random.nextInt(range) + 1;
+            fractions[i] = new FractionImpl(numerators[i], denominators[i]);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public Fraction construct() {
+        int i = next();
+        return new FractionImpl(numerators[i], denominators[i]);
+    }
+
+    @Benchmark
+    public Fraction of() {
+        int i = next();
+        return Fraction.of(numerators[i], denominators[i]);
+    }
+
+    @Benchmark
+    public Fraction add() {
+        int i = next();
+        return fractions[i].add(fractions[(i + 1) & (SIZE - 1)]);
+    }
+
+    @Benchmark
+    public Fraction multiply() {
+        int i = next();
+        return fractions[i].multiply(fractions[(i + 1) & (SIZE - 1)]);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HitRate {
+        public double hitRate;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            FractionCache.resetStatistics();
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            hitRate = FractionCache.hitRate();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dfraction.cache.statistics=true")
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public Fraction hitRate(HitRate counters) {
+        return add();
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+package fraction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares {@link FractionCodec}'s binary encoding of <pre>size</pre> fractions with their newline-separated text,
+ * for encoding, decoding (the text parsed as by {@link FractionImpl#parse(CharSequence, int, int)}) and size.
+ * The fractions are either <pre>SMALL</pre> (components below 1000, a quarter of them whole numbers) or
+ * <pre>WIDE</pre> (components anywhere in <pre>int</pre> range).
+ *
+ * The <pre>bytes</pre> and <pre>values</pre> counters of the encode benchmarks give the bytes per value of each
+ * form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    public enum Values {
+        SMALL(1000), WIDE(Integer.MAX_VALUE);
+
+        private final int bound;
+
+        Values(int bound) {
+            this.bound = bound;
+        }
+    }
+
+    @Param
+    public Values values;
+
+    @Param({"100000"})
+    public int size;
+
+    private FractionArray fractions, decoded;
+    private ByteBuffer binary;
+    private byte[] text;
+    private StringBuilder textBuilder;
+
+    /**
+     * Counts the bytes encoded, and the values they encode.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long bytes;
+        public long values;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            values = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        fractions = new FractionArray(size);
+        decoded = new FractionArray(size);
+        for (int i = 0; i < size; i++) {
+            int denominator = values == Values.SMALL && i % 4 == 0 ? 1 : random.nextInt(1, values.bound);
+            fractions.set(i, random.nextInt(-values.bound, values.bound), denominator);
+        }
+        binary = ByteBuffer.allocate(size * FractionCodec.MAX_ENCODED_LENGTH);
+        textBuilder = new StringBuilder();
+        text = encodeText(new Counters());
+        encodeBinary(new Counters());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary(Counters counters) {
+        binary.clear();
+        FractionCodec.encode(fractions, binary);
+        counters.bytes += binary.position();
+        counters.values += size;
+        return binary;
+    }
+
+    @Benchmark
+    public byte[] encodeText(Counters counters) {
+        textBuilder.setLength(0);
+        for (int i = 0; i < size; i++) {
+            fractions.get(i).appendTo(textBuilder).append('\n');
+        }
+        byte[] bytes = textBuilder.toString().getBytes(StandardCharsets.US_ASCII);
+        counters.bytes += bytes.length;
+        counters.values += size;
+        return bytes;
+    }
+
+    @Benchmark
+    public FractionArray decodeBinary() {
+        binary.flip();
+        FractionCodec.decode(binary, decoded);
+        return decoded;
+    }
+
+    @Benchmark
+    public FractionArray decodeText() {
+        String lines = new String(text, StandardCharsets.US_ASCII);
+        int start = 0;
+        for (int i = 0; i < size; i++) {
+            int end = lines.indexOf('\n', start);
+            decoded.set(i, FractionImpl.parse(lines, start, end));
+            start = end + 1;
+        }
+        return decoded;
+    }
+}
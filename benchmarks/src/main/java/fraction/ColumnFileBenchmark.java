@@ -0,0 +1,99 @@
+package fraction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares loading the same fractions from a text file, through a <pre>BufferedReader</pre> with one
+ * <pre>FractionImpl(String)</pre> per line, or through {@link FractionFileReader}, with loading them from a
+ * {@link FractionColumnFile}: scanning the mapped file in place, or copying it into a {@link FractionArray}. Each
+ * invocation opens and reads the whole file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnFileBenchmark {
+
+    @Param({"1000000"})
+    public int lines;
+
+    private Path textFile;
+    private Path columnFile;
+    private FractionArray array;
+
+    @Setup
+    public void setUp() throws IOException {
+        textFile = Files.createTempFile("fractions", ".txt");
+        columnFile = Files.createTempFile("fractions", ".frcl");
+        array = new FractionArray(lines);
+        SplittableRandom random = new SplittableRandom(42);
+        try (Writer writer = Files.newBufferedWriter(textFile, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < lines; i++) {
+                int numerator = random.nextInt(-100_000, 100_000), denominator = random.nextInt(1, 100_000);
+                writer.write(numerator + "/" + denominator + "\n");
+                array.set(i, numerator, denominator);
+            }
+        }
+        FractionColumnFile.write(columnFile, array);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(textFile);
+        Files.delete(columnFile);
+    }
+
+    @Benchmark
+    public long textBufferedReader() throws IOException {
+        long sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += new FractionImpl(line).hashCode();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] textReadIntoArrays() throws IOException {
+        FractionFileReader.open(textFile).readInto(array.numerators, array.denominators);
+        return array.numerators;
+    }
+
+    @Benchmark
+    public long columnScan() throws IOException {
+        FractionColumnFile file = FractionColumnFile.open(columnFile);
+        long sum = 0;
+        for (int i = 0, size = file.size(); i < size; i++) {
+            sum += file.numerator(i) + 31L * file.denominator(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnFractions() throws IOException {
+        FractionColumnFile file = FractionColumnFile.open(columnFile);
+        long sum = 0;
+        for (int i = 0, size = file.size(); i < size; i++) {
+            sum += file.get(i).hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public FractionArray columnReadInto() throws IOException {
+        FractionColumnFile.open(columnFile).readInto(array);
+        return array;
+    }
+}
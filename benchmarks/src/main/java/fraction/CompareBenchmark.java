@@ -0,0 +1,96 @@
+package fraction;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <pre>FractionImpl.compareTo</pre> with the floating-point comparison it replaced, both one pair at a
+ * time and when sorting an array of random fractions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CompareBenchmark {
+
+    /**
+     * The floating-point comparison originally used by <pre>FractionImpl.compareTo</pre>, kept as a baseline.
+     * It reads the operands' values through <pre>toString</pre> once, up front, so that only the comparison is
+     * measured.
+     */
+    private static final class DoubleFraction {
+        final int numerator, denominator;
+
+        DoubleFraction(Fraction fraction) {
+            String[] parts = (fraction + "/1").split("/");
+            this.numerator = Integer.parseInt(parts[0]);
+            this.denominator = Integer.parseInt(parts[1]);
+        }
+
+        int compareTo(DoubleFraction o) {
+            double comparator = (double) this.numerator / this.denominator - (double) o.numerator / o.denominator;
+            return comparator > 0 ? 1 : (comparator == 0 ? 0 : -1);
+        }
+    }
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Fraction[] fractions;
+    private DoubleFraction[] doubleFractions;
+    private Fraction[] sortable;
+    private DoubleFraction[] doubleSortable;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        fractions = new Fraction[size];
+        doubleFractions = new DoubleFraction[size];
+        for (int i = 0; i < size; i++) {
+            fractions[i] = new FractionImpl(random.nextInt(), random.nextInt(1, Integer.MAX_VALUE));
+            doubleFractions[i] = new DoubleFraction(fractions[i]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void shuffle() {
+        sortable = fractions.clone();
+        doubleSortable = doubleFractions.clone();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int exactCompare() {
+        int sum = 0;
+        for (int i = 1; i <= 1000; i++) {
+            sum += fractions[i - 1].compareTo(fractions[i % 1000]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int doubleCompare() {
+        int sum = 0;
+        for (int i = 1; i <= 1000; i++) {
+            sum += doubleFractions[i - 1].compareTo(doubleFractions[i % 1000]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Fraction[] exactSort() {
+        Arrays.sort(sortable);
+        return sortable;
+    }
+
+    @Benchmark
+    public DoubleFraction[] doubleSort() {
+        Arrays.sort(doubleSortable, DoubleFraction::compareTo);
+        return doubleSortable;
+    }
+}
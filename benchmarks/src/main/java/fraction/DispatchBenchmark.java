@@ -0,0 +1,84 @@
+package fraction;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Checks that the <pre>FractionImpl</pre>-on-<pre>FractionImpl</pre> path through <pre>add</pre> and
+ * <pre>compareTo</pre> is not slowed by the support for operands of other implementations, and measures the cost
+ * of those mixed operations.
+ *
+ * The <pre>sameType</pre> methods only ever see <pre>FractionImpl</pre> operands; the <pre>polluted</pre> methods
+ * run the same call after the call sites have also seen <pre>LongFraction</pre> and <pre>BigFraction</pre>
+ * receivers and operands, as a program mixing implementations would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+
+    private Fraction intLeft = new FractionImpl(12345, 46339), intRight = new FractionImpl(23456, 46341);
+    private Fraction longRight = new LongFraction(23456, 46341);
+    private Fraction bigLeft = new BigFraction(12345, 46339);
+
+    private Fraction[] lefts, rights;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        lefts = new Fraction[] {intLeft, intLeft, bigLeft, intLeft};
+        rights = new Fraction[] {intRight, longRight, intRight, intRight};
+    }
+
+    @Benchmark
+    public Fraction sameTypeAdd() {
+        return intLeft.add(intRight);
+    }
+
+    @Benchmark
+    public int sameTypeCompareTo() {
+        return intLeft.compareTo(intRight);
+    }
+
+    @Benchmark
+    public Fraction mixedAdd() {
+        return intLeft.add(longRight);
+    }
+
+    @Benchmark
+    public int mixedCompareTo() {
+        return intLeft.compareTo(longRight);
+    }
+
+    @Benchmark
+    public Fraction pollutedAdd() {
+        int i = index = (index + 1) & 3;
+        return lefts[i].add(rights[i]);
+    }
+
+    @Benchmark
+    public int pollutedCompareTo() {
+        int i = index = (index + 1) & 3;
+        return lefts[i].compareTo(rights[i]);
+    }
+
+    /**
+     * Runs this benchmark.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DispatchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package fraction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares reading a file of newline-separated fractions through a <pre>BufferedReader</pre>, one
+ * <pre>FractionImpl(String)</pre> per line, with {@link FractionFileReader}'s memory-mapped, chunked parsing,
+ * both sequential and parallel. Each invocation opens and reads the whole file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileReadBenchmark {
+
+    @Param({"1000000"})
+    public int lines;
+
+    private Path file;
+    private int[] numerators;
+    private int[] denominators;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("fractions", ".txt");
+        SplittableRandom random = new SplittableRandom(42);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(random.nextInt(-100_000, 100_000) + "/" + random.nextInt(1, 100_000) + "\n");
+            }
+        }
+        numerators = new int[lines];
+        denominators = new int[lines];
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long bufferedReader() throws IOException {
+        long sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += new FractionImpl(line).hashCode();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        return FractionFileReader.open(file).fractions().mapToLong(Fraction::hashCode).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() throws IOException {
+        return FractionFileReader.open(file).fractions().parallel().mapToLong(Fraction::hashCode).sum();
+    }
+
+    @Benchmark
+    public int[] readIntoArrays() throws IOException {
+        FractionFileReader.open(file).readInto(numerators, denominators);
+        return numerators;
+    }
+}
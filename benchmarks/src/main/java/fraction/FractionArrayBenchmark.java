@@ -0,0 +1,142 @@
+package fraction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link FractionList}'s columnar storage with an <pre>ArrayList&lt;Fraction&gt;</pre> holding the same
+ * fractions, none of them small enough to be shared by {@link FractionCache}: building each (whose allocation,
+ * per the GC profiler, is the memory footprint), scanning each for the number of elements above one half, and
+ * sorting each.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): <pre>gc.alloc.rate.norm</pre> for the build benchmarks
+ * is the bytes needed to hold <pre>size</pre> fractions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FractionArrayBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] numerators, denominators;
+    private FractionList list;
+    private List<Fraction> arrayList;
+    private FractionList unsortedList;
+    private List<Fraction> unsortedArrayList;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        numerators = new int[size];
+        denominators = new int[size];
+        for (int i = 0; i < size; i++) {
+            numerators[i] = random.nextInt(-1_000_000, 1_000_000);
+            denominators[i] = random.nextInt(1_000, 1_000_000);
+        }
+        list = buildList();
+        arrayList = buildArrayList();
+        unsortedList = buildList();
+        unsortedArrayList = buildArrayList();
+    }
+
+    @Benchmark
+    public FractionList buildList() {
+        FractionList built = new FractionList(size);
+        for (int i = 0; i < size; i++) {
+            built.append(numerators[i], denominators[i]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public List<Fraction> buildArrayList() {
+        List<Fraction> built = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            built.add(Fraction.of(numerators[i], denominators[i]));
+        }
+        return built;
+    }
+
+    @Benchmark
+    public int scanListColumns() {
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            // n/d > 1/2 exactly when 2n > d
+            if (2L * list.numerator(i) > list.denominator(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int scanListFractions() {
+        Fraction half = Fraction.of(1, 2);
+        int count = 0;
+        for (Fraction f : list) {
+            if (f.compareTo(half) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int scanArrayList() {
+        Fraction half = Fraction.of(1, 2);
+        int count = 0;
+        for (Fraction f : arrayList) {
+            if (f.compareTo(half) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public FractionList sortList() {
+        FractionList sorted = unsortedList;
+        System.arraycopy(list.numerators, 0, sorted.numerators, 0, size);
+        System.arraycopy(list.denominators, 0, sorted.denominators, 0, size);
+        sorted.sort();
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Fraction> sortArrayList() {
+        List<Fraction> sorted = unsortedArrayList;
+        for (int i = 0; i < size; i++) {
+            sorted.set(i, arrayList.get(i));
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FractionArrayBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,138 @@
+package fraction;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures every operation of the <pre>Fraction</pre> API, as implemented by <pre>FractionImpl</pre>,
+ * for each of the operand shapes described by {@link Operands}.
+ *
+ * Run with the GC profiler (<pre>-prof gc</pre>, or via {@link #main(String[])}) to see the bytes allocated
+ * per operation alongside its cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FractionBenchmark {
+
+    /**
+     * The operand pairs used by each benchmark. The additive pair is used by <pre>add</pre>, <pre>subtract</pre>
+     * and <pre>compareTo</pre>; the multiplicative pair by <pre>multiply</pre> and <pre>divide</pre>.
+     * Every pair is chosen so that all of its results are representable in <pre>int</pre> values.
+     */
+    public enum Operands {
+        // numerators and denominators that never leave int range, even before normalising
+        SMALL(new FractionImpl(3, 4), new FractionImpl(5, 6),
+                new FractionImpl(3, 4), new FractionImpl(5, 6)),
+
+        // large, pairwise coprime values whose (unreduced) results only just fit into an int
+        LARGE_COPRIME(new FractionImpl(12345, 46339), new FractionImpl(23456, 46341),
+                new FractionImpl(46331, 46337), new FractionImpl(46333, 46339)),
+
+        // values whose unreduced results overflow int, but which normalise back into range
+        OVERFLOW_PRONE(new FractionImpl(536_870_913, 1 << 30), new FractionImpl(536_870_915, 1 << 30),
+                new FractionImpl(4001 * 4003, 4007 * 4013), new FractionImpl(4003 * 4013, 4001 * 4007));
+
+        final Fraction addLeft, addRight, mulLeft, mulRight;
+
+        Operands(Fraction addLeft, Fraction addRight, Fraction mulLeft, Fraction mulRight) {
+            this.addLeft = addLeft;
+            this.addRight = addRight;
+            this.mulLeft = mulLeft;
+            this.mulRight = mulRight;
+        }
+    }
+
+    @Param
+    public Operands operands;
+
+    private Fraction addLeft, addRight, mulLeft, mulRight;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        addLeft = operands.addLeft;
+        addRight = operands.addRight;
+        mulLeft = operands.mulLeft;
+        mulRight = operands.mulRight;
+        // blanks and a negative denominator exercise the whole of the constructor's grammar, e.g. " -3 / -4 "
+        text = " " + operands.addLeft.negate().toString().replace("/", " / -") + " ";
+    }
+
+    @Benchmark
+    public Fraction add() {
+        return addLeft.add(addRight);
+    }
+
+    @Benchmark
+    public Fraction subtract() {
+        return addLeft.subtract(addRight);
+    }
+
+    @Benchmark
+    public Fraction multiply() {
+        return mulLeft.multiply(mulRight);
+    }
+
+    @Benchmark
+    public Fraction divide() {
+        return mulLeft.divide(mulRight);
+    }
+
+    @Benchmark
+    public Fraction abs() {
+        return addLeft.abs();
+    }
+
+    @Benchmark
+    public Fraction negate() {
+        return addLeft.negate();
+    }
+
+    @Benchmark
+    public Fraction inverse() {
+        return addLeft.inverse();
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return addLeft.compareTo(addRight);
+    }
+
+    @Benchmark
+    public boolean equalTo() {
+        return addLeft.equals(addRight);
+    }
+
+    @Benchmark
+    public String toText() {
+        return addLeft.toString();
+    }
+
+    @Benchmark
+    public Fraction parse() {
+        return new FractionImpl(text);
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package fraction;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the {@link GcdEngine}s, and the recursive algorithm they replaced, over random operands drawn
+ * from each {@link Distribution}.
+ *
+ * Each invocation finds the greatest common divisor of every pair in a fixed table, so the reported time is
+ * per {@value #PAIRS} pairs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(GcdBenchmark.PAIRS)
+public class GcdBenchmark {
+
+    static final int PAIRS = 1024;
+
+    /**
+     * The shapes of operand seen by <pre>normalise</pre>.
+     */
+    public enum Distribution {
+        // numerators and denominators of everyday fractions
+        SMALL {
+            @Override
+            long next(SplittableRandom random) {
+                return random.nextLong(-1000, 1000);
+            }
+        },
+        // anywhere in int range, as passed to the constructors
+        INT {
+            @Override
+            long next(SplittableRandom random) {
+                return random.nextInt();
+            }
+        },
+        // products of two ints, as produced by the unreduced results of arithmetic
+        PRODUCT {
+            @Override
+            long next(SplittableRandom random) {
+                return (long) random.nextInt() * random.nextInt(1, Integer.MAX_VALUE);
+            }
+        },
+        // products sharing a large common factor, so that the result is far from 1
+        SHARED_FACTOR {
+            @Override
+            long next(SplittableRandom random) {
+                return 1_000_003L * random.nextInt(1, Integer.MAX_VALUE);
+            }
+        },
+
+        // a wide value against a small one, as when a fraction with a large denominator meets a whole number
+        SKEWED {
+            @Override
+            long next(SplittableRandom random) {
+                return random.nextBoolean() ? PRODUCT.next(random) : SMALL.next(random);
+            }
+        };
+
+        abstract long next(SplittableRandom random);
+    }
+
+    @Param
+    public Distribution distribution;
+
+    private final long[] first = new long[PAIRS];
+    private final long[] second = new long[PAIRS];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < PAIRS; i++) {
+            first[i] = distribution.next(random);
+            second[i] = distribution.next(random);
+        }
+    }
+
+    @Benchmark
+    public long recursive() {
+        long sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += recursiveGcd(first[i], second[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long euclid() {
+        return run(GcdEngine.EUCLID);
+    }
+
+    @Benchmark
+    public long binary() {
+        return run(GcdEngine.BINARY);
+    }
+
+    @Benchmark
+    public long adaptive() {
+        return run(GcdEngine.ADAPTIVE);
+    }
+
+    private long run(GcdEngine engine) {
+        long sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += engine.gcd(first[i], second[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * The recursive algorithm originally used by <pre>FractionImpl.gcd</pre>, kept as a baseline.
+     */
+    private static long recursiveGcd(long num1, long num2) {
+        long larger = Math.max(Math.abs(num1), Math.abs(num2));
+        long smaller = Math.min(Math.abs(num1), Math.abs(num2));
+
+        if (smaller == 0) { return larger; }
+        return recursiveGcd(larger % smaller, smaller);
+    }
+}
@@ -0,0 +1,90 @@
+package fraction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures <pre>HashMap</pre> lookups keyed by dense rational values: every normalised <pre>p/q</pre> with
+ * <pre>0 &lt;= p &lt;= q &lt;= MAX_DENOMINATOR</pre> (a little over 300,000 keys).
+ *
+ * The lookups use fresh, equal instances of the keys, as a real aggregation would. The collision counters
+ * report how many keys share a full 32-bit hash code, and how many share a bucket of a table sized for them
+ * (for uniformly random hash codes, roughly a quarter of the keys would).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HashBenchmark {
+
+    static final int MAX_DENOMINATOR = 1000;
+
+    private Map<Fraction, Integer> map;
+    private Fraction[] probes;
+
+    @Setup
+    public void setUp() {
+        List<Fraction> keys = new ArrayList<>();
+        for (int q = 1; q <= MAX_DENOMINATOR; q++) {
+            for (int p = 0; p <= q; p++) {
+                if (FractionImpl.gcd(p, q) == 1) {
+                    keys.add(new FractionImpl(p, q));
+                }
+            }
+        }
+        map = new HashMap<>();
+        probes = new Fraction[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+            probes[i] = new FractionImpl(keys.get(i).toString());
+        }
+    }
+
+    /**
+     * Counters reporting how well the hash codes of the keys are spread.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Collisions {
+        public long hashCollisions;
+        public long bucketCollisions;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public int lookup() {
+        int sum = 0;
+        for (int i = 0; i < 1024; i++) {
+            sum += map.get(probes[(i * 7919) % probes.length]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(1)
+    public int collisions(Collisions collisions) {
+        Set<Integer> hashes = new HashSet<>();
+        int buckets = Integer.highestOneBit(probes.length * 2 - 1);
+        Set<Integer> usedBuckets = new HashSet<>();
+        for (Fraction f : probes) {
+            int h = f.hashCode();
+            hashes.add(h);
+            // the bucket HashMap would choose, spreading the upper bits down as it does
+            usedBuckets.add((h ^ (h >>> 16)) & (buckets - 1));
+        }
+        collisions.hashCollisions = probes.length - hashes.size();
+        collisions.bucketCollisions = probes.length - usedBuckets.size();
+        return hashes.size();
+    }
+}
@@ -0,0 +1,125 @@
+package fraction;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares <pre>LongFraction</pre> with <pre>FractionImpl</pre> on the operand shapes of
+ * {@link FractionBenchmark.Operands}, whose results fit in <pre>int</pre> values, and measures
+ * <pre>LongFraction</pre> on wide operands whose products need all 128 bits, against doing the same arithmetic
+ * with <pre>BigInteger</pre> (the fallback <pre>LongFraction</pre> avoids).
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): every <pre>LongFraction</pre> operation should allocate
+ * only its 32-byte result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LongFractionBenchmark {
+
+    @Param
+    public FractionBenchmark.Operands operands;
+
+    private Fraction intLeft, intRight;
+    private Fraction longLeft, longRight;
+
+    // coprime denominators near 2^62, with a sum that normalises back into long range
+    private final Fraction wideLeft = new LongFraction(4_611_686_018_427_387_903L, 4_611_686_018_427_387_847L);
+    private final Fraction wideRight = new LongFraction(-4_611_686_018_427_387_901L, 4_611_686_018_427_387_847L);
+    private final Fraction wideFactor = new LongFraction(4_611_686_018_427_387_847L, 3_037_000_493L);
+
+    private final BigInteger[] bigLeft = {
+            BigInteger.valueOf(4_611_686_018_427_387_903L), BigInteger.valueOf(4_611_686_018_427_387_847L)};
+    private final BigInteger[] bigRight = {
+            BigInteger.valueOf(-4_611_686_018_427_387_901L), BigInteger.valueOf(4_611_686_018_427_387_847L)};
+
+    @Setup
+    public void setUp() {
+        intLeft = operands.addLeft;
+        intRight = operands.addRight;
+        longLeft = toLong(intLeft);
+        longRight = toLong(intRight);
+    }
+
+    private static Fraction toLong(Fraction f) {
+        String[] parts = f.toString().split("/");
+        return new LongFraction(Long.parseLong(parts[0]), parts.length == 1 ? 1 : Long.parseLong(parts[1]));
+    }
+
+    @Benchmark
+    public Fraction intAdd() {
+        return intLeft.add(intRight);
+    }
+
+    @Benchmark
+    public Fraction longAdd() {
+        return longLeft.add(longRight);
+    }
+
+    @Benchmark
+    public Fraction intMultiply() {
+        return intLeft.multiply(intRight);
+    }
+
+    @Benchmark
+    public Fraction longMultiply() {
+        return longLeft.multiply(longRight);
+    }
+
+    @Benchmark
+    public int intCompareTo() {
+        return intLeft.compareTo(intRight);
+    }
+
+    @Benchmark
+    public int longCompareTo() {
+        return longLeft.compareTo(longRight);
+    }
+
+    @Benchmark
+    public Fraction wideAdd() {
+        return wideLeft.add(wideRight);
+    }
+
+    @Benchmark
+    public Fraction wideMultiply() {
+        return wideLeft.multiply(wideFactor);
+    }
+
+    @Benchmark
+    public int wideCompareTo() {
+        return wideLeft.compareTo(wideRight);
+    }
+
+    @Benchmark
+    public BigInteger[] bigIntegerAdd() {
+        // (ad + cb)/bd, normalised
+        BigInteger numerator = bigLeft[0].multiply(bigRight[1]).add(bigRight[0].multiply(bigLeft[1]));
+        BigInteger denominator = bigLeft[1].multiply(bigRight[1]);
+        BigInteger gcd = numerator.gcd(denominator);
+        return new BigInteger[] {numerator.divide(gcd), denominator.divide(gcd)};
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LongFractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
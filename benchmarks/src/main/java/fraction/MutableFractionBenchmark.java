@@ -0,0 +1,88 @@
+package fraction;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares an inner loop of <pre>size</pre> multiply-adds (<pre>a * b + c</pre>) done with {@link MutableFraction}
+ * against the same loop with immutable <pre>FractionImpl</pre> values, which allocates two results per step
+ * (operands are too large to be shared by {@link FractionCache}).
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): <pre>gc.alloc.rate.norm</pre> for the mutable loop
+ * should be zero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MutableFractionBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private Fraction[] a, b, c;
+    private MutableFraction[] mutableA, mutableB, mutableC;
+    private final MutableFraction scratch = new MutableFraction();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        a = new Fraction[size];
+        b = new Fraction[size];
+        c = new Fraction[size];
+        mutableA = new MutableFraction[size];
+        mutableB = new MutableFraction[size];
+        mutableC = new MutableFraction[size];
+        for (int i = 0; i < size; i++) {
+            // components of up to 200 keep every result within int range
+            a[i] = Fraction.of(random.nextInt(-200, 200), random.nextInt(65, 200));
+            b[i] = Fraction.of(random.nextInt(-200, 200), random.nextInt(65, 200));
+            c[i] = Fraction.of(random.nextInt(-200, 200), random.nextInt(65, 200));
+            mutableA[i] = new MutableFraction(a[i]);
+            mutableB[i] = new MutableFraction(b[i]);
+            mutableC[i] = new MutableFraction(c[i]);
+        }
+    }
+
+    @Benchmark
+    public long mutable() {
+        long checksum = 0;
+        for (int i = 0; i < size; i++) {
+            MutableFraction result = scratch.set(mutableA[i]).multiplyInPlace(mutableB[i]).addInPlace(mutableC[i]);
+            checksum += result.numerator() + result.denominator();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long immutable() {
+        long checksum = 0;
+        for (int i = 0; i < size; i++) {
+            Fraction result = a[i].multiply(b[i]).add(c[i]);
+            checksum += result.numerator() + result.denominator();
+        }
+        return checksum;
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MutableFractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,59 @@
+package fraction;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures <pre>FractionImpl.normalise</pre>, through which every constructor and arithmetic operation passes.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): <pre>gc.alloc.rate.norm</pre> should report the size of a
+ * single <pre>FractionImpl</pre> per operation, i.e. no intermediate objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class NormaliseBenchmark {
+
+    // within int range, with a negative denominator to correct
+    private long smallNumerator = 8, smallDenominator = -12;
+
+    // outside of int range, but normalising back into it
+    private long wideNumerator = 6_440_648_040L, wideDenominator = 89_453_445L;
+
+    @Benchmark
+    public Fraction normaliseSmall() {
+        return FractionImpl.normalise(smallNumerator, smallDenominator);
+    }
+
+    @Benchmark
+    public Fraction normaliseWide() {
+        return FractionImpl.normalise(wideNumerator, wideDenominator);
+    }
+
+    @Benchmark
+    public Fraction construct() {
+        return new FractionImpl((int) smallNumerator, (int) smallDenominator);
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(NormaliseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,152 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link OffHeapFractionArray} with an <pre>ArrayList&lt;Fraction&gt;</pre> and a {@link FractionList}
+ * holding the same <pre>size</pre> fractions: building each (the heap allocation, per the GC profiler, is what
+ * the off-heap array saves), scanning each for the number of elements above one half, and sorting each. It also
+ * measures reopening a file-backed array and scanning it, which replaces parsing the dataset again.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OffHeapBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private int[] numerators, denominators;
+    private OffHeapFractionArray offHeap, unsortedOffHeap;
+    private List<Fraction> arrayList;
+    private FractionList list;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        numerators = new int[size];
+        denominators = new int[size];
+        for (int i = 0; i < size; i++) {
+            numerators[i] = random.nextInt(-1_000_000, 1_000_000);
+            denominators[i] = random.nextInt(1_000, 1_000_000);
+        }
+        offHeap = buildOffHeap();
+        unsortedOffHeap = buildOffHeap();
+        arrayList = buildArrayList();
+        list = new FractionList(size);
+        file = Files.createTempFile("fractions", ".bin");
+        OffHeapFractionArray mapped = OffHeapFractionArray.create(file, size);
+        for (int i = 0; i < size; i++) {
+            mapped.setPacked(i, offHeap.getPacked(i));
+        }
+        mapped.force();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public OffHeapFractionArray buildOffHeap() {
+        OffHeapFractionArray built = OffHeapFractionArray.allocate(size);
+        for (int i = 0; i < size; i++) {
+            built.set(i, numerators[i], denominators[i]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public List<Fraction> buildArrayList() {
+        List<Fraction> built = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            built.add(Fraction.of(numerators[i], denominators[i]));
+        }
+        return built;
+    }
+
+    @Benchmark
+    public int scanOffHeap() {
+        return countAboveHalf(offHeap);
+    }
+
+    @Benchmark
+    public int scanArrayList() {
+        Fraction half = Fraction.of(1, 2);
+        int count = 0;
+        for (Fraction f : arrayList) {
+            if (f.compareTo(half) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int reopenAndScan() throws IOException {
+        return countAboveHalf(OffHeapFractionArray.open(file));
+    }
+
+    private static int countAboveHalf(OffHeapFractionArray array) {
+        long half = PackedFractions.of(1, 2);
+        int count = 0;
+        for (int i = 0; i < array.size(); i++) {
+            if (PackedFractions.compare(array.getPacked(i), half) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public OffHeapFractionArray sortOffHeap() {
+        for (int i = 0; i < size; i++) {
+            unsortedOffHeap.setPacked(i, offHeap.getPacked(i));
+        }
+        unsortedOffHeap.sort();
+        return unsortedOffHeap;
+    }
+
+    @Benchmark
+    public FractionList sortFractionList() {
+        list.clear();
+        for (int i = 0; i < size; i++) {
+            long packed = offHeap.getPacked(i);
+            list.append(PackedFractions.numerator(packed), PackedFractions.denominator(packed));
+        }
+        list.sort();
+        return list;
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OffHeapBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
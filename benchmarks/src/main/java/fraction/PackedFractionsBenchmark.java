@@ -0,0 +1,128 @@
+package fraction;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares element-wise arithmetic and comparison on <pre>size</pre> pairs of fractions packed into
+ * <pre>long[]</pre> arrays by {@link PackedFractions} with the same operations on <pre>Fraction[]</pre> arrays of
+ * <pre>FractionImpl</pre>, and measures a <pre>LongStream</pre> pipeline over packed values. Operands are small
+ * enough that no result overflows, and large enough not to be shared by {@link FractionCache}.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}): the packed loops should allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PackedFractionsBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private long[] packedLeft, packedRight, packedResults;
+    private Fraction[] left, right, results;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        packedLeft = new long[size];
+        packedRight = new long[size];
+        packedResults = new long[size];
+        left = new Fraction[size];
+        right = new Fraction[size];
+        results = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            left[i] = Fraction.of(random.nextInt(-10_000, 10_000), random.nextInt(65, 10_000));
+            right[i] = Fraction.of(random.nextInt(1, 10_000), random.nextInt(65, 10_000));
+            packedLeft[i] = PackedFractions.valueOf(left[i]);
+            packedRight[i] = PackedFractions.valueOf(right[i]);
+        }
+    }
+
+    @Benchmark
+    public long[] packedAdd() {
+        for (int i = 0; i < size; i++) {
+            packedResults[i] = PackedFractions.add(packedLeft[i], packedRight[i]);
+        }
+        return packedResults;
+    }
+
+    @Benchmark
+    public Fraction[] fractionAdd() {
+        for (int i = 0; i < size; i++) {
+            results[i] = left[i].add(right[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public long[] packedMultiply() {
+        for (int i = 0; i < size; i++) {
+            packedResults[i] = PackedFractions.multiply(packedLeft[i], packedRight[i]);
+        }
+        return packedResults;
+    }
+
+    @Benchmark
+    public Fraction[] fractionMultiply() {
+        for (int i = 0; i < size; i++) {
+            results[i] = left[i].multiply(right[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public int packedCompare() {
+        int greater = 0;
+        for (int i = 0; i < size; i++) {
+            if (PackedFractions.compare(packedLeft[i], packedRight[i]) > 0) {
+                greater++;
+            }
+        }
+        return greater;
+    }
+
+    @Benchmark
+    public int fractionCompare() {
+        int greater = 0;
+        for (int i = 0; i < size; i++) {
+            if (left[i].compareTo(right[i]) > 0) {
+                greater++;
+            }
+        }
+        return greater;
+    }
+
+    @Benchmark
+    public long packedStreamMax() {
+        // the greatest of the quotients, in a pipeline of primitives
+        return LongStream.range(0, size)
+                .map(i -> PackedFractions.divide(packedLeft[(int) i], packedRight[(int) i]))
+                .reduce(PackedFractions.valueOf(Fraction.of(Integer.MIN_VALUE)),
+                        (f1, f2) -> PackedFractions.compare(f1, f2) >= 0 ? f1 : f2);
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PackedFractionsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+package fraction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the <pre>FractionImpl(String)</pre> constructor with the regular expression based parser it replaced,
+ * over a table of random fraction strings of the kinds found in feeds. The same strings are also parsed in place
+ * from a <pre>StringBuilder</pre> line and from a direct <pre>ByteBuffer</pre>, as read from the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(ParseBenchmark.STRINGS)
+public class ParseBenchmark {
+
+    static final int STRINGS = 1024;
+
+    private final String[] strings = new String[STRINGS];
+    private final int[] starts = new int[STRINGS + 1];
+    private StringBuilder line;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < STRINGS; i++) {
+            switch (i % 4) {
+                case 0:
+                    // whole numbers
+                    strings[i] = String.valueOf(random.nextInt(-1000, 1000));
+                    break;
+                case 1:
+                    // prices in eighths and sixteenths
+                    strings[i] = random.nextInt(1, 16) + "/" + (random.nextBoolean() ? 8 : 16);
+                    break;
+                case 2:
+                    // large, blank-padded values
+                    strings[i] = " " + random.nextInt() + " / " + random.nextInt(1, Integer.MAX_VALUE) + " ";
+                    break;
+                default:
+                    strings[i] = random.nextInt(-100, 100) + "/-" + random.nextInt(1, 100);
+            }
+        }
+
+        line = new StringBuilder();
+        for (int i = 0; i < STRINGS; i++) {
+            starts[i] = line.length();
+            line.append(strings[i]).append(',');
+        }
+        starts[STRINGS] = line.length();
+        byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+        buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+    }
+
+    @Benchmark
+    public long scanner() {
+        long sum = 0;
+        for (String s : strings) {
+            sum += new FractionImpl(s).hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long charSequence() {
+        long sum = 0;
+        for (int i = 0; i < STRINGS; i++) {
+            sum += FractionImpl.parse(line, starts[i], starts[i + 1] - 1).hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long directBuffer() {
+        long sum = 0;
+        for (int i = 0; i < STRINGS; i++) {
+            sum += FractionImpl.parse(buffer, starts[i], starts[i + 1] - 1 - starts[i]).hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long regex() {
+        long sum = 0;
+        for (String s : strings) {
+            sum += regexParse(s).hashCode();
+        }
+        return sum;
+    }
+
+    /**
+     * The regular expression based parsing originally done by <pre>FractionImpl(String)</pre>, kept as a baseline.
+     */
+    private static Fraction regexParse(String fraction) {
+        if (fraction.matches("^ *-?[0-9]+ *(?:/ *-?[0-9]+ *)?$")) {
+            String[] s = fraction.split("/");
+            int num = Integer.parseInt(s[0].trim());
+            int den = s.length > 1 ? Integer.parseInt(s[1].trim()) : 1;
+            return new FractionImpl(num, den);
+        }
+        throw new NumberFormatException(fraction);
+    }
+}
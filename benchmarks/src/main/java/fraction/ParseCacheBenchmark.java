@@ -0,0 +1,134 @@
+package fraction;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link FractionParseCache} over a feed that repeats a few thousand fraction strings, against parsing
+ * every string afresh and against a single-lock LRU map, from one thread and from every available processor.
+ *
+ * The multi-threaded methods share one cache between all threads; comparing their per-operation times with the
+ * single-threaded ones shows how the lock-striped cache scales, and how the single lock does not. Use
+ * {@link #main(String[])} to run with 1, 2, 4, ... threads up to the number of processors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParseCacheBenchmark {
+
+    private static final int FEED_SIZE = 1 << 16;
+
+    // the number of distinct strings in the feed
+    @Param({"2000"})
+    public int distinct;
+
+    private String[] feed;
+    private FractionParseCache cache;
+    private Map<String, Fraction> singleLock;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        @Setup
+        public void setUp() {
+            index = (int) Thread.currentThread().getId() * 7919;
+        }
+
+        int next() {
+            return index = (index + 1) & (FEED_SIZE - 1);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] strings = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            strings[i] = (random.nextInt(2000) - 1000) + "/" + (random.nextInt(1000) + 1);
+        }
+        feed = new String[FEED_SIZE];
+        for (int i = 0; i < FEED_SIZE; i++) {
+            // copied, so that lookups hash and compare the text rather than hitting on identity
+            feed[i] = new String(strings[random.nextInt(distinct)]);
+        }
+        cache = new FractionParseCache(2 * distinct, Runtime.getRuntime().availableProcessors() * 4);
+        int capacity = 2 * distinct;
+        singleLock = Collections.synchronizedMap(new LinkedHashMap<String, Fraction>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Fraction> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    private Fraction singleLockParse(String text) {
+        Fraction cached = singleLock.get(text);
+        if (cached == null) {
+            cached = Fraction.valueOf(text);
+            singleLock.put(text, cached);
+        }
+        return cached;
+    }
+
+    @Benchmark
+    public Fraction parse(Cursor cursor) {
+        return Fraction.valueOf(feed[cursor.next()]);
+    }
+
+    @Benchmark
+    public Fraction cached(Cursor cursor) {
+        return cache.parse(feed[cursor.next()]);
+    }
+
+    @Benchmark
+    public Fraction cachedSingleLock(Cursor cursor) {
+        return singleLockParse(feed[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Fraction parseAllThreads(Cursor cursor) {
+        return parse(cursor);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Fraction cachedAllThreads(Cursor cursor) {
+        return cached(cursor);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Fraction cachedSingleLockAllThreads(Cursor cursor) {
+        return cachedSingleLock(cursor);
+    }
+
+    /**
+     * Runs the single-threaded methods with 1, 2, 4, ... threads, up to the number of available processors.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            Options options = new OptionsBuilder()
+                    .include(ParseCacheBenchmark.class.getSimpleName() + "\\.(parse|cached|cachedSingleLock)$")
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fraction;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the promoting arithmetic of {@link Fractions}: the cost it adds to <pre>FractionImpl</pre> arithmetic
+ * whose results fit (which should be next to none), and the cost of results that are promoted to
+ * <pre>LongFraction</pre> and <pre>BigFraction</pre>.
+ *
+ * Run with the GC profiler (via {@link #main(String[])}) to see that results that fit allocate only themselves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PromotionBenchmark {
+
+    // results that fit in int values
+    private Fraction intLeft = new FractionImpl(12345, 46339), intRight = new FractionImpl(23456, 46341);
+
+    // results that overflow int values, and are promoted to LongFraction
+    private Fraction overflowLeft = new FractionImpl(Integer.MAX_VALUE, 46339);
+    private Fraction overflowRight = new FractionImpl(Integer.MAX_VALUE - 2, 46341);
+
+    // a mix of FractionImpl and LongFraction, with a result that fits in long values
+    private Fraction mixedLeft = new FractionImpl(12345, 46339);
+    private Fraction mixedRight = new LongFraction(6_440_648_041L, 89_453_445L);
+
+    // results that overflow long values, and are promoted to BigFraction
+    private Fraction wideLeft = new LongFraction(Long.MAX_VALUE, 3);
+    private Fraction wideRight = new LongFraction(Long.MAX_VALUE - 2, 5);
+
+    @Benchmark
+    public Fraction intAdd() {
+        return intLeft.add(intRight);
+    }
+
+    @Benchmark
+    public Fraction promotingIntAdd() {
+        return Fractions.add(intLeft, intRight);
+    }
+
+    @Benchmark
+    public Fraction promotingIntMultiply() {
+        return Fractions.multiply(intLeft, intRight);
+    }
+
+    @Benchmark
+    public Fraction promotingOverflowAdd() {
+        return Fractions.add(overflowLeft, overflowRight);
+    }
+
+    @Benchmark
+    public Fraction promotingOverflowMultiply() {
+        return Fractions.multiply(overflowLeft, overflowRight);
+    }
+
+    @Benchmark
+    public Fraction promotingMixedAdd() {
+        return Fractions.add(mixedLeft, mixedRight);
+    }
+
+    @Benchmark
+    public Fraction promotingWideAdd() {
+        return Fractions.add(wideLeft, wideRight);
+    }
+
+    /**
+     * Runs this benchmark with allocation profiling enabled.
+     *
+     * @param args unused
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PromotionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
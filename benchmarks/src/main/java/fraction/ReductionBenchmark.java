@@ -0,0 +1,101 @@
+package fraction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how {@link FractionReductions}' sum and argmax scale with the number of worker threads, from one up
+ * to <pre>parallelism</pre>, each run in a <pre>ForkJoinPool</pre> of that size, against sequential
+ * left-to-right loops. The fractions have denominators of up to 64, so that a sum outgrows <pre>long</pre>
+ * components, and the linear fold's partial sums carry large denominators for most of their length.
+ *
+ * Scaling is bounded by the cores available: compare the results for <pre>parallelism</pre> with
+ * <pre>Runtime.availableProcessors()</pre> on the machine that ran them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReductionBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"100000"})
+    public int size;
+
+    private ForkJoinPool pool;
+    private List<Fraction> fractions;
+    private FractionArray array;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        SplittableRandom random = new SplittableRandom(42);
+        fractions = new ArrayList<>(size);
+        array = new FractionArray(size);
+        for (int i = 0; i < size; i++) {
+            Fraction f = Fraction.of(random.nextInt(-1000, 1000), random.nextInt(1, 65));
+            fractions.add(f);
+            array.set(i, f);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Fraction parallelSum() {
+        return pool.submit(() -> FractionReductions.sum(fractions)).join();
+    }
+
+    @Benchmark
+    public Fraction parallelArraySum() {
+        return pool.submit(() -> FractionReductions.sum(array)).join();
+    }
+
+    @Benchmark
+    public Fraction sequentialSum() {
+        Fraction sum = Fraction.of(0);
+        for (Fraction f : fractions) {
+            sum = Fractions.add(sum, f);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] parallelArgMax() {
+        return pool.submit(() -> FractionReductions.argMax(fractions)).join();
+    }
+
+    @Benchmark
+    public int[] parallelArrayArgMax() {
+        return pool.submit(() -> FractionReductions.argMax(array)).join();
+    }
+
+    @Benchmark
+    public List<Integer> sequentialArgMax() {
+        // the loop of Grade.bestGrade
+        List<Integer> indices = new ArrayList<>();
+        Fraction best = fractions.get(0);
+        for (int i = 0; i < fractions.size(); i++) {
+            int comparison = fractions.get(i).compareTo(best);
+            if (comparison > 0) {
+                indices.clear();
+                best = fractions.get(i);
+                indices.add(i);
+            } else if (comparison == 0) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+}
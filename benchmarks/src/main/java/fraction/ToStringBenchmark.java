@@ -0,0 +1,73 @@
+package fraction;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <pre>FractionImpl.toString</pre> and <pre>appendTo</pre> (into a reused <pre>StringBuilder</pre>, as a
+ * report writer would) with the <pre>String.format</pre> based formatting <pre>toString</pre> originally used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(ToStringBenchmark.FRACTIONS)
+public class ToStringBenchmark {
+
+    static final int FRACTIONS = 1024;
+
+    private final Fraction[] fractions = new Fraction[FRACTIONS];
+    private final int[] numerators = new int[FRACTIONS];
+    private final int[] denominators = new int[FRACTIONS];
+    private final StringBuilder sb = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < FRACTIONS; i++) {
+            fractions[i] = new FractionImpl(random.nextInt(-100_000, 100_000), random.nextInt(1, 1000));
+            // the normalised values, for the baseline to format
+            String[] parts = (fractions[i] + "/1").split("/");
+            numerators[i] = Integer.parseInt(parts[0]);
+            denominators[i] = Integer.parseInt(parts[1]);
+        }
+    }
+
+    @Benchmark
+    public long format() {
+        long length = 0;
+        for (int i = 0; i < FRACTIONS; i++) {
+            length += formatted(numerators[i], denominators[i]).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long toText() {
+        long length = 0;
+        for (Fraction f : fractions) {
+            length += f.toString().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int appendTo() {
+        sb.setLength(0);
+        for (Fraction f : fractions) {
+            f.appendTo(sb).append('\n');
+        }
+        return sb.length();
+    }
+
+    /**
+     * The formatting originally done by <pre>FractionImpl.toString</pre>, kept as a baseline.
+     */
+    private static String formatted(int numerator, int denominator) {
+        return denominator != 1 ?
+                String.format("%d/%d", numerator, denominator) : String.valueOf(numerator);
+    }
+}
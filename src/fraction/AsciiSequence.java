@@ -0,0 +1,52 @@
+package fraction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A <pre>CharSequence</pre> view of a range of ASCII (or ISO-8859-1) encoded bytes in a <pre>ByteBuffer</pre>,
+ * which lets {@link FractionParser} read encoded text in place, without decoding or copying it.
+ *
+ * The view reads the buffer by absolute index, so the buffer's position and limit are never changed.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    /**
+     * @param buffer the buffer holding the encoded text
+     * @param offset the index of the first byte of the text within the buffer
+     * @param length the number of bytes of text
+     */
+    AsciiSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new AsciiSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,70 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces files that may still be mapped into memory, as by {@link OffHeapFractionArray} and
+ * {@link FractionColumnFile}.
+ *
+ * A file is never truncated or rewritten in place, which would make reads through its existing mappings fault:
+ * its new contents are written to a new file beside it, which is forced to the storage device and then moved
+ * over it atomically. Existing mappings keep reading the contents they were made from, and a crash leaves either
+ * the old file or the complete new one.
+ */
+final class AtomicFiles {
+
+    /**
+     * Writes the new contents of a file.
+     *
+     * @param <T> the type of the result
+     */
+    interface Writer<T> {
+
+        /**
+         * Creates <pre>file</pre>, which does not yet exist, and writes to it. Anything written through a mapping
+         * must be forced (see <pre>MappedByteBuffer.force</pre>) before returning, as a mapping's changes are not
+         * guaranteed to be written through by forcing the file.
+         *
+         * @param file the file to create
+         * @return the result of writing it
+         * @throws IOException if the file cannot be written
+         */
+        T write(Path file) throws IOException;
+    }
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Replaces (or creates) <pre>file</pre> with the contents written by <pre>writer</pre>. If the writer throws,
+     * <pre>file</pre> is left as it was.
+     *
+     * @param file the file to replace
+     * @param writer writes the new contents
+     * @param <T> the type of the writer's result
+     * @return the writer's result
+     * @throws IOException if the file cannot be written or moved into place
+     */
+    static <T> T replace(Path file, Writer<T> writer) throws IOException {
+        Path temporary = file.resolveSibling(
+                file.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            T result = writer.write(temporary);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                // the contents and length must reach the device before the move does
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package fraction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * A <pre>Fraction</pre> of arbitrary precision, whose arithmetic never overflows.
+ *
+ * While its normalised <em>numerator</em> and <em>denominator</em> fit in <pre>long</pre> values they are held
+ * inline, and arithmetic between two such fractions is done as by {@link LongFraction}, with 128-bit
+ * intermediates (see {@link Int128}). Only a result that doesn't fit is promoted to <pre>BigInteger</pre>
+ * components, and any result that fits again (as when a large value is divided by itself) is demoted back, so
+ * values that are usually small pay for <pre>BigInteger</pre> only while they are large.
+ *
+ * The greatest common divisor is found by {@link GcdEngine#ADAPTIVE} for inline values and by
+ * <pre>BigInteger.gcd</pre> (which switches from Euclid's algorithm to the binary algorithm as its operands
+ * shrink) for promoted ones.
+ *
+ * Operands of other implementations are widened to <pre>BigFraction</pre> instances.
+ */
+public class BigFraction implements Fraction {
+
+    // the inline components, which are only meaningful where the promoted components are null
+    private final long numerator, denominator;
+    // the promoted components, or null where the fraction fits inline
+    private final BigInteger bigNumerator, bigDenominator;
+
+    /**
+     * Parameters are the <em>numerator</em> and the <em>denominator</em>, normalised as the fraction is created.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public BigFraction(long numerator, long denominator) {
+        this(normalise(numerator, denominator));
+    }
+
+    /**
+     * The parameter is the numerator and <pre>1</pre> is the implicit denominator.
+     *
+     * @param wholeNumber representing the numerator
+     */
+    public BigFraction(long wholeNumber) {
+        this(wholeNumber, 1, null, null);
+    }
+
+    /**
+     * Parameters are the <em>numerator</em> and the <em>denominator</em>, normalised as the fraction is created.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public BigFraction(BigInteger numerator, BigInteger denominator) {
+        this(normalise(numerator, denominator));
+    }
+
+    private BigFraction(BigFraction normalised) {
+        this(normalised.numerator, normalised.denominator, normalised.bigNumerator, normalised.bigDenominator);
+    }
+
+    private BigFraction(long numerator, long denominator, BigInteger bigNumerator, BigInteger bigDenominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = bigNumerator;
+        this.bigDenominator = bigDenominator;
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction in its lowest terms, with
+     * a positive denominator.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the fraction, inline if both components fit in <pre>long</pre> values
+     */
+    private static BigFraction reduced(BigInteger numerator, BigInteger denominator) {
+        if (numerator.bitLength() < 64 && denominator.bitLength() < 64) {
+            return new BigFraction(numerator.longValue(), denominator.longValue(), null, null);
+        }
+        return new BigFraction(0, 0, numerator, denominator);
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em>, as 128-bit values, of a fraction in its
+     * lowest terms, with a positive denominator.
+     *
+     * @param numeratorHigh the high 64 bits of the fraction's numerator
+     * @param numeratorLow the low 64 bits of the fraction's numerator
+     * @param denominatorHigh the high 64 bits of the fraction's denominator
+     * @param denominatorLow the low 64 bits of the fraction's denominator
+     * @return the fraction, inline if both components fit in <pre>long</pre> values
+     */
+    private static BigFraction reduced(long numeratorHigh, long numeratorLow,
+                                       long denominatorHigh, long denominatorLow) {
+        if (Int128.fitsLong(numeratorHigh, numeratorLow) && Int128.fitsLong(denominatorHigh, denominatorLow)) {
+            return new BigFraction(numeratorLow, denominatorLow, null, null);
+        }
+        return new BigFraction(0, 0, Int128.toBigInteger(numeratorHigh, numeratorLow),
+                Int128.toBigInteger(denominatorHigh, denominatorLow));
+    }
+
+    /**
+     * The parameters are the fraction's <em>numerator</em> and <em>denominator</em>.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the normalised fraction, inline if both components fit in <pre>long</pre> values
+     */
+    private static BigFraction normalise(long numerator, long denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        if (divisor == -1 && (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)) {
+            // negating Long.MIN_VALUE overflows a long
+            return normalise(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        return new BigFraction(numerator / divisor, denominator / divisor, null, null);
+    }
+
+    /**
+     * The parameters are the fraction's <em>numerator</em> and <em>denominator</em>.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the normalised fraction, inline if both components fit in <pre>long</pre> values
+     */
+    private static BigFraction normalise(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        BigInteger divisor = numerator.gcd(denominator);
+        if (denominator.signum() < 0) {
+            divisor = divisor.negate();
+        }
+        return reduced(numerator.divide(divisor), denominator.divide(divisor));
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em>, as 128-bit values, of a fraction with a
+     * positive denominator.
+     *
+     * @param numeratorHigh the high 64 bits of the fraction's numerator
+     * @param numeratorLow the low 64 bits of the fraction's numerator
+     * @param denominatorHigh the high 64 bits of the fraction's denominator
+     * @param denominatorLow the low 64 bits of the fraction's denominator
+     * @return the normalised fraction, inline if both components fit in <pre>long</pre> values
+     */
+    private static BigFraction normalise(long numeratorHigh, long numeratorLow,
+                                         long denominatorHigh, long denominatorLow) {
+        if (Int128.fitsLong(numeratorHigh, numeratorLow) && Int128.fitsLong(denominatorHigh, denominatorLow)) {
+            return normalise(numeratorLow, denominatorLow);
+        }
+        return normalise(Int128.toBigInteger(numeratorHigh, numeratorLow),
+                Int128.toBigInteger(denominatorHigh, denominatorLow));
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction in its lowest terms, with
+     * a positive denominator.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the fraction, held inline
+     */
+    static BigFraction inline(long numerator, long denominator) {
+        return new BigFraction(numerator, denominator, null, null);
+    }
+
+    /**
+     * @return whether the fraction's components are held inline, as <pre>long</pre> values
+     */
+    boolean isInline() {
+        return this.bigNumerator == null;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long numerator() {
+        if (!isInline()) {
+            throw new ArithmeticException("Fraction not representable in longs.");
+        }
+        return this.numerator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long denominator() {
+        if (!isInline()) {
+            throw new ArithmeticException("Fraction not representable in longs.");
+        }
+        return this.denominator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigNumerator() {
+        return isInline() ? BigInteger.valueOf(this.numerator) : this.bigNumerator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigDenominator() {
+        return isInline() ? BigInteger.valueOf(this.denominator) : this.bigDenominator;
+    }
+
+    /**
+     * Parses a fraction of the form returned by <pre>Fraction.toString()</pre>: <pre>n/d</pre>, or just
+     * <pre>n</pre> for a whole number, without blanks.
+     *
+     * A <pre>NumberFormatException</pre> is thrown if it is not of that form, and an
+     * <pre>ArithmeticException</pre> if the denominator is zero.
+     *
+     * @param fraction the string representation of the fraction
+     * @return the normalised fraction
+     */
+    static BigFraction parse(String fraction) {
+        int slash = fraction.indexOf('/');
+        return slash < 0 ?
+                new BigFraction(new BigInteger(fraction), BigInteger.ONE) :
+                new BigFraction(new BigInteger(fraction.substring(0, slash)),
+                        new BigInteger(fraction.substring(slash + 1)));
+    }
+
+    /**
+     * @param f a fraction of any implementation
+     * @return the fraction as a <pre>BigFraction</pre>
+     */
+    static BigFraction valueOf(Fraction f) {
+        if (f instanceof BigFraction) {
+            return (BigFraction) f;
+        }
+        if (f instanceof FractionImpl || f instanceof LongFraction) {
+            return inline(f.numerator(), f.denominator());
+        }
+        // other implementations may be wider than long, and needn't be normalised
+        return normalise(f.bigNumerator(), f.bigDenominator());
+    }
+
+    /**
+     * The parameters are the <em>numerators</em> and (positive) <em>denominators</em> of two normalised inline
+     * fractions, <pre>a/b</pre> and <pre>c/d</pre>.
+     *
+     * Returns their sum, or difference: with <pre>g = gcd(b, d)</pre>, the sum is
+     * <pre>(a(d/g) + c(b/g))/((b/g)d)</pre>, found as 128-bit values.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @param subtract whether to subtract the second fraction rather than add it
+     * @return the normalised sum (or difference) of the two fractions
+     */
+    static BigFraction sum(long a, long b, long c, long d, boolean subtract) {
+        long g = FractionImpl.gcd(b, d);
+        long bg = b / g, dg = d / g;
+
+        long low1 = a * dg, low2 = c * bg;
+        long high1 = Math.multiplyHigh(a, dg), high2 = Math.multiplyHigh(c, bg);
+        if (subtract) {
+            high2 = Int128.negateHigh(high2, low2);
+            low2 = -low2;
+        }
+        long numeratorHigh = Int128.addHigh(high1, low1, high2, low2);
+        if (g == 1) {
+            // coprime denominators: the sum is already in its lowest terms
+            return reduced(numeratorHigh, low1 + low2, Math.multiplyHigh(b, d), b * d);
+        }
+        return normalise(numeratorHigh, low1 + low2, Math.multiplyHigh(bg, d), bg * d);
+    }
+
+    private static BigFraction sum(BigFraction f1, BigFraction f2, boolean subtract) {
+        if (f1.isInline() && f2.isInline()) {
+            return sum(f1.numerator, f1.denominator, f2.numerator, f2.denominator, subtract);
+        }
+        // as for inline values, though here the final gcd is of g2 rather than of the whole sum and product
+        BigInteger a = f1.bigNumerator(), b = f1.bigDenominator();
+        BigInteger c = subtract ? f2.bigNumerator().negate() : f2.bigNumerator(), d = f2.bigDenominator();
+        BigInteger g = b.gcd(d);
+        BigInteger bg = b.divide(g);
+        BigInteger numerator = a.multiply(d.divide(g)).add(c.multiply(bg));
+        BigInteger g2 = numerator.gcd(g);
+        return reduced(numerator.divide(g2), bg.multiply(d.divide(g2)));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction add(Fraction f) {
+        // a/b + c/d is (ad + bc)/bd
+        return sum(this, valueOf(f), false);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction subtract(Fraction f) {
+        // a/b - c/d is (ad - bc)/bd
+        return sum(this, valueOf(f), true);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction multiply(Fraction f) {
+        // (a/b) * (c/d) is (a*c)/(b*d)
+        BigFraction other = valueOf(f);
+        if (this.isInline() && other.isInline()) {
+            return product(this.numerator, this.denominator, other.numerator, other.denominator);
+        }
+        // promoted values are never zero, and one gcd of the products measures faster than cancelling with two
+        // gcds of the operands
+        return normalise(this.bigNumerator().multiply(other.bigNumerator()),
+                this.bigDenominator().multiply(other.bigDenominator()));
+    }
+
+    /**
+     * The parameters are the <em>numerators</em> and (positive) <em>denominators</em> of two normalised inline
+     * fractions, <pre>a/b</pre> and <pre>c/d</pre>.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return the normalised product of the two fractions
+     */
+    static BigFraction product(long a, long b, long c, long d) {
+        if (a == 0 || c == 0) {
+            return new BigFraction(0);
+        }
+        // cancelling a with d, and c with b, leaves a product that is already in its lowest terms
+        long g1 = FractionImpl.gcd(a, d);
+        long g2 = FractionImpl.gcd(c, b);
+        a /= g1;
+        b /= g2;
+        c /= g2;
+        d /= g1;
+        return reduced(Math.multiplyHigh(a, c), a * c, Math.multiplyHigh(b, d), b * d);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction divide(Fraction f) {
+        // (a/b) / (c/d) is (a*d)/(b*c)
+        BigFraction other = valueOf(f);
+        if (this.isInline() && other.isInline()) {
+            return quotient(this.numerator, this.denominator, other.numerator, other.denominator);
+        }
+        if (other.signum() == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        return normalise(this.bigNumerator().multiply(other.bigDenominator()),
+                this.bigDenominator().multiply(other.bigNumerator()));
+    }
+
+    /**
+     * The parameters are the <em>numerators</em> and (positive) <em>denominators</em> of two normalised inline
+     * fractions, <pre>a/b</pre> and <pre>c/d</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>c</pre> is zero.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return the normalised quotient of the two fractions
+     */
+    static BigFraction quotient(long a, long b, long c, long d) {
+        if (c == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (a == 0) {
+            return new BigFraction(0);
+        }
+        // cancelling a with c, and d with b, leaves a quotient that is already in its lowest terms
+        long g1 = FractionImpl.gcd(a, c);
+        long g2 = FractionImpl.gcd(d, b);
+        a /= g1;
+        b /= g2;
+        c /= g1;
+        d /= g2;
+        long numeratorHigh = Math.multiplyHigh(a, d), numeratorLow = a * d;
+        long denominatorHigh = Math.multiplyHigh(b, c), denominatorLow = b * c;
+        if (c < 0) {
+            // only the sign of c/g1 can leave the denominator negative
+            return reduced(Int128.negateHigh(numeratorHigh, numeratorLow), -numeratorLow,
+                    Int128.negateHigh(denominatorHigh, denominatorLow), -denominatorLow);
+        }
+        return reduced(numeratorHigh, numeratorLow, denominatorHigh, denominatorLow);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction abs() {
+        return signum() < 0 ? negate() : this;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction negate() {
+        if (isInline() && this.numerator != Long.MIN_VALUE) {
+            return new BigFraction(-this.numerator, this.denominator, null, null);
+        }
+        // the negation of a promoted value may fit inline, as where it is 2^63
+        return reduced(bigNumerator().negate(), bigDenominator());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction inverse() {
+        if (signum() == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (isInline() && this.numerator != Long.MIN_VALUE) {
+            // already in lowest terms, so only a negative sign needs moving back onto the numerator
+            return this.numerator < 0 ?
+                    new BigFraction(-this.denominator, -this.numerator, null, null) :
+                    new BigFraction(this.denominator, this.numerator, null, null);
+        }
+        return this.bigNumerator().signum() < 0 ?
+                reduced(bigDenominator().negate(), bigNumerator().negate()) :
+                reduced(bigDenominator(), bigNumerator());
+    }
+
+    private int signum() {
+        return isInline() ? Long.signum(this.numerator) : this.bigNumerator.signum();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int compareTo(Fraction o) {
+        BigFraction other = valueOf(o);
+        int sign = this.signum();
+        int otherSign = other.signum();
+        if (sign != otherSign) {
+            return sign < otherSign ? -1 : 1;
+        }
+        if (this.isInline() && other.isInline()) {
+            // a/b < c/d exactly when ad < cb, compared as 128-bit products
+            long a = this.numerator, b = this.denominator, c = other.numerator, d = other.denominator;
+            return Int128.compare(Math.multiplyHigh(a, d), a * d, Math.multiplyHigh(c, b), c * b);
+        }
+        return this.bigNumerator().multiply(other.bigDenominator())
+                .compareTo(other.bigNumerator().multiply(this.bigDenominator()));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof BigFraction) {
+            // normalised, and inline wherever possible, so equal values have equal components
+            BigFraction other = (BigFraction) obj;
+            return this.numerator == other.numerator && this.denominator == other.denominator
+                    && Objects.equals(this.bigNumerator, other.bigNumerator)
+                    && Objects.equals(this.bigDenominator, other.bigDenominator);
+        }
+        return (obj instanceof Fraction) && this.compareTo((Fraction) obj) == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int hashCode() {
+        // inline values hash as a FractionImpl or LongFraction of equal value would
+        return isInline() ?
+                FractionImpl.hash(this.numerator, this.denominator) :
+                FractionImpl.hash(this.bigNumerator.hashCode(), this.bigDenominator.hashCode());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        if (isInline()) {
+            return this.denominator != 1 ?
+                    this.numerator + "/" + this.denominator : String.valueOf(this.numerator);
+        }
+        return !BigInteger.ONE.equals(this.bigDenominator) ?
+                this.bigNumerator + "/" + this.bigDenominator : this.bigNumerator.toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        if (!isInline()) {
+            sb.append(this.bigNumerator);
+            if (!BigInteger.ONE.equals(this.bigDenominator)) {
+                sb.append('/').append(this.bigDenominator);
+            }
+            return sb;
+        }
+        sb.append(this.numerator);
+        if (this.denominator != 1) {
+            sb.append('/').append(this.denominator);
+        }
+        return sb;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Appendable appendTo(Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return appendTo((StringBuilder) out);
+        }
+        if (!isInline()) {
+            out.append(this.bigNumerator.toString());
+            if (!BigInteger.ONE.equals(this.bigDenominator)) {
+                out.append('/').append(this.bigDenominator.toString());
+            }
+            return out;
+        }
+        Digits.append(out, this.numerator);
+        if (this.denominator != 1) {
+            out.append('/');
+            Digits.append(out, this.denominator);
+        }
+        return out;
+    }
+}
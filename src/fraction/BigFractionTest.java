@@ -0,0 +1,230 @@
+package fraction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class BigFractionTest {
+    /*
+    Tests in this file check BigFraction's arithmetic against the same arithmetic done with BigInteger and then
+    normalised, for operands of every magnitude: small, near the limits of long (where results are promoted),
+    and beyond them (where results may be demoted again). They also check that a result is held inline exactly
+    when both of its components fit in longs.
+    */
+
+    private static final BigInteger[][] OPERANDS = {
+            {BigInteger.ZERO, BigInteger.ONE},
+            {BigInteger.ONE, BigInteger.ONE},
+            {BigInteger.valueOf(-3), BigInteger.valueOf(8)},
+            {BigInteger.valueOf(Long.MAX_VALUE), BigInteger.ONE},
+            {BigInteger.valueOf(Long.MIN_VALUE), BigInteger.ONE},
+            {BigInteger.ONE, BigInteger.valueOf(Long.MAX_VALUE)},
+            {BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(Long.MAX_VALUE)},
+            {BigInteger.valueOf(6_440_648_040L), BigInteger.valueOf(89_453_445L)},
+            {BigInteger.ONE.shiftLeft(63), BigInteger.ONE},
+            {BigInteger.ONE.shiftLeft(63), BigInteger.valueOf(3)},
+            {BigInteger.TEN.pow(30).negate(), BigInteger.valueOf(7)},
+            {BigInteger.valueOf(11), BigInteger.TEN.pow(25)},
+            {BigInteger.TWO.pow(200).add(BigInteger.ONE), BigInteger.TWO.pow(199).subtract(BigInteger.ONE)},
+    };
+
+    private static BigInteger[] normalised(BigInteger n, BigInteger d) {
+        BigInteger g = n.gcd(d);
+        if (d.signum() < 0) {
+            g = g.negate();
+        }
+        return new BigInteger[] {n.divide(g), d.divide(g)};
+    }
+
+    private static String reference(BigInteger n, BigInteger d) {
+        if (d.signum() == 0) {
+            return "ArithmeticException";
+        }
+        BigInteger[] f = normalised(n, d);
+        return f[1].equals(BigInteger.ONE) ? f[0].toString() : f[0] + "/" + f[1];
+    }
+
+    private static String result(BinaryOperator<Fraction> operation, Fraction f1, Fraction f2) {
+        try {
+            Fraction result = operation.apply(f1, f2);
+            assertInlineIffFits((BigFraction) result);
+            return result.toString();
+        } catch (ArithmeticException e) {
+            return "ArithmeticException";
+        }
+    }
+
+    private static void assertInlineIffFits(BigFraction f) {
+        String[] parts = f.toString().split("/");
+        boolean fits = Arrays.stream(parts).allMatch(part -> new BigInteger(part).bitLength() < 64);
+        Assert.assertEquals(f.toString(), fits, f.isInline());
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ArithmeticTest {
+
+        @Parameters(name = "{index}: {0}/{1} and {2}/{3}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (BigInteger[] first : OPERANDS) {
+                for (BigInteger[] second : OPERANDS) {
+                    data.add(new Object[] {first[0], first[1], second[0], second[1]});
+                }
+            }
+            return data;
+        }
+
+        private final BigInteger a, b, c, d;
+        private final Fraction f1, f2;
+
+        public ArithmeticTest(BigInteger a, BigInteger b, BigInteger c, BigInteger d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.f1 = new BigFraction(a, b);
+            this.f2 = new BigFraction(c, d);
+        }
+
+        @Test
+        public void addTest() {
+            Assert.assertEquals(reference(a.multiply(d).add(c.multiply(b)), b.multiply(d)),
+                    result(Fraction::add, f1, f2));
+        }
+
+        @Test
+        public void subtractTest() {
+            Assert.assertEquals(reference(a.multiply(d).subtract(c.multiply(b)), b.multiply(d)),
+                    result(Fraction::subtract, f1, f2));
+        }
+
+        @Test
+        public void multiplyTest() {
+            Assert.assertEquals(reference(a.multiply(c), b.multiply(d)), result(Fraction::multiply, f1, f2));
+        }
+
+        @Test
+        public void divideTest() {
+            Assert.assertEquals(reference(a.multiply(d), b.multiply(c)), result(Fraction::divide, f1, f2));
+        }
+
+        @Test
+        public void compareToTest() {
+            Assert.assertEquals(a.multiply(d).compareTo(c.multiply(b)), Integer.signum(f1.compareTo(f2)));
+        }
+
+        @Test
+        public void equalsTest() {
+            Assert.assertEquals(a.multiply(d).equals(c.multiply(b)), f1.equals(f2));
+        }
+    }
+
+    public static class RandomArithmeticTest {
+
+        @Test
+        public void randomOperandsMatchBigInteger() {
+            SplittableRandom random = new SplittableRandom(14);
+            for (int i = 0; i < 20_000; i++) {
+                long a = random.nextLong() >> random.nextInt(64), b = (random.nextLong() >>> random.nextInt(1, 64)) + 1;
+                long c = random.nextLong() >> random.nextInt(64), d = (random.nextLong() >>> random.nextInt(1, 64)) + 1;
+                BigInteger ba = BigInteger.valueOf(a), bb = BigInteger.valueOf(b);
+                BigInteger bc = BigInteger.valueOf(c), bd = BigInteger.valueOf(d);
+                Fraction f1 = new BigFraction(a, b), f2 = new BigFraction(c, d);
+                String message = f1 + " and " + f2;
+                Assert.assertEquals(message, reference(ba.multiply(bd).add(bc.multiply(bb)), bb.multiply(bd)),
+                        result(Fraction::add, f1, f2));
+                Assert.assertEquals(message, reference(ba.multiply(bc), bb.multiply(bd)),
+                        result(Fraction::multiply, f1, f2));
+                Assert.assertEquals(message, ba.multiply(bd).compareTo(bc.multiply(bb)),
+                        Integer.signum(f1.compareTo(f2)));
+            }
+        }
+    }
+
+    public static class PromotionTest {
+
+        @Test
+        public void overflowingResultsArePromotedAndDemoted() {
+            BigFraction max = new BigFraction(Long.MAX_VALUE);
+            BigFraction square = (BigFraction) max.multiply(max);
+            Assert.assertFalse(square.isInline());
+            BigFraction quotient = (BigFraction) square.divide(max);
+            Assert.assertTrue(quotient.isInline());
+            Assert.assertEquals(max, quotient);
+        }
+
+        @Test
+        public void minimumValueIsPromotedByNegateAndInverse() {
+            BigFraction min = new BigFraction(Long.MIN_VALUE);
+            BigFraction negated = (BigFraction) min.negate();
+            Assert.assertEquals("9223372036854775808", negated.toString());
+            Assert.assertFalse(negated.isInline());
+            Assert.assertEquals(min, negated.negate());
+            Assert.assertTrue(((BigFraction) negated.negate()).isInline());
+            Assert.assertEquals("-1/9223372036854775808", min.inverse().toString());
+            Assert.assertEquals(min, min.inverse().inverse());
+            Assert.assertEquals(negated, min.abs());
+        }
+
+        @Test
+        public void constructorsNormalise() {
+            Assert.assertEquals("-2/3", new BigFraction(8, -12).toString());
+            Assert.assertEquals("1/4611686018427387904", new BigFraction(-2, Long.MIN_VALUE).toString());
+            Assert.assertEquals("-1/9223372036854775808", new BigFraction(1, Long.MIN_VALUE).toString());
+            Assert.assertEquals(new BigFraction(-2, 3),
+                    new BigFraction(BigInteger.TEN.pow(40).multiply(BigInteger.TWO),
+                            BigInteger.TEN.pow(40).multiply(BigInteger.valueOf(-3))));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void zeroDenominator() {
+            new BigFraction(BigInteger.ONE, BigInteger.ZERO);
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void divideByZero() {
+            new BigFraction(BigInteger.TEN.pow(30), BigInteger.ONE).divide(new BigFraction(0));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void inverseZero() {
+            new BigFraction(0).inverse();
+        }
+    }
+
+    public static class ObjectMethodsTest {
+
+        @Test
+        public void inlineHashCodesMatchFractionImpl() {
+            Assert.assertEquals(new FractionImpl(-3, 8).hashCode(), new BigFraction(-3, 8).hashCode());
+        }
+
+        @Test
+        public void equalValuesHaveEqualHashCodes() {
+            for (BigInteger[] operand : OPERANDS) {
+                Fraction f = new BigFraction(operand[0], operand[1]);
+                Fraction same = new BigFraction(operand[0].multiply(BigInteger.TEN),
+                        operand[1].multiply(BigInteger.TEN));
+                Assert.assertEquals(f, same);
+                Assert.assertEquals(f.hashCode(), same.hashCode());
+            }
+        }
+
+        @Test
+        public void appendToMatchesToString() throws IOException {
+            for (BigInteger[] operand : OPERANDS) {
+                Fraction f = new BigFraction(operand[0], operand[1]);
+                Assert.assertEquals(f.toString(), f.appendTo(new StringBuilder()).toString());
+                Assert.assertEquals(f.toString(), f.appendTo(new StringWriter()).toString());
+            }
+        }
+    }
+}
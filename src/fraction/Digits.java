@@ -0,0 +1,38 @@
+package fraction;
+
+import java.io.IOException;
+
+/**
+ * Decimal formatting of <pre>long</pre> values straight into an <pre>Appendable</pre>, shared by the
+ * <pre>appendTo</pre> methods of the <pre>Fraction</pre> implementations, without building a <pre>String</pre>.
+ */
+final class Digits {
+
+    private Digits() {
+    }
+
+    /**
+     * Appends the decimal digits of <pre>value</pre> (preceded by a minus sign if it is negative) to <pre>out</pre>,
+     * one <pre>char</pre> at a time.
+     *
+     * @param out the destination to append to
+     * @param value the value to append
+     * @throws IOException if <pre>out</pre> throws one
+     */
+    static void append(Appendable out, long value) throws IOException {
+        // worked on as a non-positive value, so that the magnitude of Long.MIN_VALUE is representable
+        long negative = value;
+        if (negative < 0) {
+            out.append('-');
+        } else {
+            negative = -negative;
+        }
+        long power = 1;
+        while (negative / power <= -10) {
+            power *= 10;
+        }
+        for (; power > 0; power /= 10) {
+            out.append((char) ('0' - negative / power % 10));
+        }
+    }
+}
\ No newline at end of file
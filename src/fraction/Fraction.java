@@ -1,11 +1,125 @@
 package fraction;
 
+import java.io.IOException;
+import java.math.BigInteger;
+
 /**
  * Representing fractions of the form numerator and denominator
  * The object should be immutable.
  */
 public interface Fraction extends Comparable<Fraction> {
 
+    /**
+     * Returns the normalised <pre>Fraction</pre> <pre>numerator/denominator</pre>, as
+     * {@link FractionImpl#FractionImpl(int, int)} would, except that small values are returned as canonical,
+     * shared instances (see {@link FractionCache}) rather than being allocated.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the normalised fraction
+     */
+    public static Fraction of(int numerator, int denominator) {
+        return FractionImpl.normalise(numerator, denominator);
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> representing the whole number <pre>wholeNumber</pre>, which is a canonical,
+     * shared instance for small values (see {@link FractionCache}).
+     *
+     * @param wholeNumber representing the numerator
+     * @return the fraction
+     */
+    public static Fraction of(int wholeNumber) {
+        return FractionImpl.normalise(wholeNumber, 1);
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> represented by <pre>fraction</pre>, parsed as by
+     * {@link FractionImpl#FractionImpl(String)}, except that small values are returned as canonical, shared
+     * instances (see {@link FractionCache}) rather than being allocated.
+     *
+     * @param fraction the string representation of the fraction
+     * @return the normalised fraction
+     */
+    public static Fraction valueOf(String fraction) {
+        return FractionImpl.parse(fraction, 0, fraction.length());
+    }
+
+    /**
+     * Returns the hash code of the normalised fraction <pre>numerator/denominator</pre>, as returned by
+     * <pre>hashCode()</pre> for the implementations of this package.
+     *
+     * @param numerator the normalised fraction's numerator
+     * @param denominator the normalised fraction's (positive) denominator
+     * @return the hash code
+     */
+    public static int hash(long numerator, long denominator) {
+        return FractionImpl.hash(numerator, denominator);
+    }
+
+    /**
+     * Returns the <em>numerator</em> of <pre>this</pre> fraction, normalised: in lowest terms, and carrying the
+     * fraction's sign.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the numerator is not representable in a <pre>long</pre>
+     * (which only an arbitrary-precision implementation can hold); {@link #bigNumerator()} returns any value.
+     *
+     * By default, the numerator is read from {@link #bigNumerator()}, so that implementations written before this
+     * method was added keep working; others should override it.
+     *
+     * @return the normalised numerator
+     */
+    public default long numerator() {
+        return bigNumerator().longValueExact();
+    }
+
+    /**
+     * Returns the <em>denominator</em> of <pre>this</pre> fraction, normalised: in lowest terms, and positive.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is not representable in a <pre>long</pre>
+     * (which only an arbitrary-precision implementation can hold); {@link #bigDenominator()} returns any value.
+     *
+     * By default, the denominator is read from {@link #bigDenominator()}, so that implementations written before
+     * this method was added keep working; others should override it.
+     *
+     * @return the normalised denominator
+     */
+    public default long denominator() {
+        return bigDenominator().longValueExact();
+    }
+
+    /**
+     * Returns the <em>numerator</em> of <pre>this</pre> fraction, normalised, as a <pre>BigInteger</pre>.
+     *
+     * By default, it is parsed from <pre>toString()</pre>, and normalised, as by {@link BigFraction}: the string is
+     * built and parsed again on every call. {@link Fractions}, and so the <pre>compareTo</pre> methods of this
+     * package, call it for every operand of an implementation outside this package. Where <pre>toString()</pre> is
+     * not of the form <pre>a/b</pre> (or <pre>a</pre>), it throws a <pre>NumberFormatException</pre>, and so do
+     * those operations. Implementations should override it.
+     *
+     * @return the normalised numerator
+     */
+    public default BigInteger bigNumerator() {
+        return BigFraction.parse(toString()).bigNumerator();
+    }
+
+    /**
+     * Returns the <em>denominator</em> of <pre>this</pre> fraction, normalised, as a <pre>BigInteger</pre>.
+     *
+     * By default, it is parsed from <pre>toString()</pre>, and normalised, as by {@link BigFraction}: the string is
+     * built and parsed again on every call. {@link Fractions}, and so the <pre>compareTo</pre> methods of this
+     * package, call it for every operand of an implementation outside this package. Where <pre>toString()</pre> is
+     * not of the form <pre>a/b</pre> (or <pre>a</pre>), it throws a <pre>NumberFormatException</pre>, and so do
+     * those operations. Implementations should override it.
+     *
+     * @return the normalised denominator
+     */
+    public default BigInteger bigDenominator() {
+        return BigFraction.parse(toString()).bigDenominator();
+    }
+
     /**
      * Returns a new <pre>Fraction</pre> that is the <em>sum</em> of <pre>this</pre> and the parameter:
      * <pre>a/b + c/d</pre> is <pre>(ad + bc)/bd</pre>
@@ -93,6 +207,10 @@ public interface Fraction extends Comparable<Fraction> {
      * Returns <pre>true</pre> if <pre>o</pre> is a <pre>Fraction</pre> equal to <pre>this</pre>,
      * and <pre>false</pre> in all other cases.
      *
+     * Fractions are equal by value, whatever their implementations, and a fraction whose numerator and
+     * denominator fit in <pre>long</pre> values should return the same hash code as a <pre>FractionImpl</pre> or
+     * {@link LongFraction} of equal value: {@link #hash(long, long)} of its numerator and denominator.
+     *
      * @param o the object to compare this one to
      * @return whether the true fractions are equal
      */
@@ -125,4 +243,29 @@ public interface Fraction extends Comparable<Fraction> {
      */
     @Override
     public String toString();
+
+    /**
+     * Appends the <pre>String</pre> representation of <pre>this</pre> fraction (as returned by {@link #toString()})
+     * to <pre>sb</pre>. The implementations of this package do so without creating an intermediate
+     * <pre>String</pre>; by default, the result of <pre>toString()</pre> is appended.
+     *
+     * @param sb the builder to append to
+     * @return <pre>sb</pre>
+     */
+    public default StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(toString());
+    }
+
+    /**
+     * Appends the <pre>String</pre> representation of <pre>this</pre> fraction (as returned by {@link #toString()})
+     * to <pre>out</pre>, such as a <pre>Writer</pre>. The implementations of this package do so without creating an
+     * intermediate <pre>String</pre>; by default, the result of <pre>toString()</pre> is appended.
+     *
+     * @param out the destination to append to
+     * @return <pre>out</pre>
+     * @throws IOException if <pre>out</pre> throws one
+     */
+    public default Appendable appendTo(Appendable out) throws IOException {
+        return out.append(toString());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,256 @@
+package fraction;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable running total of fractions, for long chains of additions, subtractions and multiplications whose
+ * intermediate values are never needed.
+ *
+ * Where <pre>Fraction</pre> arithmetic normalises every result, finding a greatest common divisor each time, the
+ * accumulator keeps its <em>numerator</em> and <em>denominator</em> unreduced in <pre>long</pre> values, and
+ * reduces them only when the next operation would overflow, or when the total is read by
+ * {@link #toFraction()}. Adding fractions that share a denominator with the total (such as whole numbers to a
+ * whole total) never grows it at all.
+ *
+ * If reducing does not make room, the total moves to <pre>BigInteger</pre> components, which are reduced each
+ * time their denominator has grown by as many bits again as it had at the last reduction, and moves back once
+ * it fits in <pre>long</pre> values again. The total is therefore always exact.
+ *
+ * An accumulator is not thread-safe.
+ */
+public final class FractionAccumulator {
+
+    // the unreduced total, with a positive denominator, while bigDenominator is null
+    private long numerator, denominator;
+
+    // the unreduced total, once too large for long values, with a positive denominator
+    private BigInteger bigNumerator, bigDenominator;
+    private int reducedBitLength;
+
+    private long reductions;
+
+    /**
+     * Creates an accumulator whose total is zero.
+     */
+    public FractionAccumulator() {
+        this.numerator = 0;
+        this.denominator = 1;
+    }
+
+    /**
+     * Creates an accumulator whose total is <pre>initial</pre>.
+     *
+     * @param initial the initial total
+     */
+    public FractionAccumulator(Fraction initial) {
+        this();
+        add(initial);
+    }
+
+    /**
+     * Adds <pre>f</pre> to the total.
+     *
+     * @param f the fraction to add
+     * @return this accumulator
+     */
+    public FractionAccumulator add(Fraction f) {
+        if (isLong(f)) {
+            long a = f.numerator(), b = f.denominator();
+            if (this.bigDenominator == null && (sum(a, b) || reduce() && sum(a, b))) {
+                return this;
+            }
+            promote();
+            bigSum(BigInteger.valueOf(a), BigInteger.valueOf(b));
+        } else {
+            promote();
+            bigSum(f.bigNumerator(), f.bigDenominator());
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts <pre>f</pre> from the total.
+     *
+     * @param f the fraction to subtract
+     * @return this accumulator
+     */
+    public FractionAccumulator subtract(Fraction f) {
+        if (isLong(f) && f.numerator() != Long.MIN_VALUE) {
+            long a = -f.numerator(), b = f.denominator();
+            if (this.bigDenominator == null && (sum(a, b) || reduce() && sum(a, b))) {
+                return this;
+            }
+            promote();
+            bigSum(BigInteger.valueOf(a), BigInteger.valueOf(b));
+        } else {
+            promote();
+            bigSum(f.bigNumerator().negate(), f.bigDenominator());
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies the total by <pre>f</pre>.
+     *
+     * @param f the fraction to multiply by
+     * @return this accumulator
+     */
+    public FractionAccumulator multiply(Fraction f) {
+        if (isLong(f)) {
+            long a = f.numerator(), b = f.denominator();
+            if (this.bigDenominator == null && (product(a, b) || reduce() && product(a, b))) {
+                return this;
+            }
+            promote();
+            bigProduct(BigInteger.valueOf(a), BigInteger.valueOf(b));
+        } else {
+            promote();
+            bigProduct(f.bigNumerator(), f.bigDenominator());
+        }
+        return this;
+    }
+
+    /**
+     * Returns the total, normalised, as the narrowest of <pre>FractionImpl</pre>, {@link LongFraction} and
+     * {@link BigFraction} that can represent it. The accumulator is left holding the reduced total.
+     *
+     * @return the total
+     */
+    public Fraction toFraction() {
+        if (this.bigDenominator == null) {
+            reduce();
+        } else {
+            bigReduce();
+        }
+        if (this.bigDenominator != null) {
+            return new BigFraction(this.bigNumerator, this.bigDenominator);
+        }
+        return (int) this.numerator == this.numerator && (int) this.denominator == this.denominator ?
+                FractionImpl.canonical(this.numerator, this.denominator, 1) :
+                LongFraction.reduced(this.numerator, this.denominator);
+    }
+
+    /**
+     * Returns the number of times the total has been reduced, each of which finds one greatest common divisor.
+     *
+     * @return the number of reductions
+     */
+    public long reductions() {
+        return this.reductions;
+    }
+
+    // whether f's components are available as long values
+    private static boolean isLong(Fraction f) {
+        return f instanceof FractionImpl || f instanceof LongFraction
+                || f instanceof BigFraction && ((BigFraction) f).isInline();
+    }
+
+    /**
+     * Adds <pre>a/b</pre> (<pre>b</pre> positive) to the <pre>long</pre> total, or returns <pre>false</pre>,
+     * leaving the total unchanged, if the result would overflow.
+     */
+    private boolean sum(long a, long b) {
+        if (b == this.denominator) {
+            long sum = this.numerator + a;
+            if (((this.numerator ^ sum) & (a ^ sum)) < 0) {
+                return false;
+            }
+            this.numerator = sum;
+            return true;
+        }
+        long nb = this.numerator * b, ad = a * this.denominator, db = this.denominator * b;
+        if (Math.multiplyHigh(this.numerator, b) != nb >> 63 || Math.multiplyHigh(a, this.denominator) != ad >> 63
+                || Math.multiplyHigh(this.denominator, b) != db >> 63) {
+            return false;
+        }
+        long sum = nb + ad;
+        if (((nb ^ sum) & (ad ^ sum)) < 0) {
+            return false;
+        }
+        this.numerator = sum;
+        this.denominator = db;
+        return true;
+    }
+
+    /**
+     * Multiplies the <pre>long</pre> total by <pre>a/b</pre> (<pre>b</pre> positive), or returns
+     * <pre>false</pre>, leaving the total unchanged, if the result would overflow.
+     */
+    private boolean product(long a, long b) {
+        long na = this.numerator * a, db = this.denominator * b;
+        if (Math.multiplyHigh(this.numerator, a) != na >> 63 || Math.multiplyHigh(this.denominator, b) != db >> 63) {
+            return false;
+        }
+        this.numerator = na;
+        this.denominator = db;
+        return true;
+    }
+
+    /**
+     * Reduces the <pre>long</pre> total to its lowest terms.
+     *
+     * @return whether the total was reduced, and so may now have room for the operation that did not fit
+     */
+    private boolean reduce() {
+        this.reductions++;
+        long gcd = FractionImpl.gcd(this.numerator, this.denominator);
+        if (gcd == 1) {
+            return false;
+        }
+        // the denominator is positive, so the gcd is at most Long.MAX_VALUE
+        this.numerator /= gcd;
+        this.denominator /= gcd;
+        return true;
+    }
+
+    // moves the total to BigInteger components, if it isn't there already
+    private void promote() {
+        if (this.bigDenominator == null) {
+            this.bigNumerator = BigInteger.valueOf(this.numerator);
+            this.bigDenominator = BigInteger.valueOf(this.denominator);
+            this.reducedBitLength = this.bigDenominator.bitLength();
+        }
+    }
+
+    private void bigSum(BigInteger a, BigInteger b) {
+        if (b.equals(this.bigDenominator)) {
+            this.bigNumerator = this.bigNumerator.add(a);
+        } else {
+            this.bigNumerator = this.bigNumerator.multiply(b).add(a.multiply(this.bigDenominator));
+            this.bigDenominator = this.bigDenominator.multiply(b);
+        }
+        bigGrown();
+    }
+
+    private void bigProduct(BigInteger a, BigInteger b) {
+        this.bigNumerator = this.bigNumerator.multiply(a);
+        this.bigDenominator = this.bigDenominator.multiply(b);
+        bigGrown();
+    }
+
+    private void bigGrown() {
+        if (this.bigDenominator.bitLength() > 2 * this.reducedBitLength + Long.SIZE) {
+            bigReduce();
+        }
+    }
+
+    /**
+     * Reduces the <pre>BigInteger</pre> total to its lowest terms, and moves it back to <pre>long</pre>
+     * components if it fits.
+     */
+    private void bigReduce() {
+        this.reductions++;
+        BigInteger gcd = this.bigNumerator.gcd(this.bigDenominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            this.bigNumerator = this.bigNumerator.divide(gcd);
+            this.bigDenominator = this.bigDenominator.divide(gcd);
+        }
+        this.reducedBitLength = this.bigDenominator.bitLength();
+        if (this.bigNumerator.bitLength() < Long.SIZE && this.bigDenominator.bitLength() < Long.SIZE) {
+            this.numerator = this.bigNumerator.longValue();
+            this.denominator = this.bigDenominator.longValue();
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        }
+    }
+}
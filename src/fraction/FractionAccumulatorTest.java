@@ -0,0 +1,176 @@
+package fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionAccumulatorTest {
+    /*
+    Tests in this file check FractionAccumulator's running totals against the same chains of operations done
+    with BigFraction, which normalises every step, for operands from small to near the limits of long (where the
+    total must move to BigInteger components and back). They also check that the accumulator reduces far less
+    often than once per operation, and returns the narrowest implementation.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class ChainTest {
+
+        @Parameters(name = "{index}: |values| < {0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {10L},
+                    {1000L},
+                    {Integer.MAX_VALUE},
+                    {Long.MAX_VALUE},
+            });
+        }
+
+        private final long bound;
+
+        public ChainTest(long bound) {
+            this.bound = bound;
+        }
+
+        private Fraction random(SplittableRandom random) {
+            long numerator = random.nextLong(-bound, bound), denominator = random.nextLong(1, bound);
+            return bound <= Integer.MAX_VALUE ? Fraction.of((int) numerator, (int) denominator) :
+                    new LongFraction(numerator, denominator);
+        }
+
+        @Test
+        public void sumMatchesBigFractionTest() {
+            SplittableRandom random = new SplittableRandom(bound);
+            FractionAccumulator accumulator = new FractionAccumulator();
+            Fraction expected = new BigFraction(0);
+            for (int i = 0; i < 500; i++) {
+                Fraction f = random(random);
+                if (random.nextBoolean()) {
+                    accumulator.add(f);
+                    expected = expected.add(f);
+                } else {
+                    accumulator.subtract(f);
+                    expected = expected.subtract(f);
+                }
+            }
+            Assert.assertEquals(expected, accumulator.toFraction());
+        }
+
+        @Test
+        public void productMatchesBigFractionTest() {
+            SplittableRandom random = new SplittableRandom(bound + 1);
+            FractionAccumulator accumulator = new FractionAccumulator(Fraction.of(1));
+            Fraction expected = new BigFraction(1);
+            for (int i = 0; i < 50; i++) {
+                Fraction f = random(random);
+                accumulator.multiply(f);
+                expected = expected.multiply(f);
+            }
+            Assert.assertEquals(expected, accumulator.toFraction());
+        }
+
+        @Test
+        public void mixedOperationsMatchBigFractionTest() {
+            SplittableRandom random = new SplittableRandom(bound + 2);
+            FractionAccumulator accumulator = new FractionAccumulator();
+            Fraction expected = new BigFraction(0);
+            for (int i = 0; i < 300; i++) {
+                Fraction f = random(random);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        accumulator.add(f);
+                        expected = expected.add(f);
+                        break;
+                    case 1:
+                        accumulator.subtract(f);
+                        expected = expected.subtract(f);
+                        break;
+                    default:
+                        // small factors, so that the total doesn't grow without bound
+                        Fraction factor = Fraction.of(random.nextInt(-3, 4), random.nextInt(1, 4));
+                        accumulator.multiply(factor);
+                        expected = expected.multiply(factor);
+                        break;
+                }
+                if (i % 50 == 0) {
+                    Assert.assertEquals(expected, accumulator.toFraction());
+                }
+            }
+            Assert.assertEquals(expected, accumulator.toFraction());
+        }
+    }
+
+    public static class ReductionTest {
+
+        @Test
+        public void reducesLessThanOncePerAdditionTest() {
+            FractionAccumulator accumulator = new FractionAccumulator();
+            for (int i = 1; i <= 1000; i++) {
+                accumulator.add(Fraction.of(1, i % 12 + 1));
+            }
+            Assert.assertTrue(accumulator.reductions() < 250);
+        }
+
+        @Test
+        public void commonDenominatorNeverReducesTest() {
+            FractionAccumulator accumulator = new FractionAccumulator();
+            for (int i = 0; i < 1000; i++) {
+                accumulator.add(Fraction.of(i));
+            }
+            Assert.assertEquals(0, accumulator.reductions());
+            Assert.assertEquals(Fraction.of(499_500), accumulator.toFraction());
+        }
+
+        @Test
+        public void toFractionReducesTest() {
+            FractionAccumulator accumulator = new FractionAccumulator(Fraction.of(1, 6)).add(Fraction.of(1, 3));
+            Assert.assertEquals(0, accumulator.reductions());
+            Assert.assertSame(Fraction.of(1, 2), accumulator.toFraction());
+            Assert.assertEquals(1, accumulator.reductions());
+        }
+    }
+
+    public static class WidthTest {
+
+        @Test
+        public void narrowsToFractionImplTest() {
+            FractionAccumulator accumulator = new FractionAccumulator(new LongFraction(Long.MAX_VALUE));
+            accumulator.subtract(new LongFraction(Long.MAX_VALUE - 3));
+            Assert.assertTrue(accumulator.toFraction() instanceof FractionImpl);
+        }
+
+        @Test
+        public void promotesToLongFractionTest() {
+            FractionAccumulator accumulator = new FractionAccumulator(Fraction.of(Integer.MAX_VALUE));
+            accumulator.add(Fraction.of(Integer.MAX_VALUE));
+            Assert.assertEquals(new LongFraction(2L * Integer.MAX_VALUE), accumulator.toFraction());
+            Assert.assertTrue(accumulator.toFraction() instanceof LongFraction);
+        }
+
+        @Test
+        public void promotesToBigFractionAndBackTest() {
+            FractionAccumulator accumulator = new FractionAccumulator(new LongFraction(Long.MAX_VALUE));
+            accumulator.multiply(new LongFraction(Long.MAX_VALUE));
+            BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+            Assert.assertEquals(new BigFraction(max.multiply(max), BigInteger.ONE), accumulator.toFraction());
+            accumulator.multiply(new LongFraction(1, Long.MAX_VALUE));
+            Assert.assertEquals(new LongFraction(Long.MAX_VALUE), accumulator.toFraction());
+            Assert.assertTrue(accumulator.toFraction() instanceof LongFraction);
+        }
+
+        @Test
+        public void acceptsBigOperandsTest() {
+            BigInteger big = BigInteger.TEN.pow(40);
+            FractionAccumulator accumulator = new FractionAccumulator();
+            accumulator.add(new BigFraction(big, BigInteger.valueOf(3)));
+            accumulator.subtract(new BigFraction(big, BigInteger.valueOf(3)));
+            accumulator.subtract(new LongFraction(Long.MIN_VALUE));
+            Assert.assertEquals(new BigFraction(BigInteger.valueOf(Long.MIN_VALUE).negate(), BigInteger.ONE),
+                    accumulator.toFraction());
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package fraction;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-size array of fractions, stored as two parallel <pre>int[]</pre> columns of normalised numerators and
+ * denominators rather than as one object per element, for compact storage and cache-friendly scans.
+ *
+ * Elements are read either as primitives, with {@link #numerator(int)} and {@link #denominator(int)}, or as
+ * <pre>Fraction</pre> values, created on demand by {@link #get(int)}. Comparison and sorting work on the columns
+ * directly, without creating any <pre>Fraction</pre>.
+ *
+ * As a <pre>List&lt;Fraction&gt;</pre> its size is fixed: elements may be set but not added or removed (see
+ * {@link FractionList} for a growable list). Every element must be representable by a <pre>FractionImpl</pre>,
+ * and an <pre>ArithmeticException</pre> is thrown on setting one that is not.
+ */
+public class FractionArray extends AbstractList<Fraction> implements RandomAccess {
+
+    // sub-ranges this short are sorted by insertion
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    int[] numerators, denominators;
+    int size;
+
+    /**
+     * Creates an array of <pre>size</pre> fractions, each of which is zero.
+     *
+     * @param size the number of fractions
+     */
+    public FractionArray(int size) {
+        this(new int[size], new int[size], size);
+        Arrays.fill(denominators, 1);
+    }
+
+    /**
+     * The parameters are the columns, which are used (not copied), and the number of elements in use.
+     *
+     * @param numerators the numerators of the elements
+     * @param denominators the denominators of the elements
+     * @param size the number of elements
+     */
+    FractionArray(int[] numerators, int[] denominators, int size) {
+        this.numerators = numerators;
+        this.denominators = denominators;
+        this.size = size;
+    }
+
+    /**
+     * Returns an array holding the given fractions, in order.
+     *
+     * @param fractions the fractions
+     * @return the array
+     */
+    public static FractionArray of(Fraction... fractions) {
+        FractionArray array = new FractionArray(fractions.length);
+        for (int i = 0; i < fractions.length; i++) {
+            array.set(i, fractions[i]);
+        }
+        return array;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the normalised numerator of the element
+     */
+    public int numerator(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.numerators[index];
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the normalised (positive) denominator of the element
+     */
+    public int denominator(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.denominators[index];
+    }
+
+    /**
+     * Returns the element as a <pre>Fraction</pre>, created on demand (or shared, for the small values held by
+     * {@link FractionCache}).
+     *
+     * @param index the index of the element
+     * @return the element
+     */
+    @Override
+    public Fraction get(int index) {
+        Objects.checkIndex(index, this.size);
+        return FractionImpl.canonical(this.numerators[index], this.denominators[index], 1);
+    }
+
+    /**
+     * Sets the element to <pre>fraction</pre>, and returns the element it replaced.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>fraction</pre> is not representable in integers; the
+     * element is then left unchanged.
+     *
+     * @param index the index of the element
+     * @param fraction the fraction to store
+     * @return the previous element
+     */
+    @Override
+    public Fraction set(int index, Fraction fraction) {
+        Fraction previous = get(index);
+        store(index, fraction);
+        return previous;
+    }
+
+    /**
+     * Sets the element to <pre>numerator/denominator</pre>, normalised.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers; the element is then left unchanged.
+     *
+     * @param index the index of the element
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public void set(int index, int numerator, int denominator) {
+        Objects.checkIndex(index, this.size);
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        int normNumerator = FractionImpl.checkedInt(numerator / divisor);
+        int normDenominator = FractionImpl.checkedInt(denominator / divisor);
+        this.numerators[index] = normNumerator;
+        this.denominators[index] = normDenominator;
+    }
+
+    void store(int index, Fraction fraction) {
+        // both are checked before either is written, so that a fraction that doesn't fit leaves the element unchanged
+        int numerator = FractionImpl.checkedInt(fraction.numerator());
+        int denominator = FractionImpl.checkedInt(fraction.denominator());
+        this.numerators[index] = numerator;
+        this.denominators[index] = denominator;
+    }
+
+    /**
+     * Compares two elements by value, as <pre>get(i).compareTo(get(j))</pre> would.
+     *
+     * @param i the index of the first element
+     * @param j the index of the second element
+     * @return a negative integer, zero, or a positive integer as the first element is less than, equal to, or
+     * greater than the second
+     */
+    public int compare(int i, int j) {
+        Objects.checkIndex(i, this.size);
+        Objects.checkIndex(j, this.size);
+        return compareAt(i, j);
+    }
+
+    private int compareAt(int i, int j) {
+        return IntArithmetic.compare(this.numerators[i], this.denominators[i],
+                this.numerators[j], this.denominators[j]);
+    }
+
+    /**
+     * Sorts the elements into ascending order, working on the columns in place.
+     */
+    public void sort() {
+        sort(0, this.size);
+    }
+
+    /**
+     * Sorts the elements from index <pre>from</pre> (inclusive) to <pre>to</pre> (exclusive) into ascending
+     * order, working on the columns in place.
+     *
+     * @param from the index of the first element to sort
+     * @param to the index after the last element to sort
+     */
+    public void sort(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size);
+        quickSort(from, to - 1);
+    }
+
+    /**
+     * Sorts the elements by <pre>comparator</pre>, or into their natural (ascending) order, without creating
+     * any <pre>Fraction</pre>, if it is <pre>null</pre>.
+     *
+     * @param comparator the order to sort into, or <pre>null</pre> for the natural order
+     */
+    @Override
+    public void sort(Comparator<? super Fraction> comparator) {
+        if (comparator == null || comparator == Comparator.naturalOrder()) {
+            sort();
+        } else {
+            super.sort(comparator);
+        }
+    }
+
+    /**
+     * Sorts the elements from <pre>low</pre> to <pre>high</pre> (both inclusive): a quicksort, partitioning
+     * around the median of three elements, that leaves short sub-ranges to an insertion sort.
+     */
+    private void quickSort(int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(middle, low) < 0) {
+                swap(middle, low);
+            }
+            if (compareAt(high, low) < 0) {
+                swap(high, low);
+            }
+            if (compareAt(high, middle) < 0) {
+                swap(high, middle);
+            }
+            // the median is now at middle; keep a copy of it, as the partitioning moves elements
+            int pivotNumerator = this.numerators[middle];
+            int pivotDenominator = this.denominators[middle];
+            int i = low, j = high;
+            while (i <= j) {
+                while (compareToPivot(i, pivotNumerator, pivotDenominator) < 0) {
+                    i++;
+                }
+                while (compareToPivot(j, pivotNumerator, pivotDenominator) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // recurse into the smaller part, and loop on the larger, to bound the stack depth
+            if (j - low < high - i) {
+                quickSort(low, j);
+                low = i;
+            } else {
+                quickSort(i, high);
+                high = j;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private int compareToPivot(int i, int pivotNumerator, int pivotDenominator) {
+        return IntArithmetic.compare(this.numerators[i], this.denominators[i], pivotNumerator, pivotDenominator);
+    }
+
+    private void insertionSort(int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int numerator = this.numerators[i];
+            int denominator = this.denominators[i];
+            int j = i - 1;
+            while (j >= low && compareToPivot(j, numerator, denominator) > 0) {
+                this.numerators[j + 1] = this.numerators[j];
+                this.denominators[j + 1] = this.denominators[j];
+                j--;
+            }
+            this.numerators[j + 1] = numerator;
+            this.denominators[j + 1] = denominator;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int numerator = this.numerators[i];
+        this.numerators[i] = this.numerators[j];
+        this.numerators[j] = numerator;
+        int denominator = this.denominators[i];
+        this.denominators[i] = this.denominators[j];
+        this.denominators[j] = denominator;
+    }
+}
@@ -0,0 +1,243 @@
+package fraction;
+
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionArrayTest {
+    /*
+    Tests in this file check that FractionArray and FractionList store fractions normalised, behave as a
+    List<Fraction> (fixed-size and growable respectively), and that their primitive comparison and sort agree
+    with Fraction.compareTo, checked against a List<Fraction> sorted by Collections.sort.
+    */
+
+    public static class FractionArrayStorageTest {
+
+        @Test
+        public void newArrayIsZerosTest() {
+            FractionArray array = new FractionArray(3);
+            Assert.assertEquals(3, array.size());
+            Assert.assertEquals(Collections.nCopies(3, Fraction.of(0)), array);
+        }
+
+        @Test
+        public void setNormalisesTest() {
+            FractionArray array = new FractionArray(1);
+            array.set(0, 6, -4);
+            Assert.assertEquals(-3, array.numerator(0));
+            Assert.assertEquals(2, array.denominator(0));
+            Assert.assertEquals(Fraction.of(-3, 2), array.get(0));
+        }
+
+        @Test
+        public void setReturnsPreviousTest() {
+            FractionArray array = FractionArray.of(Fraction.of(1, 3));
+            Assert.assertEquals(Fraction.of(1, 3), array.set(0, Fraction.of(2, 5)));
+            Assert.assertEquals(Fraction.of(2, 5), array.get(0));
+        }
+
+        @Test
+        public void acceptsOtherImplementationsTest() {
+            FractionArray array = FractionArray.of(new LongFraction(10, 4), new BigFraction(-7, 21));
+            Assert.assertEquals(Arrays.asList(Fraction.of(5, 2), Fraction.of(-1, 3)), array);
+        }
+
+        @Test
+        public void getIsCanonicalTest() {
+            Assert.assertSame(Fraction.of(1, 2), FractionArray.of(Fraction.of(1, 2)).get(0));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void zeroDenominatorException() {
+            new FractionArray(1).set(0, 1, 0);
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void notRepresentableException() {
+            new FractionArray(1).set(0, new LongFraction(Long.MAX_VALUE, 3));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void notRepresentableOnNormalisingException() {
+            new FractionArray(1).set(0, Integer.MIN_VALUE, -1);
+        }
+
+        @Test
+        public void failedSetLeavesElementUnchangedTest() {
+            FractionArray array = FractionArray.of(Fraction.of(2, 3));
+            try {
+                array.set(0, new LongFraction(7, 3_000_000_000L));
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            try {
+                // normalises to -1/2^31, whose denominator doesn't fit
+                array.set(0, 1, Integer.MIN_VALUE);
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            Assert.assertEquals(2, array.numerator(0));
+            Assert.assertEquals(3, array.denominator(0));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void indexOutOfBoundsException() {
+            new FractionArray(2).numerator(2);
+        }
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void fixedSizeException() {
+            new FractionArray(2).add(Fraction.of(1));
+        }
+    }
+
+    public static class FractionListStorageTest {
+
+        @Test
+        public void growsAsElementsAreAddedTest() {
+            FractionList list = new FractionList(1);
+            List<Fraction> expected = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                list.append(i, 6);
+                expected.add(Fraction.of(i, 6));
+            }
+            Assert.assertEquals(expected, list);
+        }
+
+        @Test
+        public void insertsAndRemovesTest() {
+            FractionList list = new FractionList();
+            list.addAll(Arrays.asList(Fraction.of(1), Fraction.of(3)));
+            list.add(1, Fraction.of(2));
+            Assert.assertEquals(Arrays.asList(Fraction.of(1), Fraction.of(2), Fraction.of(3)), list);
+            Assert.assertEquals(Fraction.of(1), list.remove(0));
+            Assert.assertEquals(Arrays.asList(Fraction.of(2), Fraction.of(3)), list);
+            list.clear();
+            Assert.assertTrue(list.isEmpty());
+        }
+
+        @Test
+        public void failedAddLeavesListUnchangedTest() {
+            FractionList list = new FractionList();
+            list.append(1, 2);
+            try {
+                list.add(0, new LongFraction(1, Long.MAX_VALUE));
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            try {
+                list.append(Integer.MIN_VALUE, -1);
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            Assert.assertEquals(Collections.singletonList(Fraction.of(1, 2)), list);
+        }
+
+        @Test
+        public void trimsToSizeTest() {
+            FractionList list = new FractionList(64);
+            list.append(1, 2);
+            list.trimToSize();
+            list.append(1, 3);
+            Assert.assertEquals(Arrays.asList(Fraction.of(1, 2), Fraction.of(1, 3)), list);
+        }
+
+        @Test(expected = ConcurrentModificationException.class)
+        public void iteratorIsFailFastException() {
+            FractionList list = new FractionList();
+            list.append(1, 2);
+            for (Fraction f : list) {
+                list.add(f);
+            }
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void appendNotRepresentableException() {
+            new FractionList().append(Integer.MIN_VALUE, -1);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class SortTest {
+
+        @Parameters(name = "{index}: {0} elements, |values| < {1}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {0, 10},
+                    {1, 10},
+                    {20, 10},
+                    {1000, 3},
+                    {1000, 1000},
+                    {10000, Integer.MAX_VALUE},
+            });
+        }
+
+        private final FractionList list = new FractionList();
+        private final List<Fraction> reference = new ArrayList<>();
+
+        public SortTest(int size, int bound) {
+            SplittableRandom random = new SplittableRandom(size * 31L + bound);
+            for (int i = 0; i < size; i++) {
+                int numerator = random.nextInt(-bound + 1, bound);
+                int denominator = random.nextInt(1, bound);
+                list.append(numerator, denominator);
+                reference.add(Fraction.of(numerator, denominator));
+            }
+        }
+
+        @Test
+        public void sortMatchesCollectionsSortTest() {
+            Collections.sort(reference);
+            list.sort();
+            Assert.assertEquals(reference, list);
+        }
+
+        @Test
+        public void sortWithNullComparatorIsNaturalOrderTest() {
+            Collections.sort(reference);
+            list.sort(null);
+            Assert.assertEquals(reference, list);
+        }
+
+        @Test
+        public void sortWithComparatorTest() {
+            reference.sort(Comparator.reverseOrder());
+            list.sort(Comparator.reverseOrder());
+            Assert.assertEquals(reference, list);
+        }
+
+        @Test
+        public void sortsSubRangeTest() {
+            int from = list.size() / 4, to = list.size() / 2;
+            Collections.sort(reference.subList(from, to));
+            list.sort(from, to);
+            Assert.assertEquals(reference, list);
+        }
+
+        @Test
+        public void compareMatchesCompareToTest() {
+            for (int i = 1; i < list.size(); i++) {
+                Assert.assertEquals(Integer.signum(reference.get(i - 1).compareTo(reference.get(i))),
+                        Integer.signum(list.compare(i - 1, i)));
+            }
+        }
+    }
+
+    public static class ExtremeSortTest {
+
+        @Test
+        public void sortsExtremesTest() {
+            FractionArray array = FractionArray.of(Fraction.of(Integer.MAX_VALUE), Fraction.of(Integer.MIN_VALUE),
+                    Fraction.of(1, Integer.MAX_VALUE), Fraction.of(-1, Integer.MAX_VALUE), Fraction.of(0),
+                    Fraction.of(Integer.MAX_VALUE, Integer.MAX_VALUE - 1));
+            List<Fraction> reference = new ArrayList<>(array);
+            Collections.sort(reference);
+            array.sort();
+            Assert.assertEquals(reference, array);
+        }
+    }
+}
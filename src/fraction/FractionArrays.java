@@ -0,0 +1,248 @@
+package fraction;
+
+import java.util.BitSet;
+
+/**
+ * Element-wise arithmetic on {@link FractionArray} columns, writing each result to the element at the same index
+ * of a destination array (which may be one of the operands). No <pre>Fraction</pre> is created.
+ *
+ * Each operation works through its arrays a block at a time, in two passes: the first cross-multiplies the
+ * operands into <pre>long</pre> numerators and denominators with straight-line loops that the JIT compiler can
+ * unroll and vectorise, and the second normalises each result and narrows it back to <pre>int</pre> values. As
+ * the components of both operands fit in <pre>int</pre> values, no intermediate value can overflow a
+ * <pre>long</pre>.
+ *
+ * Where an element's result is not representable in integers, or is a division by zero, its destination element
+ * is left unchanged and its index is reported in the <pre>BitSet</pre> returned, rather than an exception thrown:
+ * the other elements are still computed.
+ */
+public final class FractionArrays {
+
+    // long[] blocks of this size stay within the level 1 data cache
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final int ADD = 0, SUBTRACT = 1, MULTIPLY = 2, DIVIDE = 3;
+
+    private FractionArrays() {
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the sum of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the arrays are not all the same size.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet add(FractionArray left, FractionArray right, FractionArray destination) {
+        return apply(ADD, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the difference of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the arrays are not all the same size.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet subtract(FractionArray left, FractionArray right, FractionArray destination) {
+        return apply(SUBTRACT, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the product of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the arrays are not all the same size.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet multiply(FractionArray left, FractionArray right, FractionArray destination) {
+        return apply(MULTIPLY, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the quotient of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the arrays are not all the same size.
+     *
+     * @param left the dividends
+     * @param right the divisors
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers, or whose divisor is
+     * zero
+     */
+    public static BitSet divide(FractionArray left, FractionArray right, FractionArray destination) {
+        return apply(DIVIDE, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the element of <pre>source</pre> at the same index,
+     * multiplied by <pre>factor</pre>.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the arrays are not the same size, and an
+     * <pre>ArithmeticException</pre> if <pre>factor</pre> is not representable in integers.
+     *
+     * @param source the fractions to scale
+     * @param factor the factor to scale them by
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet scale(FractionArray source, Fraction factor, FractionArray destination) {
+        checkSizes(source, source, destination);
+        long c = FractionImpl.checkedInt(factor.numerator());
+        long d = FractionImpl.checkedInt(factor.denominator());
+        int[] a = source.numerators, b = source.denominators;
+        BitSet unrepresentable = new BitSet();
+        long[] numerators = new long[Math.min(BLOCK_SIZE, source.size)];
+        long[] denominators = new long[numerators.length];
+        for (int from = 0; from < source.size; from += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, source.size - from);
+            for (int i = 0; i < length; i++) {
+                numerators[i] = a[from + i] * c;
+                denominators[i] = b[from + i] * d;
+            }
+            for (int i = 0; i < length; i++) {
+                int j = from + i;
+                long divisor = FractionImpl.gcd(a[j], d) * FractionImpl.gcd(c, b[j]);
+                narrow(numerators[i], denominators[i], divisor, j, destination, unrepresentable);
+            }
+        }
+        return unrepresentable;
+    }
+
+    private static BitSet apply(int operation, FractionArray left, FractionArray right, FractionArray destination) {
+        checkSizes(left, right, destination);
+        BitSet unrepresentable = new BitSet();
+        long[] numerators = new long[Math.min(BLOCK_SIZE, left.size)];
+        long[] denominators = new long[numerators.length];
+        for (int from = 0; from < left.size; from += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, left.size - from);
+            crossMultiply(operation, left, right, from, length, numerators, denominators);
+            normalise(operation, left, right, from, length, numerators, denominators, destination,
+                    unrepresentable);
+        }
+        return unrepresentable;
+    }
+
+    private static void checkSizes(FractionArray left, FractionArray right, FractionArray destination) {
+        if (left.size != right.size || left.size != destination.size) {
+            throw new IllegalArgumentException("Array sizes differ: " + left.size + ", " + right.size + " and "
+                    + destination.size);
+        }
+    }
+
+    /**
+     * The first pass: computes the unnormalised results of <pre>length</pre> elements, starting at index
+     * <pre>from</pre>, into the start of <pre>numerators</pre> and <pre>denominators</pre>. Each loop is free of
+     * branches and of dependencies between iterations.
+     */
+    private static void crossMultiply(int operation, FractionArray left, FractionArray right, int from, int length,
+            long[] numerators, long[] denominators) {
+        int[] a = left.numerators, b = left.denominators, c = right.numerators, d = right.denominators;
+        switch (operation) {
+            case ADD:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    numerators[i] = (long) a[j] * d[j] + (long) c[j] * b[j];
+                    denominators[i] = (long) b[j] * d[j];
+                }
+                break;
+            case SUBTRACT:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    numerators[i] = (long) a[j] * d[j] - (long) c[j] * b[j];
+                    denominators[i] = (long) b[j] * d[j];
+                }
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    numerators[i] = (long) a[j] * c[j];
+                    denominators[i] = (long) b[j] * d[j];
+                }
+                break;
+            default:
+                // the denominator takes the divisor's sign, and is zero for a division by zero
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    numerators[i] = (long) a[j] * d[j];
+                    denominators[i] = (long) b[j] * c[j];
+                }
+                break;
+        }
+    }
+
+    /**
+     * The second pass: normalises the <pre>length</pre> results at the start of <pre>numerators</pre> and
+     * <pre>denominators</pre> into <pre>destination</pre>, starting at index <pre>from</pre>, and records the
+     * indices of those that are not representable.
+     *
+     * Rather than finding the greatest common divisor of the (wide) products, each divisor is found from the
+     * operands, as by <pre>FractionImpl</pre>: as they are normalised, only factors shared across them can be
+     * common to the products.
+     */
+    private static void normalise(int operation, FractionArray left, FractionArray right, int from, int length,
+            long[] numerators, long[] denominators, FractionArray destination, BitSet unrepresentable) {
+        int[] a = left.numerators, b = left.denominators, c = right.numerators, d = right.denominators;
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    // with g = gcd(b, d), the divisor of (ad + cb)/bd is g * gcd((ad + cb)/g, g)
+                    long g = FractionImpl.gcd(b[j], d[j]);
+                    long divisor = g == 1 ? 1 : g * FractionImpl.gcd(numerators[i] / g, g);
+                    narrow(numerators[i], denominators[i], divisor, j, destination, unrepresentable);
+                }
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    long divisor = FractionImpl.gcd(a[j], d[j]) * FractionImpl.gcd(c[j], b[j]);
+                    narrow(numerators[i], denominators[i], divisor, j, destination, unrepresentable);
+                }
+                break;
+            default:
+                for (int i = 0; i < length; i++) {
+                    int j = from + i;
+                    if (c[j] == 0) {
+                        unrepresentable.set(j);
+                        continue;
+                    }
+                    long divisor = FractionImpl.gcd(a[j], c[j]) * FractionImpl.gcd(d[j], b[j]);
+                    narrow(numerators[i], denominators[i], c[j] < 0 ? -divisor : divisor, j, destination,
+                            unrepresentable);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Stores <pre>numerator/denominator</pre>, divided by <pre>divisor</pre>, as the element of
+     * <pre>destination</pre> at <pre>index</pre>, or records the index if the result is not representable.
+     */
+    private static void narrow(long numerator, long denominator, long divisor, int index, FractionArray destination,
+            BitSet unrepresentable) {
+        // no product reaches Long.MIN_VALUE, so dividing by a negated divisor cannot overflow
+        numerator /= divisor;
+        denominator = numerator == 0 ? 1 : denominator / divisor;
+        if ((int) numerator != numerator || (int) denominator != denominator) {
+            unrepresentable.set(index);
+            return;
+        }
+        destination.numerators[index] = (int) numerator;
+        destination.denominators[index] = (int) denominator;
+    }
+}
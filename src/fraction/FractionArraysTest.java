@@ -0,0 +1,165 @@
+package fraction;
+
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionArraysTest {
+    /*
+    Tests in this file check FractionArrays' element-wise arithmetic against the same operation done by
+    FractionImpl one element at a time: an element whose FractionImpl operation throws an ArithmeticException
+    should be reported as unrepresentable, and left unchanged in the destination. Arrays span several blocks,
+    and operands range from small values to the limits of int.
+    */
+
+    private interface Operation {
+        Fraction apply(Fraction f1, Fraction f2);
+    }
+
+    private interface BulkOperation {
+        BitSet apply(FractionArray left, FractionArray right, FractionArray destination);
+    }
+
+    private static FractionArray random(SplittableRandom random, int size, int bound) {
+        FractionArray array = new FractionArray(size);
+        for (int i = 0; i < size; i++) {
+            // include zeros, so that division by zero is exercised
+            array.set(i, random.nextInt(-bound, bound), random.nextInt(1, bound));
+        }
+        return array;
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ElementWiseTest {
+
+        @Parameters(name = "{index}: {0}, |values| < {1}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (String operation : new String[]{"add", "subtract", "multiply", "divide"}) {
+                for (int bound : new int[]{10, 100_000, Integer.MAX_VALUE}) {
+                    data.add(new Object[]{operation, bound});
+                }
+            }
+            return data;
+        }
+
+        private final Operation operation;
+        private final BulkOperation bulkOperation;
+        private final FractionArray left, right;
+
+        public ElementWiseTest(String name, int bound) {
+            switch (name) {
+                case "add":
+                    operation = Fraction::add;
+                    bulkOperation = FractionArrays::add;
+                    break;
+                case "subtract":
+                    operation = Fraction::subtract;
+                    bulkOperation = FractionArrays::subtract;
+                    break;
+                case "multiply":
+                    operation = Fraction::multiply;
+                    bulkOperation = FractionArrays::multiply;
+                    break;
+                default:
+                    operation = Fraction::divide;
+                    bulkOperation = FractionArrays::divide;
+                    break;
+            }
+            SplittableRandom random = new SplittableRandom(name.hashCode() * 31L + bound);
+            left = random(random, 2500, bound);
+            right = random(random, 2500, bound);
+        }
+
+        @Test
+        public void matchesFractionImplTest() {
+            FractionArray destination = new FractionArray(left.size());
+            destination.set(0, Fraction.of(1, 7));
+            List<Fraction> before = new ArrayList<>(destination);
+            BitSet unrepresentable = bulkOperation.apply(left, right, destination);
+            for (int i = 0; i < left.size(); i++) {
+                Fraction expected;
+                try {
+                    expected = operation.apply(left.get(i), right.get(i));
+                } catch (ArithmeticException e) {
+                    Assert.assertTrue("index " + i, unrepresentable.get(i));
+                    Assert.assertEquals(before.get(i), destination.get(i));
+                    continue;
+                }
+                Assert.assertFalse("index " + i, unrepresentable.get(i));
+                Assert.assertEquals(expected, destination.get(i));
+            }
+        }
+
+        @Test
+        public void destinationMayBeAnOperandTest() {
+            FractionArray expected = new FractionArray(left.size());
+            BitSet unrepresentable = bulkOperation.apply(left, right, expected);
+            FractionArray destination = new FractionArray(left.size());
+            for (int i = 0; i < left.size(); i++) {
+                destination.set(i, left.get(i));
+            }
+            Assert.assertEquals(unrepresentable, bulkOperation.apply(destination, right, destination));
+            for (int i = 0; i < left.size(); i++) {
+                Assert.assertEquals(unrepresentable.get(i) ? left.get(i) : expected.get(i), destination.get(i));
+            }
+        }
+    }
+
+    public static class ScaleTest {
+
+        @Test
+        public void matchesMultiplyTest() {
+            SplittableRandom random = new SplittableRandom(17);
+            FractionArray source = random(random, 3000, Integer.MAX_VALUE);
+            Fraction factor = Fraction.of(-46_341, 3);
+            FractionArray destination = new FractionArray(source.size());
+            BitSet unrepresentable = FractionArrays.scale(source, factor, destination);
+            Assert.assertFalse(unrepresentable.isEmpty());
+            for (int i = 0; i < source.size(); i++) {
+                try {
+                    Assert.assertEquals(source.get(i).multiply(factor), destination.get(i));
+                    Assert.assertFalse(unrepresentable.get(i));
+                } catch (ArithmeticException e) {
+                    Assert.assertTrue(unrepresentable.get(i));
+                }
+            }
+        }
+
+        @Test
+        public void scaleByZeroTest() {
+            FractionArray source = FractionArray.of(Fraction.of(3, 4), Fraction.of(-5));
+            FractionArray destination = new FractionArray(2);
+            Assert.assertTrue(FractionArrays.scale(source, Fraction.of(0), destination).isEmpty());
+            Assert.assertEquals(Arrays.asList(Fraction.of(0), Fraction.of(0)), destination);
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void factorNotRepresentableException() {
+            FractionArrays.scale(new FractionArray(1), new LongFraction(1L << 40), new FractionArray(1));
+        }
+    }
+
+    public static class SizeTest {
+
+        @Test
+        public void emptyArraysHaveNoFailuresTest() {
+            Assert.assertTrue(
+                    FractionArrays.add(new FractionArray(0), new FractionArray(0), new FractionArray(0)).isEmpty());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void sizesDifferException() {
+            FractionArrays.multiply(new FractionArray(2), new FractionArray(3), new FractionArray(2));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void destinationSizeDiffersException() {
+            FractionArrays.divide(new FractionArray(2), new FractionArray(2), new FractionList());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package fraction;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A precomputed table of canonical <pre>FractionImpl</pre> instances for every normalised fraction whose
+ * <em>numerator</em> and <em>denominator</em> are both within a small bound, so that the values that dominate
+ * most data (0, 1, -1, 1/2, 3/8, ...) are never allocated more than once.
+ *
+ * The table is consulted by {@link Fraction#of(int, int)}, {@link Fraction#valueOf(String)} and the arithmetic
+ * of <pre>FractionImpl</pre>; the <pre>FractionImpl</pre> constructors always create a new instance.
+ *
+ * The cache is configured by two system properties, read when the class is initialised:
+ * <ul>
+ *     <li><pre>fraction.cache.bound</pre>: the largest absolute <em>numerator</em> and <em>denominator</em>
+ *     cached (default {@value #DEFAULT_BOUND}, at most {@value #MAX_BOUND}; <pre>0</pre> disables the cache).</li>
+ *     <li><pre>fraction.cache.statistics</pre>: whether hits and misses are counted (default
+ *     <pre>false</pre>, as counting has a small cost on every lookup).</li>
+ * </ul>
+ */
+public final class FractionCache {
+
+    static final int DEFAULT_BOUND = 64;
+    static final int MAX_BOUND = 1024;
+
+    private static final int BOUND =
+            Math.max(0, Math.min(MAX_BOUND, Integer.getInteger("fraction.cache.bound", DEFAULT_BOUND)));
+    private static final boolean STATISTICS = Boolean.getBoolean("fraction.cache.statistics");
+
+    // row (denominator - 1), column (numerator + BOUND); null where the pair isn't in its lowest terms
+    private static final int ROW_LENGTH = 2 * BOUND + 1;
+    private static final FractionImpl[] TABLE = new FractionImpl[ROW_LENGTH * BOUND];
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    static {
+        for (int denominator = 1; denominator <= BOUND; denominator++) {
+            for (int numerator = -BOUND; numerator <= BOUND; numerator++) {
+                if (FractionImpl.gcd(numerator, denominator) == 1) {
+                    TABLE[(denominator - 1) * ROW_LENGTH + numerator + BOUND] =
+                            new FractionImpl(numerator, denominator);
+                }
+            }
+        }
+    }
+
+    private FractionCache() {
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and (positive) <em>denominator</em> of a normalised fraction.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the canonical instance of the fraction, or <pre>null</pre> if it is outside of the cached bound
+     */
+    static FractionImpl get(long numerator, long denominator) {
+        if (numerator >= -BOUND && numerator <= BOUND && denominator > 0 && denominator <= BOUND) {
+            if (STATISTICS) {
+                HITS.increment();
+            }
+            return TABLE[(int) (denominator - 1) * ROW_LENGTH + (int) numerator + BOUND];
+        }
+        if (STATISTICS) {
+            MISSES.increment();
+        }
+        return null;
+    }
+
+    /**
+     * @return the largest absolute numerator and denominator that are cached
+     */
+    public static int bound() {
+        return BOUND;
+    }
+
+    /**
+     * @return whether hits and misses are being counted
+     */
+    public static boolean isRecordingStatistics() {
+        return STATISTICS;
+    }
+
+    /**
+     * @return the number of lookups answered by a canonical instance (always <pre>0</pre> unless statistics are
+     * being recorded)
+     */
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return the number of lookups for values outside of the cached bound (always <pre>0</pre> unless statistics
+     * are being recorded)
+     */
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return the proportion of lookups answered by a canonical instance, or <pre>NaN</pre> if there have been none
+     */
+    public static double hitRate() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    /**
+     * Resets the hit and miss counts to zero.
+     */
+    public static void resetStatistics() {
+        HITS.reset();
+        MISSES.reset();
+    }
+}
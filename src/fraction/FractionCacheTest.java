@@ -0,0 +1,148 @@
+package fraction;
+
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionCacheTest {
+    /*
+    Tests in this file check that small fractions are shared, canonical instances however they're produced
+    (by the static factories or by arithmetic), that larger ones are not, and that the constructors always
+    allocate. The surefire configuration enables statistics so that the hit and miss counts can be checked.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class CanonicalTest {
+
+        @Parameters(name = "{index}: {0}/{1} is {2}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {0, 1, "0"},
+                    {0, -7, "0"},
+                    {1, 1, "1"},
+                    {-1, 1, "-1"},
+                    {2, 4, "1/2"},
+                    {-3, -6, "1/2"},
+                    {3, -8, "-3/8"},
+                    {64, 63, "64/63"},
+                    {-128, 128, "-1"},
+                    {1000, 2000, "1/2"},
+            });
+        }
+
+        private final Fraction expected;
+        private final int numerator, denominator;
+
+        public CanonicalTest(int numerator, int denominator, String normalised) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.expected = Fraction.valueOf(normalised);
+        }
+
+        @Test
+        public void ofIsCanonicalTest() {
+            Assert.assertSame(expected, Fraction.of(numerator, denominator));
+        }
+
+        @Test
+        public void valueOfIsCanonicalTest() {
+            Assert.assertSame(expected, Fraction.valueOf(numerator + "/" + denominator));
+        }
+
+        @Test
+        public void constructorAllocatesTest() {
+            Fraction constructed = new FractionImpl(numerator, denominator);
+            Assert.assertNotSame(expected, constructed);
+            Assert.assertEquals(expected, constructed);
+        }
+    }
+
+    public static class ArithmeticTest {
+
+        @Test
+        public void sumIsCanonicalTest() {
+            Assert.assertSame(Fraction.of(1, 2), Fraction.of(1, 4).add(Fraction.of(1, 4)));
+        }
+
+        @Test
+        public void differenceIsCanonicalTest() {
+            Assert.assertSame(Fraction.of(0), new FractionImpl(5, 7).subtract(new FractionImpl(10, 14)));
+        }
+
+        @Test
+        public void productIsCanonicalTest() {
+            Assert.assertSame(Fraction.of(1), new FractionImpl(1000, 3).multiply(new FractionImpl(3, 1000)));
+        }
+
+        @Test
+        public void quotientIsCanonicalTest() {
+            Assert.assertSame(Fraction.of(-2, 3), new FractionImpl(2, 9).divide(new FractionImpl(-1, 3)));
+        }
+
+        @Test
+        public void unaryOperationsAreCanonicalTest() {
+            Fraction f = new FractionImpl(-3, 5);
+            Assert.assertSame(Fraction.of(3, 5), f.abs());
+            Assert.assertSame(Fraction.of(3, 5), f.negate());
+            Assert.assertSame(Fraction.of(-5, 3), f.inverse());
+        }
+
+        @Test
+        public void largeResultsAreEqualButNotSharedTest() {
+            Fraction a = Fraction.of(1, 1000).add(Fraction.of(1, 1000));
+            Fraction b = Fraction.of(1, 1000).add(Fraction.of(1, 1000));
+            Assert.assertNotSame(a, b);
+            Assert.assertEquals(Fraction.of(1, 500), a);
+        }
+
+        @Test
+        public void zeroDenominatorIsRejectedTest() {
+            try {
+                Fraction.of(1, 0);
+                Assert.fail("Expected an ArithmeticException");
+            } catch (ArithmeticException e) {
+                Assert.assertEquals("Denominator cannot be zero", e.getMessage());
+            }
+        }
+
+        @Test
+        public void nonPositiveDenominatorIsNotCachedTest() {
+            Assert.assertNull(FractionCache.get(1, 0));
+            Assert.assertNull(FractionCache.get(1, -2));
+            Assert.assertNull(FractionCache.get(0, Long.MIN_VALUE));
+        }
+    }
+
+    public static class StatisticsTest {
+
+        @Before
+        public void reset() {
+            FractionCache.resetStatistics();
+        }
+
+        @Test
+        public void countsHitsAndMissesTest() {
+            Assume.assumeTrue(FractionCache.isRecordingStatistics());
+            Fraction.of(1, 2);
+            Fraction.of(-3, 8);
+            Fraction.of(FractionCache.bound() + 1, 1);
+            Assert.assertEquals(2, FractionCache.hits());
+            Assert.assertEquals(1, FractionCache.misses());
+            Assert.assertEquals(2.0 / 3, FractionCache.hitRate(), 0);
+        }
+
+        @Test
+        public void hitRateIsUndefinedWithoutLookupsTest() {
+            Assert.assertTrue(Double.isNaN(FractionCache.hitRate()));
+        }
+
+        @Test
+        public void boundIsWithinLimitsTest() {
+            Assert.assertTrue(FractionCache.bound() >= 0 && FractionCache.bound() <= FractionCache.MAX_BOUND);
+        }
+    }
+}
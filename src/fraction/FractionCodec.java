@@ -0,0 +1,264 @@
+package fraction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary encoding of fractions representable in integers, in place of their text, with readers and
+ * writers for <pre>DataInput</pre>/<pre>DataOutput</pre> streams and for <pre>ByteBuffer</pre>s, and bulk
+ * encoding and decoding of {@link FractionArray}s.
+ *
+ * A fraction is encoded as one or two unsigned variable-length integers (varints: seven bits per byte, least
+ * significant first, with the top bit set on every byte but the last):
+ * <ul>
+ *     <li>the zig-zag encoded <em>numerator</em> (<pre>0, -1, 1, -2, ...</pre> as <pre>0, 1, 2, 3, ...</pre>),
+ *     shifted left one bit, with the low bit set where the fraction is a whole number, followed,
+ *     unless it is, by</li>
+ *     <li>the <em>denominator</em>.</li>
+ * </ul>
+ * A small whole number therefore takes a single byte, and no fraction takes more than
+ * {@link #MAX_ENCODED_LENGTH} bytes.
+ *
+ * Fractions are written normalised, and normalised again as they are read, so that an encoding from any source
+ * decodes to a valid fraction. An encoding that is not well formed (a varint too long, a value out of
+ * <pre>int</pre> range, or a zero denominator) is rejected with an <pre>IOException</pre> by the stream reader, and
+ * an <pre>IllegalArgumentException</pre> by the buffer readers; a truncated one with the usual
+ * <pre>EOFException</pre> or <pre>BufferUnderflowException</pre>.
+ */
+public final class FractionCodec {
+
+    /**
+     * The most bytes that a fraction is encoded in.
+     */
+    public static final int MAX_ENCODED_LENGTH = 10;
+
+    // a numerator's header varint holds at most 33 bits, and a denominator's 31, both in at most 5 bytes
+    private static final int MAX_VARINT_LENGTH = 5;
+
+    private FractionCodec() {
+    }
+
+    /**
+     * Returns the number of bytes that <pre>f</pre> is encoded in.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction
+     * @return its encoded length
+     */
+    public static int encodedLength(Fraction f) {
+        return encodedLength(PackedFractions.valueOf(f));
+    }
+
+    private static int encodedLength(long packed) {
+        int denominator = PackedFractions.denominator(packed);
+        int length = varintLength(header(PackedFractions.numerator(packed), denominator));
+        return denominator == 1 ? length : length + varintLength(denominator);
+    }
+
+    private static int varintLength(long value) {
+        // one byte for each started group of seven significant bits
+        return (Long.SIZE - Long.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    private static long header(int numerator, int denominator) {
+        long zigZag = ((numerator << 1) ^ (numerator >> 31)) & 0xFFFFFFFFL;
+        return zigZag << 1 | (denominator == 1 ? 1 : 0);
+    }
+
+    /**
+     * Writes <pre>f</pre> to <pre>out</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written to
+     */
+    public static void write(Fraction f, DataOutput out) throws IOException {
+        long packed = PackedFractions.valueOf(f);
+        int denominator = PackedFractions.denominator(packed);
+        writeVarint(header(PackedFractions.numerator(packed), denominator), out);
+        if (denominator != 1) {
+            writeVarint(denominator, out);
+        }
+    }
+
+    private static void writeVarint(long value, DataOutput out) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a fraction from <pre>in</pre>.
+     *
+     * @param in the stream to read from
+     * @return the fraction, normalised
+     * @throws IOException if the stream cannot be read from, ends before the fraction does, or does not hold a
+     * well formed encoding
+     */
+    public static Fraction read(DataInput in) throws IOException {
+        long header = readVarint(in);
+        long zigZag = header >>> 1;
+        if (zigZag > 0xFFFFFFFFL) {
+            throw malformed();
+        }
+        int numerator = (int) (zigZag >>> 1) ^ -(int) (zigZag & 1);
+        if ((header & 1) != 0) {
+            return FractionImpl.canonical(numerator, 1, 1);
+        }
+        long denominator = readVarint(in);
+        if (denominator == 0 || denominator > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+        return FractionImpl.normalise(numerator, denominator);
+    }
+
+    private static long readVarint(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_LENGTH; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed();
+    }
+
+    private static IOException malformed() {
+        return new IOException("Malformed fraction encoding");
+    }
+
+    /**
+     * Writes <pre>f</pre> to <pre>buffer</pre>, at its position.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers, and a
+     * <pre>BufferOverflowException</pre> if the buffer has too little space remaining.
+     *
+     * @param f the fraction
+     * @param buffer the buffer to write to
+     */
+    public static void write(Fraction f, ByteBuffer buffer) {
+        writePacked(PackedFractions.valueOf(f), buffer);
+    }
+
+    /**
+     * Reads a fraction from <pre>buffer</pre>, at its position.
+     *
+     * @param buffer the buffer to read from
+     * @return the fraction, normalised
+     */
+    public static Fraction read(ByteBuffer buffer) {
+        return PackedFractions.toFraction(readPacked(buffer));
+    }
+
+    /**
+     * Writes a fraction packed as by {@link PackedFractions} to <pre>buffer</pre>, at its position.
+     *
+     * A <pre>BufferOverflowException</pre> is thrown if the buffer has too little space remaining.
+     *
+     * @param packed the normalised packed fraction
+     * @param buffer the buffer to write to
+     */
+    public static void writePacked(long packed, ByteBuffer buffer) {
+        int denominator = PackedFractions.denominator(packed);
+        writeVarint(header(PackedFractions.numerator(packed), denominator), buffer);
+        if (denominator != 1) {
+            writeVarint(denominator, buffer);
+        }
+    }
+
+    private static void writeVarint(long value, ByteBuffer buffer) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads a fraction from <pre>buffer</pre>, at its position, packed as by {@link PackedFractions}.
+     *
+     * @param buffer the buffer to read from
+     * @return the normalised packed fraction
+     */
+    public static long readPacked(ByteBuffer buffer) {
+        long header = readVarint(buffer);
+        long zigZag = header >>> 1;
+        if (zigZag > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Malformed fraction encoding");
+        }
+        int numerator = (int) (zigZag >>> 1) ^ -(int) (zigZag & 1);
+        if ((header & 1) != 0) {
+            return PackedFractions.of(numerator);
+        }
+        long denominator = readVarint(buffer);
+        if (denominator == 0 || denominator > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed fraction encoding");
+        }
+        return PackedFractions.of(numerator, (int) denominator);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_LENGTH; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed fraction encoding");
+    }
+
+    /**
+     * Returns the elements of <pre>array</pre>, encoded one after another.
+     *
+     * @param array the fractions
+     * @return their encoding
+     */
+    public static byte[] encode(FractionArray array) {
+        int length = 0;
+        for (int i = 0; i < array.size; i++) {
+            length += encodedLength(PackedFractions.pack(array.numerators[i], array.denominators[i]));
+        }
+        byte[] bytes = new byte[length];
+        encode(array, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Writes the elements of <pre>array</pre>, encoded one after another, to <pre>buffer</pre> at its position.
+     *
+     * A <pre>BufferOverflowException</pre> is thrown if the buffer has too little space remaining, after writing
+     * as many elements as fit.
+     *
+     * @param array the fractions
+     * @param buffer the buffer to write to
+     */
+    public static void encode(FractionArray array, ByteBuffer buffer) {
+        for (int i = 0; i < array.size; i++) {
+            writePacked(PackedFractions.pack(array.numerators[i], array.denominators[i]), buffer);
+        }
+    }
+
+    /**
+     * Reads fractions from <pre>buffer</pre>, at its position, into every element of <pre>array</pre> in turn.
+     *
+     * @param buffer the buffer to read from
+     * @param array the array to fill
+     */
+    public static void decode(ByteBuffer buffer, FractionArray array) {
+        for (int i = 0; i < array.size; i++) {
+            long packed = readPacked(buffer);
+            array.numerators[i] = PackedFractions.numerator(packed);
+            array.denominators[i] = PackedFractions.denominator(packed);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package fraction;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionCodecTest {
+    /*
+    Tests in this file check that FractionCodec's encoding round-trips fractions through streams, buffers and
+    bulk arrays, that it takes the documented number of bytes (checked by hand for the boundary values below),
+    and that malformed or truncated encodings are rejected rather than decoded to invalid fractions.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class RoundTripTest {
+
+        @Parameters(name = "{index}: {0}/{1} in {2} bytes")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {0, 1, 1},
+                    {1, 1, 1},
+                    {-1, 1, 1},
+                    {31, 1, 1},
+                    {-32, 1, 1},
+                    {32, 1, 2},
+                    {1, 2, 2},
+                    {-1, 2, 2},
+                    {31, 127, 2},
+                    {32, 127, 3},
+                    {1, 128, 3},
+                    {Integer.MAX_VALUE, 1, 5},
+                    {Integer.MIN_VALUE, 1, 5},
+                    {Integer.MIN_VALUE, Integer.MAX_VALUE, 10},
+                    {-1, Integer.MAX_VALUE, 6},
+            });
+        }
+
+        private final Fraction fraction;
+        private final int length;
+
+        public RoundTripTest(int numerator, int denominator, int length) {
+            this.fraction = Fraction.of(numerator, denominator);
+            this.length = length;
+        }
+
+        @Test
+        public void encodedLengthTest() {
+            Assert.assertEquals(length, FractionCodec.encodedLength(fraction));
+        }
+
+        @Test
+        public void bufferRoundTripTest() {
+            ByteBuffer buffer = ByteBuffer.allocate(FractionCodec.MAX_ENCODED_LENGTH);
+            FractionCodec.write(fraction, buffer);
+            Assert.assertEquals(length, buffer.position());
+            buffer.flip();
+            Assert.assertEquals(fraction, FractionCodec.read(buffer));
+            Assert.assertFalse(buffer.hasRemaining());
+        }
+
+        @Test
+        public void streamRoundTripTest() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            FractionCodec.write(fraction, new DataOutputStream(bytes));
+            Assert.assertEquals(length, bytes.size());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            Assert.assertEquals(fraction, FractionCodec.read(in));
+            Assert.assertEquals(-1, in.read());
+        }
+
+        @Test
+        public void streamMatchesBufferEncodingTest() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            FractionCodec.write(fraction, new DataOutputStream(bytes));
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            FractionCodec.write(fraction, buffer);
+            Assert.assertArrayEquals(buffer.array(), bytes.toByteArray());
+        }
+
+        @Test
+        public void packedRoundTripTest() {
+            ByteBuffer buffer = ByteBuffer.allocate(FractionCodec.MAX_ENCODED_LENGTH);
+            FractionCodec.writePacked(PackedFractions.valueOf(fraction), buffer);
+            buffer.flip();
+            Assert.assertEquals(PackedFractions.valueOf(fraction), FractionCodec.readPacked(buffer));
+        }
+    }
+
+    public static class BulkTest {
+
+        @Test
+        public void arrayRoundTripTest() {
+            SplittableRandom random = new SplittableRandom(5);
+            FractionArray array = new FractionArray(10_000);
+            for (int i = 0; i < array.size(); i++) {
+                int bound = i % 3 == 0 ? 100 : Integer.MAX_VALUE;
+                array.set(i, random.nextInt(-bound, bound), i % 4 == 0 ? 1 : random.nextInt(1, bound));
+            }
+            byte[] bytes = FractionCodec.encode(array);
+            FractionArray decoded = new FractionArray(array.size());
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            FractionCodec.decode(buffer, decoded);
+            Assert.assertFalse(buffer.hasRemaining());
+            Assert.assertEquals(array, decoded);
+        }
+
+        @Test
+        public void streamOfMixedImplementationsTest() throws IOException {
+            List<Fraction> fractions = Arrays.asList(Fraction.of(3, 4), new LongFraction(-5, 10),
+                    new BigFraction(7), Fraction.of(0));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Fraction f : fractions) {
+                FractionCodec.write(f, out);
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            for (Fraction f : fractions) {
+                Assert.assertEquals(f, FractionCodec.read(in));
+            }
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void notRepresentableException() {
+            FractionCodec.write(new LongFraction(Long.MAX_VALUE), ByteBuffer.allocate(16));
+        }
+    }
+
+    public static class MalformedTest {
+
+        private static Fraction readStream(int... bytes) throws IOException {
+            byte[] array = new byte[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                array[i] = (byte) bytes[i];
+            }
+            return FractionCodec.read(new DataInputStream(new ByteArrayInputStream(array)));
+        }
+
+        private static Fraction readBuffer(int... bytes) {
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+            for (int b : bytes) {
+                buffer.put((byte) b);
+            }
+            buffer.flip();
+            return FractionCodec.read(buffer);
+        }
+
+        @Test
+        public void unnormalisedIsNormalisedTest() throws IOException {
+            // numerator 2 (zig-zag 4, header 8) over denominator 4
+            Assert.assertEquals(Fraction.of(1, 2), readStream(8, 4));
+            Assert.assertEquals(Fraction.of(1, 2), readBuffer(8, 4));
+        }
+
+        @Test(expected = IOException.class)
+        public void zeroDenominatorException() throws IOException {
+            readStream(8, 0);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroDenominatorInBufferException() {
+            readBuffer(8, 0);
+        }
+
+        @Test(expected = IOException.class)
+        public void varintTooLongException() throws IOException {
+            readStream(0x80, 0x80, 0x80, 0x80, 0x80, 0x01);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void numeratorOutOfRangeException() {
+            // a header of 2^34: a zig-zag numerator of 2^33
+            readBuffer(0x80, 0x80, 0x80, 0x80, 0x40);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void denominatorOutOfRangeException() {
+            readBuffer(8, 0x80, 0x80, 0x80, 0x80, 0x08);
+        }
+
+        @Test(expected = EOFException.class)
+        public void truncatedStreamException() throws IOException {
+            readStream(8);
+        }
+
+        @Test(expected = BufferUnderflowException.class)
+        public void truncatedBufferException() {
+            readBuffer(0x80);
+        }
+    }
+}
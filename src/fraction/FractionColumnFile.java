@@ -0,0 +1,266 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A file of fractions in columns, written from a {@link FractionArray} and read back by mapping it into memory,
+ * without parsing or copying: values are read from the mapped file as they are asked for, either as primitives
+ * or as <pre>Fraction</pre> values.
+ *
+ * The file is little-endian, and consists of:
+ * <ul>
+ *     <li>a 16-byte header: the magic number <pre>FRCL</pre> (as ASCII), the format version (<pre>1</pre>), the
+ *     number of fractions, <pre>n</pre>, and flags (bit 0 set where the file has a footer), each a 4-byte
+ *     <pre>int</pre>, followed by</li>
+ *     <li>the numerator block: the <pre>n</pre> normalised numerators, as <pre>int</pre>s, followed by</li>
+ *     <li>the denominator block: the <pre>n</pre> (positive) denominators, as <pre>int</pre>s, followed,
+ *     optionally, by</li>
+ *     <li>a 16-byte footer: the numerator and denominator of the least fraction, then those of the greatest.</li>
+ * </ul>
+ * Each block is mapped on its own, so a file holds at most <pre>Integer.MAX_VALUE / 4</pre> fractions.
+ *
+ * The header and the length of the file are checked as it is opened, but the values are not (which would mean
+ * reading all of them): they are trusted to have been written normalised, by {@link #write(Path, FractionArray,
+ * boolean)}. The mappings are released only once the <pre>FractionColumnFile</pre> has been garbage collected.
+ */
+public final class FractionColumnFile {
+
+    private static final int MAGIC = 'F' | 'R' << 8 | 'C' << 16 | 'L' << 24;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int FOOTER_SIZE = 16;
+    private static final int HAS_FOOTER = 1;
+
+    /**
+     * The most fractions that a file can hold.
+     */
+    public static final int MAX_SIZE = Integer.MAX_VALUE / Integer.BYTES;
+
+    private final IntBuffer numerators, denominators;
+    private final int size;
+    private final long min, max;
+    private final boolean hasStatistics;
+
+    private FractionColumnFile(IntBuffer numerators, IntBuffer denominators, int size, IntBuffer footer) {
+        this.numerators = numerators;
+        this.denominators = denominators;
+        this.size = size;
+        this.hasStatistics = footer != null;
+        this.min = footer == null ? 0 : PackedFractions.pack(footer.get(0), footer.get(1));
+        this.max = footer == null ? 0 : PackedFractions.pack(footer.get(2), footer.get(3));
+    }
+
+    /**
+     * Writes (or replaces) <pre>file</pre> with the elements of <pre>fractions</pre>, and a footer holding their
+     * least and greatest values.
+     *
+     * @param file the file to write
+     * @param fractions the fractions to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, FractionArray fractions) throws IOException {
+        write(file, fractions, true);
+    }
+
+    /**
+     * Writes (or replaces) <pre>file</pre> with the elements of <pre>fractions</pre>, and optionally a footer
+     * holding their least and greatest values (found by {@link FractionReductions}).
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if there are more than {@link #MAX_SIZE} fractions.
+     *
+     * The file is replaced as by {@link AtomicFiles}, so that a <pre>FractionColumnFile</pre> still mapping a file
+     * it replaces keeps reading that file's contents.
+     *
+     * @param file the file to write
+     * @param fractions the fractions to write
+     * @param statistics whether to write the footer
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, FractionArray fractions, boolean statistics) throws IOException {
+        int size = fractions.size();
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Too many fractions for one file: " + size);
+        }
+        AtomicFiles.replace(file, temporary -> {
+            write(temporary, fractions, size, statistics && size > 0);
+            return null;
+        });
+    }
+
+    private static void write(Path file, FractionArray fractions, int size, boolean footer) throws IOException {
+        long blockSize = (long) size * Integer.BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(footer ? HAS_FOOTER : 0).flip();
+            writeFully(channel, header, 0);
+            // the blocks are copied in bulk into mappings of the file, which extend it
+            MappedByteBuffer numerators = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, blockSize);
+            numerators.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(fractions.numerators, 0, size);
+            MappedByteBuffer denominators = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + blockSize,
+                    blockSize);
+            denominators.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(fractions.denominators, 0, size);
+            if (footer) {
+                Fraction min = FractionReductions.min(fractions), max = FractionReductions.max(fractions);
+                ByteBuffer statisticsBuffer = ByteBuffer.allocate(FOOTER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                statisticsBuffer.putInt((int) min.numerator()).putInt((int) min.denominator())
+                        .putInt((int) max.numerator()).putInt((int) max.denominator()).flip();
+                writeFully(channel, statisticsBuffer, HEADER_SIZE + 2 * blockSize);
+            }
+            numerators.force();
+            denominators.force();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, int count)
+            throws IOException {
+        return channel.map(mode, position, (long) count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Maps <pre>file</pre>, written by {@link #write(Path, FractionArray, boolean)}, into memory.
+     *
+     * @param file the file to read
+     * @return the file's fractions
+     * @throws IOException if the file cannot be mapped, or is not a column file of the version supported
+     */
+    public static FractionColumnFile open(Path file) throws IOException {
+        // the mappings remain valid once the channel has been closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read until the header is full, or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a fraction column file: " + file);
+            }
+            int version = header.getInt(4), size = header.getInt(8), flags = header.getInt(12);
+            if (version != VERSION) {
+                throw new IOException("Unsupported fraction column file version " + version + ": " + file);
+            }
+            boolean footer = (flags & HAS_FOOTER) != 0;
+            long blockSize = (long) size * Integer.BYTES;
+            long expectedLength = HEADER_SIZE + 2 * blockSize + (footer ? FOOTER_SIZE : 0);
+            if (size < 0 || size > MAX_SIZE || channel.size() != expectedLength) {
+                throw new IOException("Fraction column file of " + size + " fractions has length "
+                        + channel.size() + ": " + file);
+            }
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            return new FractionColumnFile(map(channel, mode, HEADER_SIZE, size),
+                    map(channel, mode, HEADER_SIZE + blockSize, size), size,
+                    footer ? map(channel, mode, HEADER_SIZE + 2 * blockSize, FOOTER_SIZE / Integer.BYTES) : null);
+        }
+    }
+
+    /**
+     * @return the number of fractions
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index the index of the fraction
+     * @return its normalised numerator
+     */
+    public int numerator(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.numerators.get(index);
+    }
+
+    /**
+     * @param index the index of the fraction
+     * @return its normalised (positive) denominator
+     */
+    public int denominator(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.denominators.get(index);
+    }
+
+    /**
+     * Returns the fraction, created on demand (or shared, for the small values held by {@link FractionCache}).
+     *
+     * @param index the index of the fraction
+     * @return the fraction
+     */
+    public Fraction get(int index) {
+        return FractionImpl.canonical(numerator(index), denominator(index), 1);
+    }
+
+    /**
+     * @return whether the file has a footer holding the least and greatest fractions
+     */
+    public boolean hasStatistics() {
+        return this.hasStatistics;
+    }
+
+    /**
+     * Returns the least fraction, as recorded in the file's footer.
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if the file has no footer.
+     *
+     * @return the least fraction
+     */
+    public Fraction min() {
+        return statistic(this.min);
+    }
+
+    /**
+     * Returns the greatest fraction, as recorded in the file's footer.
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if the file has no footer.
+     *
+     * @return the greatest fraction
+     */
+    public Fraction max() {
+        return statistic(this.max);
+    }
+
+    private Fraction statistic(long packed) {
+        if (!this.hasStatistics) {
+            throw new NoSuchElementException("The file has no footer");
+        }
+        return PackedFractions.toFraction(packed);
+    }
+
+    /**
+     * Copies the fractions, in bulk, into the first elements of <pre>array</pre>.
+     *
+     * An <pre>IllegalArgumentException</pre> is thrown if the array is smaller than the file.
+     *
+     * @param array the array to fill
+     */
+    public void readInto(FractionArray array) {
+        if (array.size() < this.size) {
+            throw new IllegalArgumentException("Array of " + array.size() + " fractions is smaller than the file's "
+                    + this.size);
+        }
+        // duplicates keep this file's buffers' positions untouched, so that reads may run concurrently
+        this.numerators.duplicate().get(array.numerators, 0, this.size);
+        this.denominators.duplicate().get(array.denominators, 0, this.size);
+    }
+
+    /**
+     * @return a new array holding the fractions
+     */
+    public FractionArray toFractionArray() {
+        FractionArray array = new FractionArray(new int[this.size], new int[this.size], this.size);
+        readInto(array);
+        return array;
+    }
+}
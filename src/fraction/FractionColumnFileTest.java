@@ -0,0 +1,195 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionColumnFileTest {
+    /*
+    Tests in this file check that a FractionColumnFile reads back, through its primitive accessors, get and readInto,
+    the fractions of the FractionArray it was written from, that its footer holds their least and greatest values,
+    and that files which are not column files, or have been truncated, are rejected as they are opened.
+    */
+
+    private static FractionArray randomArray(int size, int bound) {
+        SplittableRandom random = new SplittableRandom(size);
+        FractionArray array = new FractionArray(size);
+        for (int i = 0; i < size; i++) {
+            array.set(i, random.nextInt(-bound, bound), random.nextInt(1, bound));
+        }
+        return array;
+    }
+
+    @RunWith(Parameterized.class)
+    public static class RoundTripTest {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Parameters(name = "{index}: {0} fractions below {1}, statistics {2}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                // Parameter format: {size, bound, statistics}
+                {0, 10, true},
+                {1, 10, true},
+                {1000, 10, true},
+                {1000, 10, false},
+                {10_000, Integer.MAX_VALUE, true},
+                {10_000, Integer.MAX_VALUE, false},
+            });
+        }
+
+        private final int size;
+        private final int bound;
+        private final boolean statistics;
+
+        public RoundTripTest(int size, int bound, boolean statistics) {
+            this.size = size;
+            this.bound = bound;
+            this.statistics = statistics;
+        }
+
+        private FractionColumnFile writeAndOpen(FractionArray array) throws IOException {
+            Path file = folder.newFile().toPath();
+            FractionColumnFile.write(file, array, statistics);
+            return FractionColumnFile.open(file);
+        }
+
+        @Test
+        public void accessorTest() throws IOException {
+            FractionArray array = randomArray(size, bound);
+            FractionColumnFile file = writeAndOpen(array);
+            Assert.assertEquals(size, file.size());
+            for (int i = 0; i < size; i++) {
+                Assert.assertEquals(array.numerator(i), file.numerator(i));
+                Assert.assertEquals(array.denominator(i), file.denominator(i));
+                Assert.assertEquals(array.get(i), file.get(i));
+            }
+        }
+
+        @Test
+        public void readIntoTest() throws IOException {
+            FractionArray array = randomArray(size, bound);
+            FractionColumnFile file = writeAndOpen(array);
+            Assert.assertEquals(array, file.toFractionArray());
+            FractionArray larger = new FractionArray(size + 3);
+            file.readInto(larger);
+            Assert.assertEquals(array, larger.subList(0, size));
+            Assert.assertEquals(Collections.nCopies(3, new FractionImpl(0)), larger.subList(size, size + 3));
+            // tests that reading in bulk leaves the file readable again
+            Assert.assertEquals(array, file.toFractionArray());
+        }
+
+        @Test
+        public void statisticsTest() throws IOException {
+            FractionArray array = randomArray(size, bound);
+            FractionColumnFile file = writeAndOpen(array);
+            Assert.assertEquals(statistics && size > 0, file.hasStatistics());
+            if (file.hasStatistics()) {
+                Assert.assertEquals(Collections.min(array), file.min());
+                Assert.assertEquals(Collections.max(array), file.max());
+            }
+        }
+
+        @Test
+        public void replaceTest() throws IOException {
+            Path file = folder.newFile().toPath();
+            FractionColumnFile.write(file, randomArray(size + 100, bound), statistics);
+            FractionArray array = randomArray(size, bound);
+            FractionColumnFile.write(file, array, statistics);
+            Assert.assertEquals(array, FractionColumnFile.open(file).toFractionArray());
+        }
+    }
+
+    public static class ReplaceTest {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Test
+        public void replacingLeavesOpenFileReadableTest() throws IOException {
+            Path file = folder.getRoot().toPath().resolve("fractions.frcl");
+            FractionArray array = randomArray(1000, 100);
+            FractionColumnFile.write(file, array);
+            FractionColumnFile open = FractionColumnFile.open(file);
+            FractionColumnFile.write(file, randomArray(2, 100));
+            // tests that the replaced file's mappings are still readable past the replacement's length
+            Assert.assertEquals(array, open.toFractionArray());
+            Assert.assertEquals(array.get(999), open.get(999));
+            Assert.assertEquals(2, FractionColumnFile.open(file).size());
+            try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+                Assert.assertEquals(Collections.singletonList(file), files.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    public static class ExpectedExceptions {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        private Path written(int size) throws IOException {
+            Path file = folder.newFile().toPath();
+            FractionColumnFile.write(file, randomArray(size, 100));
+            return file;
+        }
+
+        @Test(expected = IOException.class)
+        public void emptyFileException() throws IOException {
+            FractionColumnFile.open(folder.newFile().toPath());
+        }
+
+        @Test(expected = IOException.class)
+        public void textFileException() throws IOException {
+            Path file = folder.newFile().toPath();
+            Files.writeString(file, "1/2\n3/4\n5/6\n7/8\n");
+            FractionColumnFile.open(file);
+        }
+
+        @Test(expected = IOException.class)
+        public void truncatedFileException() throws IOException {
+            Path file = written(100);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            FractionColumnFile.open(file);
+        }
+
+        @Test(expected = IOException.class)
+        public void unsupportedVersionException() throws IOException {
+            Path file = written(100);
+            byte[] bytes = Files.readAllBytes(file);
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 2);
+            Files.write(file, bytes);
+            FractionColumnFile.open(file);
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void noStatisticsException() throws IOException {
+            Path file = folder.newFile().toPath();
+            FractionColumnFile.write(file, randomArray(100, 100), false);
+            FractionColumnFile.open(file).min();
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void indexException() throws IOException {
+            FractionColumnFile.open(written(100)).numerator(100);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void arrayTooSmallException() throws IOException {
+            FractionColumnFile.open(written(100)).readInto(new FractionArray(99));
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads files of newline-separated fractions, one per line in the format accepted by
+ * {@link FractionImpl#FractionImpl(String)} (a trailing carriage return is also allowed, for files with Windows
+ * line endings).
+ *
+ * The file is memory-mapped and split into chunks that end on line boundaries, so that the chunks can be
+ * parsed in parallel, in place, without reading the file through a <pre>Reader</pre> or creating a
+ * <pre>String</pre> per line. The fractions can either be streamed as <pre>Fraction</pre> objects, or written,
+ * normalised, straight into arrays of numerators and denominators.
+ *
+ * A line that cannot be parsed is reported by a {@link MalformedFractionException} giving its line number.
+ */
+public final class FractionFileReader {
+
+    /**
+     * The default size, in bytes, of the chunks parsed in parallel.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    /**
+     * The most bytes mapped at once (a single <pre>MappedByteBuffer</pre> cannot exceed 2GB).
+     */
+    private static final int MAX_REGION_SIZE = 1 << 30;
+
+    /**
+     * A range of whole lines within a mapped region of the file.
+     */
+    private static final class Chunk {
+        final ByteBuffer buffer;
+        final int start;
+        final int end;
+        long firstLine;
+        int lineCount;
+
+        Chunk(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private final List<Chunk> chunks;
+    private final long lineCount;
+
+    private FractionFileReader(List<Chunk> chunks) {
+        this.chunks = chunks;
+        // lines are counted in parallel, then numbered by a (quick) sequential pass over the chunks
+        chunks.parallelStream().forEach(chunk -> chunk.lineCount = countLines(chunk));
+        long lines = 0;
+        for (Chunk chunk : chunks) {
+            chunk.firstLine = lines;
+            lines += chunk.lineCount;
+        }
+        this.lineCount = lines;
+    }
+
+    /**
+     * Maps the file, and splits it into chunks of around {@link #DEFAULT_CHUNK_SIZE} bytes.
+     *
+     * @param file the file of fractions
+     * @return a reader of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static FractionFileReader open(Path file) throws IOException {
+        return open(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Maps the file, and splits it into chunks of around <pre>chunkSize</pre> bytes.
+     *
+     * @param file the file of fractions
+     * @param chunkSize the approximate size of the chunks parsed in parallel, in bytes
+     * @return a reader of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static FractionFileReader open(Path file, int chunkSize) throws IOException {
+        return open(file, chunkSize, MAX_REGION_SIZE);
+    }
+
+    static FractionFileReader open(Path file, int chunkSize, int regionSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        // the mappings remain valid once the channel has been closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(regionSize, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (position + length < size) {
+                    // end the region after its last complete line; the next region starts with the line after
+                    length = lastLineEnd(region, length);
+                    if (length == 0) {
+                        throw new IOException("Line starting at byte " + position + " is longer than "
+                                + regionSize + " bytes");
+                    }
+                }
+                splitRegion(region, length, chunkSize, chunks);
+                position += length;
+            }
+        }
+        return new FractionFileReader(chunks);
+    }
+
+    private static int lastLineEnd(ByteBuffer region, int length) {
+        int i = length;
+        while (i > 0 && region.get(i - 1) != '\n') {
+            i--;
+        }
+        return i;
+    }
+
+    private static void splitRegion(ByteBuffer region, int length, int chunkSize, List<Chunk> chunks) {
+        int start = 0;
+        while (start < length) {
+            int end = (int) Math.min((long) start + chunkSize, length);
+            // extend the chunk to the end of the line it stops within
+            while (end < length && region.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new Chunk(region, start, end));
+            start = end;
+        }
+    }
+
+    private static int countLines(Chunk chunk) {
+        int lines = 0;
+        for (int i = chunk.start; i < chunk.end; i++) {
+            if (chunk.buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        // a final line without a line terminator
+        if (chunk.end > chunk.start && chunk.buffer.get(chunk.end - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * @return the number of lines (and so fractions) in the file
+     */
+    public long lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns an ordered stream of the fractions in the file, which is parsed as the stream is consumed. The
+     * stream splits on chunk boundaries, so may be made parallel.
+     *
+     * A {@link MalformedFractionException} is thrown, when the stream reaches it, for a line that cannot be parsed.
+     *
+     * @return a stream of the fractions in the file
+     */
+    public Stream<Fraction> fractions() {
+        return StreamSupport.stream(new ChunkSpliterator(0, chunks.size()), false);
+    }
+
+    /**
+     * Parses every line of the file, in parallel, writing the normalised <em>numerator</em> and
+     * <em>denominator</em> of the fraction on line <pre>n</pre> to index <pre>n - 1</pre> of the arrays, without
+     * creating any <pre>Fraction</pre> objects.
+     *
+     * A {@link MalformedFractionException} is thrown for the earliest line that cannot be parsed; the contents of
+     * the arrays are then unspecified. An <pre>IllegalArgumentException</pre> is thrown if either array is too
+     * short to hold every fraction in the file.
+     *
+     * @param numerators the array to write the numerators to
+     * @param denominators the array to write the denominators to
+     * @return the number of fractions read
+     */
+    public int readInto(int[] numerators, int[] denominators) {
+        if (numerators.length < lineCount || denominators.length < lineCount) {
+            throw new IllegalArgumentException("Arrays must have room for " + lineCount + " fractions");
+        }
+        MalformedFractionException[] errors = new MalformedFractionException[chunks.size()];
+        IntStream.range(0, chunks.size()).parallel().forEach(i -> {
+            Chunk chunk = chunks.get(i);
+            int index = (int) chunk.firstLine;
+            int lineStart = chunk.start;
+            while (lineStart < chunk.end) {
+                int lineEnd = lineEnd(chunk, lineStart);
+                try {
+                    long parsed = parseLine(chunk.buffer, lineStart, lineEnd);
+                    int numerator = FractionParser.numerator(parsed);
+                    int denominator = FractionParser.denominator(parsed);
+                    long divisor = FractionImpl.divisor(numerator, denominator);
+                    numerators[index] = FractionImpl.checkedInt(numerator / divisor);
+                    denominators[index] = FractionImpl.checkedInt(denominator / divisor);
+                } catch (NumberFormatException | ArithmeticException e) {
+                    errors[i] = new MalformedFractionException(index + 1L, e);
+                    return;
+                }
+                index++;
+                lineStart = lineEnd + 1;
+            }
+        });
+        for (MalformedFractionException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+        return (int) lineCount;
+    }
+
+    /**
+     * @return the index of the line terminator ending the line starting at <pre>lineStart</pre>, or the end of
+     * the chunk if the line has none
+     */
+    private static int lineEnd(Chunk chunk, int lineStart) {
+        int i = lineStart;
+        while (i < chunk.end && chunk.buffer.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static long parseLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+        if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        int length = lineEnd - lineStart;
+        return FractionParser.parse(new AsciiSequence(buffer, lineStart, length), 0, length);
+    }
+
+    /**
+     * Splits the stream of fractions by chunk, and parses each chunk line by line as it is traversed.
+     */
+    private final class ChunkSpliterator implements Spliterator<Fraction> {
+        private int chunk;
+        private final int endChunk;
+        private int lineStart;
+        private long line;
+
+        ChunkSpliterator(int chunk, int endChunk) {
+            this.chunk = chunk;
+            this.endChunk = endChunk;
+            if (chunk < endChunk) {
+                this.lineStart = chunks.get(chunk).start;
+                this.line = chunks.get(chunk).firstLine;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Fraction> action) {
+            while (chunk < endChunk) {
+                Chunk current = chunks.get(chunk);
+                if (lineStart < current.end) {
+                    int lineEnd = lineEnd(current, lineStart);
+                    Fraction fraction;
+                    try {
+                        long parsed = parseLine(current.buffer, lineStart, lineEnd);
+                        fraction = FractionImpl.normalise(FractionParser.numerator(parsed),
+                                FractionParser.denominator(parsed));
+                    } catch (NumberFormatException | ArithmeticException e) {
+                        throw new MalformedFractionException(line + 1, e);
+                    }
+                    lineStart = lineEnd + 1;
+                    line++;
+                    action.accept(fraction);
+                    return true;
+                }
+                if (++chunk < endChunk) {
+                    lineStart = chunks.get(chunk).start;
+                    line = chunks.get(chunk).firstLine;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<Fraction> trySplit() {
+            // the prefix keeps the (possibly part-read) current chunk, so splits always fall on chunk boundaries
+            int middle = chunk + (endChunk - chunk + 1) / 2;
+            if (middle >= endChunk) {
+                return null;
+            }
+            ChunkSpliterator prefix = new ChunkSpliterator(chunk, middle);
+            prefix.lineStart = lineStart;
+            prefix.line = line;
+            chunk = middle;
+            lineStart = chunks.get(middle).start;
+            line = chunks.get(middle).firstLine;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (chunk >= endChunk) {
+                return 0;
+            }
+            long end = endChunk < chunks.size() ? chunks.get(endChunk).firstLine : lineCount;
+            return end - line;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionFileReaderTest {
+    /*
+    Tests in this file check that FractionFileReader reads the same fractions, in the same order, as constructing
+    one FractionImpl per line would, whatever the chunk and region sizes the file is split into.
+    Small chunk and region sizes are used so that lines regularly straddle their boundaries.
+    */
+
+    private static Path write(TemporaryFolder folder, String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static List<Fraction> expected(String content) {
+        return content.lines().map(FractionImpl::new).collect(Collectors.toList());
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ReadTest {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Parameters(name = "{index}: chunk size {0}, region size {1}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                // Parameter format: {chunkSize, regionSize}
+                {1, 1 << 30},
+                {7, 1 << 30},
+                {64, 1 << 30},
+                {FractionFileReader.DEFAULT_CHUNK_SIZE, 1 << 30},
+                {5, 40},
+                {1024, 97},
+            });
+        }
+
+        private final int chunkSize;
+        private final int regionSize;
+
+        public ReadTest(int chunkSize, int regionSize) {
+            this.chunkSize = chunkSize;
+            this.regionSize = regionSize;
+        }
+
+        private String randomContent(int lines) {
+            SplittableRandom random = new SplittableRandom();
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < lines; i++) {
+                content.append(random.nextInt(-1000, 1000));
+                if (random.nextBoolean()) {
+                    content.append(" / ").append(random.nextInt(1, 1000) * (random.nextBoolean() ? 1 : -1));
+                }
+                content.append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+            }
+            return content.toString();
+        }
+
+        @Test
+        public void streamTest() throws IOException {
+            String content = randomContent(1000);
+            FractionFileReader reader = FractionFileReader.open(write(folder, content), chunkSize, regionSize);
+            Assert.assertEquals(1000, reader.lineCount());
+            Assert.assertEquals(expected(content), reader.fractions().collect(Collectors.toList()));
+        }
+
+        @Test
+        public void parallelStreamTest() throws IOException {
+            String content = randomContent(1000);
+            FractionFileReader reader = FractionFileReader.open(write(folder, content), chunkSize, regionSize);
+            Assert.assertEquals(expected(content), reader.fractions().parallel().collect(Collectors.toList()));
+            Assert.assertEquals(1000, reader.fractions().parallel().count());
+        }
+
+        @Test
+        public void readIntoTest() throws IOException {
+            String content = randomContent(1000);
+            FractionFileReader reader = FractionFileReader.open(write(folder, content), chunkSize, regionSize);
+            int[] numerators = new int[1000];
+            int[] denominators = new int[1000];
+            Assert.assertEquals(1000, reader.readInto(numerators, denominators));
+            List<Fraction> expected = expected(content);
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(expected.get(i).toString(),
+                        new FractionImpl(numerators[i], denominators[i]).toString());
+                Assert.assertTrue(denominators[i] > 0);
+            }
+        }
+
+        @Test
+        public void noTrailingNewlineTest() throws IOException {
+            String content = "1/2\n-3\n 4 / -6 ";
+            FractionFileReader reader = FractionFileReader.open(write(folder, content), chunkSize, regionSize);
+            Assert.assertEquals(3, reader.lineCount());
+            Assert.assertEquals(expected(content), reader.fractions().collect(Collectors.toList()));
+        }
+
+        @Test
+        public void malformedLineTest() throws IOException {
+            String content = "1/2\n3/4\n5/6\n7/8\n9//10\n11/12\n1/0\n";
+            FractionFileReader reader = FractionFileReader.open(write(folder, content), chunkSize, regionSize);
+            try {
+                reader.fractions().forEach(f -> { });
+                Assert.fail();
+            } catch (MalformedFractionException e) {
+                Assert.assertEquals(5, e.getLineNumber());
+            }
+            try {
+                reader.readInto(new int[7], new int[7]);
+                Assert.fail();
+            } catch (MalformedFractionException e) {
+                // tests that the earliest malformed line is reported, although later ones may be parsed first
+                Assert.assertEquals(5, e.getLineNumber());
+            }
+        }
+    }
+
+    public static class ExpectedExceptions {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Test
+        public void emptyFileTest() throws IOException {
+            FractionFileReader reader = FractionFileReader.open(write(folder, ""));
+            Assert.assertEquals(0, reader.lineCount());
+            Assert.assertEquals(0, reader.fractions().count());
+            Assert.assertEquals(0, reader.readInto(new int[0], new int[0]));
+        }
+
+        @Test
+        public void zeroDenominatorTest() throws IOException {
+            FractionFileReader reader = FractionFileReader.open(write(folder, "1/2\n\n1/0\n"));
+            try {
+                reader.fractions().skip(2).findFirst();
+                Assert.fail();
+            } catch (MalformedFractionException e) {
+                // tests that an empty line is itself malformed
+                Assert.assertEquals(2, e.getLineNumber());
+                Assert.assertTrue(e.getCause() instanceof NumberFormatException);
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void arraysTooShortException() throws IOException {
+            FractionFileReader.open(write(folder, "1\n2\n3\n")).readInto(new int[3], new int[2]);
+        }
+
+        @Test(expected = IOException.class)
+        public void lineLongerThanRegionException() throws IOException {
+            FractionFileReader.open(write(folder, "1/2\n" + " ".repeat(100) + "3\n4\n"), 16, 64);
+        }
+    }
+}
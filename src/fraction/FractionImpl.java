@@ -1,5 +1,10 @@
 package fraction;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
 public class FractionImpl implements Fraction {
 
     private final int numerator, denominator;
@@ -16,12 +21,24 @@ public class FractionImpl implements Fraction {
      * @param denominator the fraction's denominator
      */
     public FractionImpl(int numerator, int denominator) {
-        if (denominator == 0) {
-            throw new ArithmeticException("Denominator cannot be zero");
-        }
-        int[] normalisedFraction = normalise(numerator, denominator);
-        this.numerator = normalisedFraction[0];
-        this.denominator = normalisedFraction[1];
+        this(numerator, denominator, divisor(numerator, denominator));
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction, which needn't be
+     * representable in <pre>int</pre> values, and the <em>divisor</em> (as found by
+     * {@link #divisor(long, long)}) that normalises them.
+     *
+     * Dividing by the <em>divisor</em> is all the normalising that is done, so a divisor of <pre>1</pre> may be
+     * passed where the fraction is already known to be in its lowest terms with a positive denominator.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @param divisor the signed divisor that normalises the fraction
+     */
+    private FractionImpl(long numerator, long denominator, long divisor) {
+        this.numerator = checkedInt(numerator / divisor);
+        this.denominator = checkedInt(denominator / divisor);
     }
 
     /**
@@ -44,58 +61,86 @@ public class FractionImpl implements Fraction {
      * whose numerator and/or denominator cannot be represented by <pre>int</pre> values, or that is not
      * interpreted as a valid fraction.
      * <p>
-     * You may find it helpful to look at the available String API methods in the Java API.
+     * The string is read by {@link FractionParser}, which describes the accepted grammar in full.
      *
      * @param fraction the string representation of the fraction
      */
     public FractionImpl(String fraction) {
-        /*
-        regex matches:
-        - any number of whitespaces, followed by
-        - an optional negative sign, followed by
-        - 1 or more contiguous digits, followed by
-        - any number of whitespaces
-        optionally followed by:
-            - a forward slash, followed by
-            - any number of whitespaces, followed by
-            - an optional negative sign, followed by
-            - 1 or more contiguous digits, followed by
-            - any number of whitespaces
-         */
-        if (fraction.matches("^ *-?[0-9]+ *(?:/ *-?[0-9]+ *)?$")) {
-            String[] s = fraction.split("/");
-            try {
-                int num = Integer.parseInt(s[0].trim());
-                // if no denominator was passed, set den to 1
-                int den = s.length > 1 ? Integer.parseInt(s[1].trim()) : 1;
-
-                if (den == 0) {
-                    throw new ArithmeticException("Denominator cannot be zero");
-                }
-
-                int[] normalisedFraction = normalise(num, den);
-                this.numerator = normalisedFraction[0];
-                this.denominator = normalisedFraction[1];
-            } catch (NumberFormatException e) {
-                throw new NumberFormatException("Fraction's numerator and denominator must be within the range, " +
-                        "Integer.MIN_VALUE = -2147483648, Integer.MAX_VALUE = 2147483647");
-            }
-
-        } else {
-            throw new NumberFormatException("Please provide one integer, or two integers " +
-                    "separated by a '/' (e.g. \"2/4\"). Integers should not contain thousands separators.");
-        }
+        this(FractionParser.parse(fraction, 0, fraction.length()));
+    }
+
+    /**
+     * The parameter is a <em>numerator</em> and <em>denominator</em>, as packed by {@link FractionParser}.
+     *
+     * @param parsed the packed numerator and denominator
+     */
+    private FractionImpl(long parsed) {
+        this(FractionParser.numerator(parsed), FractionParser.denominator(parsed));
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> represented by the characters of <pre>text</pre> from index <pre>start</pre>
+     * (inclusive) to <pre>end</pre> (exclusive), normalised.
+     *
+     * The characters are read in place, so a field of a larger line or buffer can be parsed without first
+     * creating a <pre>String</pre> of it. The accepted grammar and the exceptions thrown are those of
+     * {@link #FractionImpl(String)}.
+     *
+     * An <pre>IndexOutOfBoundsException</pre> is thrown if the range is not within <pre>text</pre>.
+     *
+     * @param text the characters holding the fraction
+     * @param start the index of the first character of the fraction
+     * @param end the index after the last character of the fraction
+     * @return the parsed fraction
+     */
+    public static Fraction parse(CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
+        long parsed = FractionParser.parse(text, start, end);
+        return normalise(FractionParser.numerator(parsed), FractionParser.denominator(parsed));
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> represented by the <pre>length</pre> ASCII encoded bytes of <pre>bytes</pre>
+     * starting at index <pre>offset</pre>, normalised.
+     *
+     * The bytes are read in place, without being decoded or copied. The accepted grammar and the exceptions
+     * thrown are those of {@link #FractionImpl(String)}.
+     *
+     * An <pre>IndexOutOfBoundsException</pre> is thrown if the range is not within <pre>bytes</pre>.
+     *
+     * @param bytes the ASCII encoded bytes holding the fraction
+     * @param offset the index of the first byte of the fraction
+     * @param length the number of bytes of the fraction
+     * @return the parsed fraction
+     */
+    public static Fraction parse(byte[] bytes, int offset, int length) {
+        return parse(ByteBuffer.wrap(bytes), offset, length);
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> represented by the <pre>length</pre> ASCII encoded bytes of <pre>buffer</pre>
+     * starting at (absolute) index <pre>offset</pre>, normalised.
+     *
+     * The bytes are read in place, whether the buffer is heap, direct or memory-mapped, and the buffer's position
+     * is left unchanged. The accepted grammar and the exceptions thrown are those of {@link #FractionImpl(String)}.
+     *
+     * An <pre>IndexOutOfBoundsException</pre> is thrown if the range is not within the buffer's limit.
+     *
+     * @param buffer the buffer of ASCII encoded bytes holding the fraction
+     * @param offset the index of the first byte of the fraction
+     * @param length the number of bytes of the fraction
+     * @return the parsed fraction
+     */
+    public static Fraction parse(ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        return parse(new AsciiSequence(buffer, offset, length), 0, length);
     }
 
     /**
      * The parameters represent the <em>numerator</em> and <em>denominator</em> of the <pre>Fraction</pre>,
      * though needn't be passed in any particular order.
      *
-     * Finds the greatest common divisor shared by the two parameters, recursively.
-     * As long as the two numbers are
-     * both nonzero, replace the larger number with the remainder of dividing the larger by the smaller and pass them
-     * into the method again. Do this until one of the numbers is equal to zero, at which point the other number is
-     * the greatest common divisor.
+     * Finds the greatest common divisor shared by the two parameters, using {@link GcdEngine#ADAPTIVE}.
      *
      * The method returns a <pre>long</pre> to accommodate values that may be outside of <pre>int</pre> range.
      *
@@ -104,43 +149,122 @@ public class FractionImpl implements Fraction {
      * @return the greatest common divisor
      */
     static long gcd(long num1, long num2) {
-        // GCD is same for two numbers irrespective of their sign, so we judge the parameters by absolute value
-        long larger = Math.max(Math.abs(num1), Math.abs(num2));
-        long smaller = Math.min(Math.abs(num1), Math.abs(num2));
+        return GcdEngine.ADAPTIVE.gcd(num1, num2);
+    }
 
-        if (smaller == 0) { return larger; }
-        return gcd(larger % smaller, smaller);
+    /**
+     * The parameters represent the fraction's <em>numerator</em> and <em>denominator</em>.
+     *
+     * Returns the signed <em>divisor</em> that normalises the fraction: the greatest common divisor of the
+     * <em>numerator</em> and <em>denominator</em>, negated where the <em>denominator</em> is negative so that,
+     * once divided, the sign is carried by the <em>numerator</em>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the <em>denominator</em> is zero.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the divisor that normalises the fraction
+     */
+    static long divisor(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        long divisor = gcd(numerator, denominator);
+        return denominator < 0 ? -divisor : divisor;
     }
 
     /**
      * The parameters represent the fraction's <em>numerator</em> and <em>denominator</em>.
      *
-     * Normalises the <pre>Fraction</pre> represented by the <em>numerator</em> and <em>denominator</em>.
+     * Returns the <pre>Fraction</pre> represented by the <em>numerator</em> and <em>denominator</em>, normalised.
+     * No intermediate objects are created, and the greatest common divisor is found only once. Small values are
+     * returned as the canonical instances held by {@link FractionCache}.
      *
-     * An <pre>ArithmeticException</pre> is thrown where, even after normalising, the <em>numerator</em> and <em>denominator</em>
-     * are not both representable using <pre>int</pre> values.
+     * An <pre>ArithmeticException</pre> is thrown where, even after normalising, the <em>numerator</em> and
+     * <em>denominator</em> are not both representable using <pre>int</pre> values.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the normalised fraction
+     */
+    static FractionImpl normalise(long numerator, long denominator) {
+        return canonical(numerator, denominator, divisor(numerator, denominator));
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction, which needn't be
+     * representable in <pre>int</pre> values, and the signed <em>divisor</em> that normalises them (see
+     * {@link #FractionImpl(long, long, long)}).
      *
-     * Returns the normalised <em>numerator</em> and <em>denominator</em> as an <pre>int[]</pre>.
+     * Returns the normalised fraction: the canonical instance held by {@link FractionCache} if there is one,
+     * and otherwise a new <pre>FractionImpl</pre>.
      *
      * @param numerator the fraction's numerator
      * @param denominator the fraction's denominator
+     * @param divisor the signed divisor that normalises the fraction
      * @return the normalised fraction
      */
-    static int[] normalise(long numerator, long denominator) {
-        // correct a negative denominator
-        if (denominator < 0) {
-            numerator *= -1;
-            denominator *= -1;
-        }
-        long divisor = gcd(numerator, denominator);
+    static FractionImpl canonical(long numerator, long denominator, long divisor) {
         long normNumerator = numerator / divisor;
         long normDenominator = denominator / divisor;
+        FractionImpl cached = FractionCache.get(normNumerator, normDenominator);
+        return cached != null ? cached : new FractionImpl(normNumerator, normDenominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long numerator() {
+        return this.numerator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long denominator() {
+        return this.denominator;
+    }
 
-        try {
-            return new int[]{Math.toIntExact(normNumerator), Math.toIntExact(normDenominator)};
-        } catch (ArithmeticException e) {
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigNumerator() {
+        return BigInteger.valueOf(this.numerator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigDenominator() {
+        return BigInteger.valueOf(this.denominator);
+    }
+
+    /**
+     * Returns the parameter as an <pre>int</pre>, or throws an <pre>ArithmeticException</pre> if it is not
+     * representable as one.
+     *
+     * @param value a normalised numerator or denominator
+     * @return the value as an <pre>int</pre>
+     */
+    static int checkedInt(long value) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
             throw new ArithmeticException("Fraction not representable in integers.");
         }
+        return (int) value;
+    }
+
+    /**
+     * Returns the result of {@link IntArithmetic}, <pre>packed</pre>, as a <pre>FractionImpl</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if it is not representable in integers.
+     */
+    private static FractionImpl result(long packed) {
+        packed = IntArithmetic.checked(packed);
+        return canonical(IntArithmetic.numerator(packed), IntArithmetic.denominator(packed), 1);
     }
 
     /**
@@ -149,18 +273,12 @@ public class FractionImpl implements Fraction {
     @Override
     public Fraction add(Fraction f) {
         // a/b + c/d is (ad + bc)/bd
-        FractionImpl other = ((FractionImpl) f);
-
-        long numerator = (long) this.numerator * other.denominator + (long) this.denominator * other.numerator;
-        long denominator = (long) this.denominator * other.denominator;
-
-        try {
-            return new FractionImpl(Math.toIntExact(numerator), Math.toIntExact(denominator));
-        } catch (ArithmeticException e) {
-            // numerator and/or denominator are outside Integer range
-            int[] operands = normalise(numerator, denominator);
-            return new FractionImpl(operands[0], operands[1]);
+        if (!(f instanceof FractionImpl)) {
+            // other implementations are brought to a common width (see Fractions), off the FractionImpl path
+            return Fractions.add(this, f);
         }
+        FractionImpl other = ((FractionImpl) f);
+        return result(IntArithmetic.sum(this.numerator, this.denominator, other.numerator, other.denominator));
     }
 
     /**
@@ -168,18 +286,12 @@ public class FractionImpl implements Fraction {
      */
     @Override
     public Fraction subtract(Fraction f) {
-        // a/b - c/d is (ad - bc)/bd
-        FractionImpl other = ((FractionImpl) f);
-        long numerator = (long) this.numerator * other.denominator - (long) this.denominator * other.numerator;
-        long denominator = (long) this.denominator * other.denominator;
-
-        try {
-            return new FractionImpl(Math.toIntExact(numerator), Math.toIntExact(denominator));
-        } catch (ArithmeticException e) {
-            // numerator and/or denominator are outside Integer range
-            int[] operands = normalise(numerator, denominator);
-            return new FractionImpl(operands[0], operands[1]);
+        // a/b - c/d is a/b + (-c)/d
+        if (!(f instanceof FractionImpl)) {
+            return Fractions.subtract(this, f);
         }
+        FractionImpl other = ((FractionImpl) f);
+        return result(IntArithmetic.sum(this.numerator, this.denominator, -(long) other.numerator, other.denominator));
     }
 
     /**
@@ -188,17 +300,11 @@ public class FractionImpl implements Fraction {
     @Override
     public Fraction multiply(Fraction f) {
         // (a/b) * (c/d) is (a*c)/(b*d)
-        FractionImpl other = ((FractionImpl) f);
-        long numerator = (long) this.numerator * other.numerator;
-        long denominator = (long) this.denominator * other.denominator;
-
-        try {
-            return new FractionImpl(Math.toIntExact(numerator), Math.toIntExact(denominator));
-        } catch (ArithmeticException e) {
-            // numerator and/or denominator are outside Integer range
-            int[] operands = normalise(numerator, denominator);
-            return new FractionImpl(operands[0], operands[1]);
+        if (!(f instanceof FractionImpl)) {
+            return Fractions.multiply(this, f);
         }
+        FractionImpl other = ((FractionImpl) f);
+        return result(IntArithmetic.product(this.numerator, this.denominator, other.numerator, other.denominator));
     }
 
     /**
@@ -207,17 +313,11 @@ public class FractionImpl implements Fraction {
     @Override
     public Fraction divide(Fraction f) {
         // (a/b) / (c/d) is (a*d)/(b*c)
-        FractionImpl other = ((FractionImpl) f);
-        long numerator = (long) this.numerator * other.denominator;
-        long denominator = (long) this.denominator * other.numerator;
-
-        try {
-            return new FractionImpl(Math.toIntExact(numerator), Math.toIntExact(denominator));
-        } catch (ArithmeticException e) {
-            // numerator and/or denominator are outside Integer range
-            int[] operands = normalise(numerator, denominator);
-            return new FractionImpl(operands[0], operands[1]);
+        if (!(f instanceof FractionImpl)) {
+            return Fractions.divide(this, f);
         }
+        FractionImpl other = ((FractionImpl) f);
+        return result(IntArithmetic.quotient(this.numerator, this.denominator, other.numerator, other.denominator));
     }
 
     /**
@@ -229,7 +329,7 @@ public class FractionImpl implements Fraction {
             throw new ArithmeticException("Cannot represent the absolute value of a fraction " +
                     "where the numerator is Integer's minimum value.");
         }
-        return new FractionImpl(Math.abs(this.numerator), this.denominator);
+        return canonical(Math.abs(this.numerator), this.denominator, 1);
     }
 
     /**
@@ -241,7 +341,7 @@ public class FractionImpl implements Fraction {
             throw new ArithmeticException("Cannot negate a fraction " +
                     "where the numerator is Integer's minimum value.");
         }
-        return new FractionImpl(this.numerator * -1, this.denominator);
+        return canonical(this.numerator * -1, this.denominator, 1);
     }
 
     /**
@@ -249,7 +349,24 @@ public class FractionImpl implements Fraction {
      */
     @Override
     public int hashCode() {
-        return super.hashCode();
+        return hash(this.numerator, this.denominator);
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a normalised fraction.
+     *
+     * Returns a hash code for the fraction that depends only on its value, so that it is consistent with
+     * {@link #equals(Object)}. The two values are combined into one <pre>long</pre> and mixed with a
+     * multiplicative (Fibonacci) hash, whose upper bits are folded down, so that the dense runs of small
+     * numerators and denominators typical of fractions spread across all the bits of the result.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the hash code
+     */
+    static int hash(long numerator, long denominator) {
+        long h = (numerator * 0x9E3779B97F4A7C15L + denominator) * 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
     }
 
     /**
@@ -273,7 +390,11 @@ public class FractionImpl implements Fraction {
      */
     @Override
     public Fraction inverse() {
-        return new FractionImpl(this.denominator, this.numerator);
+        if (this.numerator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        // already in lowest terms, so only a negative sign needs moving back onto the numerator
+        return canonical(this.denominator, this.numerator, this.numerator < 0 ? -1 : 1);
     }
 
     /**
@@ -281,10 +402,17 @@ public class FractionImpl implements Fraction {
      */
     @Override
     public int compareTo(Fraction o) {
-        double comparator =
-                (double) this.numerator / this.denominator -
-                (double) ((FractionImpl) o).numerator / ((FractionImpl) o).denominator;
-        return comparator > 0 ? 1 : (comparator == 0 ? 0 : -1);
+        if (!(o instanceof FractionImpl)) {
+            return Fractions.compare(this, o);
+        }
+        FractionImpl other = (FractionImpl) o;
+        // fractions of differing sign are ordered by their signs alone
+        int sign = Integer.signum(this.numerator);
+        int otherSign = Integer.signum(other.numerator);
+        if (sign != otherSign) {
+            return sign < otherSign ? -1 : 1;
+        }
+        return IntArithmetic.compare(this.numerator, this.denominator, other.numerator, other.denominator);
     }
 
     /**
@@ -292,7 +420,36 @@ public class FractionImpl implements Fraction {
      */
     @Override
     public String toString() {
+        // string concatenation sizes and fills the result directly, without parsing a format or boxing
         return this.denominator != 1 ?
-                String.format("%d/%d", this.numerator, this.denominator) : String.valueOf(this.numerator);
+                this.numerator + "/" + this.denominator : String.valueOf(this.numerator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append(this.numerator);
+        if (this.denominator != 1) {
+            sb.append('/').append(this.denominator);
+        }
+        return sb;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Appendable appendTo(Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return appendTo((StringBuilder) out);
+        }
+        Digits.append(out, this.numerator);
+        if (this.denominator != 1) {
+            out.append('/');
+            Digits.append(out, this.denominator);
+        }
+        return out;
     }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package fraction;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Supplier;
 import org.junit.*;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
@@ -135,6 +140,88 @@ public class FractionImplTest {
         }
     }
 
+    @RunWith(Parameterized.class)
+    public static class ParseTest {
+
+        @Parameters(name = "{index}: \"{0}\"")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                // Parameter format: {input}
+
+                {"8/-12"}, {"   121/         22"}, {"-2147483648"}, {"00003000   /  -000027000"},
+
+                // tests that the same exceptions are thrown as by the String constructor
+                {"10/0"}, {"1/"}, {"2/3#"}, {""}, {"--4/1"}, {"10000000000000"}, {"1/2\u00e9"},
+            });
+        }
+
+        private final String input;
+
+        public ParseTest(String input) {
+            this.input = input;
+        }
+
+        // the result of the String constructor, or the class of the exception it throws
+        private Object expected() {
+            try {
+                return new FractionImpl(input);
+            } catch (RuntimeException e) {
+                return e.getClass();
+            }
+        }
+
+        private static Object resultOf(Supplier<Fraction> parse) {
+            try {
+                return parse.get();
+            } catch (RuntimeException e) {
+                return e.getClass();
+            }
+        }
+
+        @Test
+        public void charSequenceTest() {
+            // tests that only the given range of a longer sequence is read
+            StringBuilder line = new StringBuilder("3/4,").append(input).append(",5/6");
+            Assert.assertEquals(expected(),
+                    resultOf(() -> FractionImpl.parse(line, 4, 4 + input.length())));
+        }
+
+        @Test
+        public void byteArrayTest() {
+            byte[] bytes = ("3/4," + input + ",5/6").getBytes(StandardCharsets.ISO_8859_1);
+            Assert.assertEquals(expected(), resultOf(() -> FractionImpl.parse(bytes, 4, input.length())));
+        }
+
+        @Test
+        public void directByteBufferTest() {
+            byte[] bytes = ("3/4," + input + ",5/6").getBytes(StandardCharsets.ISO_8859_1);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+            buffer.position(1);
+            Assert.assertEquals(expected(), resultOf(() -> FractionImpl.parse(buffer, 4, input.length())));
+            // tests that the buffer's position is left unchanged
+            Assert.assertEquals(1, buffer.position());
+        }
+    }
+
+    public static class ParseExpectedException {
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void charSequenceRangeException() {
+            FractionImpl.parse("1/2", 1, 4);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void byteArrayRangeException() {
+            FractionImpl.parse(new byte[] {'1', '/', '2'}, 2, 2);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void byteBufferRangeException() {
+            // tests that bytes beyond the buffer's limit are not read
+            FractionImpl.parse(ByteBuffer.wrap(new byte[] {'1', '/', '2'}).limit(2), 0, 3);
+        }
+    }
+
     @RunWith(Parameterized.class)
     public static class GcdTest {
 
@@ -223,7 +310,9 @@ public class FractionImplTest {
 
         @Test
         public void normaliseTest() {
-            Assert.assertArrayEquals(expOutput, FractionImpl.normalise(numeratorInput, denominatorInput));
+            // toString exposes the normalised numerator and denominator exactly
+            Assert.assertEquals(new FractionImpl(expOutput[0], expOutput[1]).toString(),
+                    FractionImpl.normalise(numeratorInput, denominatorInput).toString());
         }
     }
 
@@ -252,6 +341,11 @@ public class FractionImplTest {
                 // tests improper fractions are rendered correctly
                 {22, 3, new FractionImpl("11/3"), new FractionImpl("22/6")},
                 {541, 8, new FractionImpl("4"), new FractionImpl("509/8")},
+
+                // tests that factors shared by the denominators are divided out of the result
+                {1, 2, new FractionImpl(1, 6), new FractionImpl(1, 3)},
+                {268_435_457, 268_435_456, new FractionImpl(536_870_913, 1 << 30),
+                        new FractionImpl(536_870_915, 1 << 30)},
             });
         }
 
@@ -292,6 +386,9 @@ public class FractionImplTest {
 
                 // tests that working backwards from addTest's last set of parameters yields correct result
                 {509, 8, new FractionImpl("541/8"), new FractionImpl("4")},
+
+                // tests that the difference of equal fractions with large denominators is 0/1
+                {0, 1, new FractionImpl(5, 1 << 30), new FractionImpl(-5, -(1 << 30))},
             });
         }
 
@@ -335,6 +432,10 @@ public class FractionImplTest {
                 {9, 100, new FractionImpl("   3/10"), new FractionImpl("   3/10")},
 
                 {6084, 79, new FractionImpl("   78/79"), new FractionImpl("   78")},
+
+                // tests that unreduced products outside of int range are cancelled back into range
+                {4003 * 4003, 4007 * 4007, new FractionImpl(4001 * 4003, 4007 * 4013),
+                        new FractionImpl(4003 * 4013, 4001 * 4007)},
             });
         }
 
@@ -376,6 +477,10 @@ public class FractionImplTest {
 
                 // tests that proximity to limit of int range works as expected
                 {Integer.MIN_VALUE / 4, 1, new FractionImpl(Integer.MIN_VALUE), new FractionImpl("4     ")},
+
+                // tests that unreduced quotients outside of int range are cancelled back into range
+                {-4001 * 4001, 4013 * 4013, new FractionImpl(4001 * 4003, 4007 * 4013),
+                        new FractionImpl(-4003 * 4013, 4001 * 4007)},
             });
         }
 
@@ -643,6 +748,63 @@ public class FractionImplTest {
         }
     }
 
+    public static class CompareToPropertyTest {
+
+        // the exact result of comparing a/b with c/d, by cross-multiplying without any risk of overflow
+        private static int exactCompare(FractionImpl f, FractionImpl g) {
+            String[] first = (f + "/1").split("/");
+            String[] second = (g + "/1").split("/");
+            return new java.math.BigInteger(first[0]).multiply(new java.math.BigInteger(second[1]))
+                    .compareTo(new java.math.BigInteger(second[0]).multiply(new java.math.BigInteger(first[1])));
+        }
+
+        @Test
+        public void nearEqualPairsTest() {
+            // tests (n - 1)/n against n/(n + 1), which differ by 1/n(n + 1): far less than a double can resolve
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                int n = random.nextInt(1 << 30, Integer.MAX_VALUE - 1);
+                int sign = random.nextBoolean() ? 1 : -1;
+                FractionImpl f = new FractionImpl(sign * (n - 1), n);
+                FractionImpl g = new FractionImpl(sign * n, n + 1);
+                Assert.assertEquals(-sign, f.compareTo(g));
+                Assert.assertEquals(sign, g.compareTo(f));
+                Assert.assertNotEquals(f, g);
+            }
+        }
+
+        @Test
+        public void randomPairsTest() {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                FractionImpl f = new FractionImpl(random.nextInt(), random.nextInt(1, Integer.MAX_VALUE));
+                FractionImpl g = new FractionImpl(random.nextInt(), random.nextInt(1, Integer.MAX_VALUE));
+                Assert.assertEquals(exactCompare(f, g), f.compareTo(g));
+                Assert.assertEquals(0, f.compareTo(f));
+            }
+        }
+
+        @Test
+        public void extremePairsTest() {
+            int[] values = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -2, -1, 0, 1, 2,
+                    Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+            for (int a : values) {
+                for (int b : values) {
+                    for (int c : values) {
+                        for (int d : values) {
+                            if (b <= 0 || d <= 0) {
+                                continue;
+                            }
+                            FractionImpl f = new FractionImpl(a, b);
+                            FractionImpl g = new FractionImpl(c, d);
+                            Assert.assertEquals(exactCompare(f, g), f.compareTo(g));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @RunWith(Parameterized.class)
     public static class EqualsTest<T> {
 
@@ -681,6 +843,40 @@ public class FractionImplTest {
         }
     }
 
+    public static class HashCodeTest {
+
+        @Test
+        public void equalFractionsHashEquallyTest() {
+            Assert.assertEquals(new FractionImpl(1, 2).hashCode(), new FractionImpl("-128/-256").hashCode());
+            Assert.assertEquals(new FractionImpl(0, 7).hashCode(), new FractionImpl(0).hashCode());
+            Assert.assertEquals(new FractionImpl(Integer.MIN_VALUE).hashCode(),
+                    new FractionImpl(Integer.MIN_VALUE, 1).hashCode());
+        }
+
+        @Test
+        public void hashSetTest() {
+            // tests that equal fractions, however they were created, are treated as one key
+            Set<Fraction> set = new HashSet<>();
+            for (int q = 1; q <= 100; q++) {
+                for (int p = -q; p <= q; p++) {
+                    set.add(new FractionImpl(p, q));
+                    set.add(new FractionImpl(p * 3, q * 3));
+                }
+            }
+            // the distinct values of p/q for |p| <= q <= 100: 0, plus 2 for each (p, q) with 0 < p <= q coprime
+            int distinct = 1;
+            for (int q = 1; q <= 100; q++) {
+                for (int p = 1; p <= q; p++) {
+                    if (FractionImpl.gcd(p, q) == 1) {
+                        distinct += 2;
+                    }
+                }
+            }
+            Assert.assertEquals(distinct, set.size());
+            Assert.assertTrue(set.contains(new FractionImpl("-2/4")));
+        }
+    }
+
     @RunWith(Parameterized.class)
     public static class ToStringTest {
 
@@ -723,6 +919,12 @@ public class FractionImplTest {
                     {"9/4", new FractionImpl("09/04").toString()},
                     {"1/9", new FractionImpl("    -3            /            -27    ").toString()},
                     {"-1/9", new FractionImpl("00003000            /            -000027000").toString()},
+
+                    // tests that arithmetic yielding zero gives a denominator of 1
+                    {"0", new FractionImpl(3, 4).multiply(new FractionImpl(0, 5)).toString()},
+                    {"0", new FractionImpl(0, 5).divide(new FractionImpl(-3, 4)).toString()},
+                    {"0", new FractionImpl(3, 14).subtract(new FractionImpl(6, 28)).toString()},
+                    {"-7/6", new FractionImpl(7, 8).divide(new FractionImpl(-3, 4)).toString()},
             });
         }
 
@@ -739,4 +941,43 @@ public class FractionImplTest {
             Assert.assertEquals(expOutput, stringInput);
         }
     }
-}
+
+    @RunWith(Parameterized.class)
+    public static class AppendToTest {
+
+        @Parameters(name = "{index}: {0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    // Parameter format: {input}
+
+                    {new FractionImpl(0)},
+                    {new FractionImpl(7)},
+                    {new FractionImpl(-10, 4)},
+                    {new FractionImpl(3, 10)},
+                    {new FractionImpl(Integer.MIN_VALUE)},
+                    {new FractionImpl(Integer.MIN_VALUE + 1, Integer.MAX_VALUE)},
+                    {new FractionImpl(1_000_000_000, 999_999_999)},
+            });
+        }
+
+        private final Fraction input;
+
+        public AppendToTest(Fraction input) {
+            this.input = input;
+        }
+
+        @Test
+        public void appendToStringBuilderTest() {
+            StringBuilder sb = new StringBuilder("x = ");
+            Assert.assertSame(sb, input.appendTo(sb));
+            Assert.assertEquals("x = " + input, sb.toString());
+        }
+
+        @Test
+        public void appendToWriterTest() throws IOException {
+            StringWriter writer = new StringWriter();
+            Assert.assertSame(writer, input.appendTo((Appendable) writer));
+            Assert.assertEquals(input.toString(), writer.toString());
+        }
+    }
+}
\ No newline at end of file
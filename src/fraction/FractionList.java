@@ -0,0 +1,113 @@
+package fraction;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable list of fractions, stored (like {@link FractionArray}) as two parallel <pre>int[]</pre> columns of
+ * normalised numerators and denominators, whose capacity grows by half as elements are appended.
+ *
+ * Every element must be representable by a <pre>FractionImpl</pre>, and an <pre>ArithmeticException</pre> is
+ * thrown on adding one that is not.
+ */
+public class FractionList extends FractionArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Creates an empty list.
+     */
+    public FractionList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for <pre>capacity</pre> fractions before it need grow.
+     *
+     * @param capacity the initial capacity
+     */
+    public FractionList(int capacity) {
+        super(new int[capacity], new int[capacity], 0);
+    }
+
+    /**
+     * Appends <pre>numerator/denominator</pre>, normalised.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public void append(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        int normNumerator = FractionImpl.checkedInt(numerator / divisor);
+        int normDenominator = FractionImpl.checkedInt(denominator / divisor);
+        ensureCapacity(this.size + 1);
+        this.numerators[this.size] = normNumerator;
+        this.denominators[this.size] = normDenominator;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void add(int index, Fraction fraction) {
+        Objects.checkIndex(index, this.size + 1);
+        // read before anything is moved, so that a fraction that doesn't fit leaves the list unchanged
+        int numerator = FractionImpl.checkedInt(fraction.numerator());
+        int denominator = FractionImpl.checkedInt(fraction.denominator());
+        ensureCapacity(this.size + 1);
+        System.arraycopy(this.numerators, index, this.numerators, index + 1, this.size - index);
+        System.arraycopy(this.denominators, index, this.denominators, index + 1, this.size - index);
+        this.numerators[index] = numerator;
+        this.denominators[index] = denominator;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction remove(int index) {
+        Fraction removed = get(index);
+        System.arraycopy(this.numerators, index + 1, this.numerators, index, this.size - index - 1);
+        System.arraycopy(this.denominators, index + 1, this.denominators, index, this.size - index - 1);
+        this.size--;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void clear() {
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Grows the list's capacity, if necessary, to hold at least <pre>capacity</pre> fractions.
+     *
+     * @param capacity the capacity required
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.numerators.length) {
+            int grown = Math.max(capacity, this.numerators.length + (this.numerators.length >> 1) + 1);
+            this.numerators = Arrays.copyOf(this.numerators, grown);
+            this.denominators = Arrays.copyOf(this.denominators, grown);
+        }
+    }
+
+    /**
+     * Shrinks the list's capacity to its size.
+     */
+    public void trimToSize() {
+        this.numerators = Arrays.copyOf(this.numerators, this.size);
+        this.denominators = Arrays.copyOf(this.denominators, this.size);
+    }
+}
@@ -0,0 +1,180 @@
+package fraction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, size-bounded cache from the text of a fraction to the <pre>Fraction</pre> it represents, for
+ * inputs that repeat the same strings many times over.
+ *
+ * The cache is split into a power-of-two number of segments, chosen by the hash of the text, each of which is a
+ * least-recently-used map guarded by its own lock, so that threads parsing different strings rarely contend.
+ * Each segment holds at most its share of the maximum size, evicting its least recently used entry when full.
+ *
+ * Fractions are parsed as by {@link Fraction#valueOf(String)}, so the cached values are canonical instances where
+ * {@link FractionCache} holds one. A malformed string is never cached: it throws the same exception each time.
+ */
+public final class FractionParseCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final class Segment extends LinkedHashMap<String, Fraction> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Fraction> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates a cache holding up to {@value #DEFAULT_MAXIMUM_SIZE} fractions, with a segment for each available
+     * processor.
+     */
+    public FractionParseCache() {
+        this(DEFAULT_MAXIMUM_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a cache holding up to (approximately) <pre>maximumSize</pre> fractions.
+     *
+     * The concurrency level is the number of threads expected to parse at once: it is rounded up to a power of
+     * two segments, and reduced if necessary so that each segment can hold at least one fraction.
+     *
+     * @param maximumSize the most fractions held at once
+     * @param concurrencyLevel the number of threads expected to use the cache concurrently
+     * @throws IllegalArgumentException if either parameter is not positive
+     */
+    public FractionParseCache(int maximumSize, int concurrencyLevel) {
+        if (maximumSize < 1 || concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Maximum size and concurrency level must be positive.");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(maximumSize, concurrencyLevel));
+        if (segmentCount < concurrencyLevel && segmentCount * 2 <= maximumSize) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder so that the capacities sum to maximumSize
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns the <pre>Fraction</pre> represented by <pre>fraction</pre>, from the cache if it has been parsed
+     * recently, otherwise parsing and caching it.
+     *
+     * @param fraction the string representation of the fraction
+     * @return the normalised fraction
+     * @throws NumberFormatException if the string is not a valid fraction
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public Fraction parse(String fraction) {
+        Segment segment = segmentFor(fraction);
+        Fraction cached;
+        synchronized (segment) {
+            cached = segment.get(fraction);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        // parsed outside of the lock; a racing thread parsing the same text stores an equal value
+        Fraction parsed = Fraction.valueOf(fraction);
+        synchronized (segment) {
+            segment.put(fraction, parsed);
+        }
+        return parsed;
+    }
+
+    private Segment segmentFor(String fraction) {
+        int h = fraction.hashCode();
+        // the low bits of String.hashCode are weak for short strings differing only in their last characters
+        h ^= (h >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= (h >>> 13);
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * @return the number of fractions currently held
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes every fraction from the cache; the statistics are not reset.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the number of segments the cache is split into
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * @return the number of calls to {@link #parse(String)} answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of calls to {@link #parse(String)} that had to parse their string
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of fractions evicted to keep the cache within its maximum size
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the proportion of calls answered from the cache, or <pre>NaN</pre> if there have been none
+     */
+    public double hitRate() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
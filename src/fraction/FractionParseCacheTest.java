@@ -0,0 +1,153 @@
+package fraction;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionParseCacheTest {
+    /*
+    Tests in this file check that FractionParseCache returns the same fractions as parsing each string afresh,
+    returns the cached instance on repeated strings, stays within its maximum size, and counts its hits, misses
+    and evictions, including when used from several threads at once.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class ParseTest {
+
+        @Parameters(name = "{index}: {0} is {1}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {"1/8", "1/8"},
+                    {" 6 / -16 ", "-3/8"},
+                    {"3000/12000", "1/4"},
+                    {"-2147483648", "-2147483648"},
+                    {"999999/1000000", "999999/1000000"},
+            });
+        }
+
+        private final String text;
+        private final Fraction expected;
+
+        public ParseTest(String text, String expected) {
+            this.text = text;
+            this.expected = new FractionImpl(expected);
+        }
+
+        @Test
+        public void parsesAsFractionImplTest() {
+            Assert.assertEquals(expected, new FractionParseCache().parse(text));
+        }
+
+        @Test
+        public void repeatedStringsReturnCachedInstanceTest() {
+            FractionParseCache cache = new FractionParseCache();
+            Fraction first = cache.parse(text);
+            Assert.assertSame(first, cache.parse(text));
+            Assert.assertEquals(1, cache.hits());
+            Assert.assertEquals(1, cache.misses());
+            Assert.assertEquals(0.5, cache.hitRate(), 0);
+        }
+    }
+
+    public static class BoundTest {
+
+        @Test
+        public void evictsLeastRecentlyUsedTest() {
+            FractionParseCache cache = new FractionParseCache(2, 1);
+            Fraction a = cache.parse("1000/1001");
+            cache.parse("1000/1003");
+            Assert.assertSame(a, cache.parse("1000/1001"));
+            cache.parse("1000/1007");
+            Assert.assertEquals(2, cache.size());
+            Assert.assertEquals(1, cache.evictions());
+            Assert.assertSame(a, cache.parse("1000/1001"));
+            Assert.assertEquals(2, cache.hits());
+        }
+
+        @Test
+        public void staysWithinMaximumSizeTest() {
+            FractionParseCache cache = new FractionParseCache(100, 8);
+            for (int i = 1; i <= 1000; i++) {
+                cache.parse("1/" + i);
+            }
+            Assert.assertTrue(cache.size() <= 100);
+            Assert.assertEquals(1000 - cache.size(), cache.evictions());
+        }
+
+        @Test
+        public void segmentsArePowerOfTwoAndNoMoreThanSizeTest() {
+            Assert.assertEquals(8, new FractionParseCache(100, 5).segmentCount());
+            Assert.assertEquals(2, new FractionParseCache(3, 16).segmentCount());
+            Assert.assertEquals(1, new FractionParseCache(1, 1).segmentCount());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroSizeIsRejectedException() {
+            new FractionParseCache(0, 1);
+        }
+
+        @Test
+        public void clearEmptiesCacheTest() {
+            FractionParseCache cache = new FractionParseCache();
+            cache.parse("1/3");
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+        }
+    }
+
+    public static class ExceptionTest {
+
+        @Test
+        public void malformedStringsAreNotCachedTest() {
+            FractionParseCache cache = new FractionParseCache();
+            for (int i = 0; i < 2; i++) {
+                try {
+                    cache.parse("1/");
+                    Assert.fail("Expected a NumberFormatException");
+                } catch (NumberFormatException expected) {
+                }
+            }
+            Assert.assertEquals(0, cache.size());
+            Assert.assertEquals(2, cache.misses());
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void zeroDenominatorIsRejectedException() {
+            new FractionParseCache().parse("1/0");
+        }
+    }
+
+    public static class ConcurrencyTest {
+
+        @Test
+        public void threadsAgreeWithSerialParseTest() throws Exception {
+            FractionParseCache cache = new FractionParseCache(64, 4);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 10_000; i++) {
+                            String text = random.nextInt(200) + "/" + (random.nextInt(200) + 1);
+                            Assert.assertEquals(new FractionImpl(text), cache.parse(text));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Assert.assertEquals(40_000, cache.hits() + cache.misses());
+            Assert.assertTrue(cache.size() <= 64);
+        }
+    }
+}
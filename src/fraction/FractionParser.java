@@ -0,0 +1,120 @@
+package fraction;
+
+/**
+ * Parses the text representation of a fraction accepted by {@link FractionImpl#FractionImpl(String)}, in a
+ * single pass over the characters and without creating any intermediate objects.
+ *
+ * The accepted grammar is that of the regular expression <pre>^ *-?[0-9]+ *(?:/ *-?[0-9]+ *)?$</pre>:
+ * <ul>
+ *     <li>any number of spaces, followed by</li>
+ *     <li>an optional negative sign, followed by</li>
+ *     <li>1 or more contiguous digits, followed by</li>
+ *     <li>any number of spaces</li>
+ * </ul>
+ * optionally followed by:
+ * <ul>
+ *     <li>a forward slash, followed by</li>
+ *     <li>any number of spaces, followed by</li>
+ *     <li>an optional negative sign, followed by</li>
+ *     <li>1 or more contiguous digits, followed by</li>
+ *     <li>any number of spaces</li>
+ * </ul>
+ */
+final class FractionParser {
+
+    /**
+     * Any magnitude at or above this is outside of <pre>int</pre> range, so digits are no longer accumulated
+     * once it has been reached (which also keeps the accumulated value from overflowing a <pre>long</pre>).
+     */
+    private static final long OUT_OF_RANGE = 1L << 32;
+
+    private FractionParser() {
+    }
+
+    /**
+     * Parses the characters of <pre>text</pre> from index <pre>from</pre> (inclusive) to <pre>to</pre> (exclusive).
+     *
+     * Returns the <em>numerator</em> and <em>denominator</em> exactly as written (i.e. not normalised), packed
+     * into a <pre>long</pre> as by {@link PackedFractions}: the numerator in the upper 32 bits and the denominator
+     * in the lower 32 bits, as read by {@link #numerator(long)} and {@link #denominator(long)}. The denominator is
+     * <pre>1</pre> where none was given. A zero denominator is <em>not</em> rejected here; that is left to
+     * normalisation.
+     *
+     * A <pre>NumberFormatException</pre> is thrown if the text does not match the grammar, or if the
+     * <em>numerator</em> and/or <em>denominator</em> cannot be represented by <pre>int</pre> values (in that order
+     * of precedence, as with the original, regular expression based, parser).
+     *
+     * @param text the characters to parse
+     * @param from the index of the first character of the fraction
+     * @param to the index after the last character of the fraction
+     * @return the packed numerator and denominator
+     */
+    static long parse(CharSequence text, int from, int to) {
+        long numerator = 0;
+        long denominator = 1;
+        int i = from;
+        // the first pass reads the numerator, and a second pass is made for the denominator if a '/' follows it
+        for (boolean readingNumerator = true; ; readingNumerator = false) {
+            while (i < to && text.charAt(i) == ' ') {
+                i++;
+            }
+            boolean negative = i < to && text.charAt(i) == '-';
+            if (negative) {
+                i++;
+            }
+            int digitsStart = i;
+            long value = 0;
+            char c;
+            while (i < to && (c = text.charAt(i)) >= '0' && c <= '9') {
+                value = Math.min(value * 10 + (c - '0'), OUT_OF_RANGE);
+                i++;
+            }
+            if (i == digitsStart) {
+                throw invalidFormat();
+            }
+            while (i < to && text.charAt(i) == ' ') {
+                i++;
+            }
+
+            if (!readingNumerator) {
+                denominator = negative ? -value : value;
+                break;
+            }
+            numerator = negative ? -value : value;
+            if (i == to || text.charAt(i) != '/') {
+                break;
+            }
+            i++;
+        }
+
+        if (i != to) {
+            throw invalidFormat();
+        }
+        if (numerator != (int) numerator || denominator != (int) denominator) {
+            throw new NumberFormatException("Fraction's numerator and denominator must be within the range, " +
+                    "Integer.MIN_VALUE = -2147483648, Integer.MAX_VALUE = 2147483647");
+        }
+        return PackedFractions.pack((int) numerator, (int) denominator);
+    }
+
+    /**
+     * @param parsed a numerator and denominator packed by {@link #parse(CharSequence, int, int)}
+     * @return the numerator
+     */
+    static int numerator(long parsed) {
+        return PackedFractions.numerator(parsed);
+    }
+
+    /**
+     * @param parsed a numerator and denominator packed by {@link #parse(CharSequence, int, int)}
+     * @return the denominator
+     */
+    static int denominator(long parsed) {
+        return PackedFractions.denominator(parsed);
+    }
+
+    private static NumberFormatException invalidFormat() {
+        return new NumberFormatException("Please provide one integer, or two integers " +
+                "separated by a '/' (e.g. \"2/4\"). Integers should not contain thousands separators.");
+    }
+}
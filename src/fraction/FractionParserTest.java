@@ -0,0 +1,109 @@
+package fraction;
+
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionParserTest {
+    /*
+    Tests in this file check that FractionParser accepts exactly the grammar, and throws exactly the exceptions,
+    of the regular expression based parser it replaced, which is reproduced below as the reference implementation.
+    Each parse is summarised as a String: either the packed numerator and denominator, or the exception thrown.
+    */
+
+    private static String referenceParse(String fraction) {
+        if (!fraction.matches("^ *-?[0-9]+ *(?:/ *-?[0-9]+ *)?$")) {
+            return "NumberFormatException: format";
+        }
+        String[] s = fraction.split("/");
+        try {
+            int num = Integer.parseInt(s[0].trim());
+            int den = s.length > 1 ? Integer.parseInt(s[1].trim()) : 1;
+            return num + "/" + den;
+        } catch (NumberFormatException e) {
+            return "NumberFormatException: range";
+        }
+    }
+
+    private static String parse(CharSequence fraction) {
+        try {
+            long parsed = FractionParser.parse(fraction, 0, fraction.length());
+            return FractionParser.numerator(parsed) + "/" + FractionParser.denominator(parsed);
+        } catch (NumberFormatException e) {
+            return "NumberFormatException: " + (e.getMessage().startsWith("Please") ? "format" : "range");
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ExampleTest {
+
+        @Parameters(name = "{index}: \"{0}\"")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                {"0"}, {"-0"}, {"5"}, {"-3"}, {"8/-12"}, {"  -8  /  -12  "}, {"00003000/-000027000"},
+                {"2147483647"}, {"-2147483648"}, {"2147483648"}, {"-2147483649"}, {"1/2147483648"},
+                {"99999999999999999999999/1"}, {"1/0"}, {"99999999999/0"},
+                {""}, {" "}, {"/"}, {"-"}, {"1/"}, {"/1"}, {"1//2"}, {"1/2/3"}, {"--1"}, {"- 1"}, {"+1"},
+                {"1 2"}, {"\t1"}, {"1\n"}, {"1.5"}, {"1,000"}, {"1/-"}, {"2\\4"}, {"99999999999 2"},
+            });
+        }
+
+        private final String input;
+
+        public ExampleTest(String input) {
+            this.input = input;
+        }
+
+        @Test
+        public void parseTest() {
+            Assert.assertEquals(referenceParse(input), parse(input));
+        }
+
+        @Test
+        public void subSequenceTest() {
+            // tests that only the given range of a longer sequence is read
+            StringBuilder padded = new StringBuilder("7/").append(input).append("/7");
+            try {
+                long parsed = FractionParser.parse(padded, 2, 2 + input.length());
+                Assert.assertEquals(referenceParse(input),
+                        FractionParser.numerator(parsed) + "/" + FractionParser.denominator(parsed));
+            } catch (NumberFormatException e) {
+                Assert.assertTrue(referenceParse(input).startsWith("NumberFormatException"));
+            }
+        }
+    }
+
+    public static class RandomTest {
+
+        @Test
+        public void randomStringsTest() {
+            // tests strings built mostly from characters of the grammar, so that near misses are common
+            String alphabet = "  -/0123456789x9";
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 100_000; i++) {
+                char[] chars = new char[random.nextInt(0, 16)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+                String input = new String(chars);
+                Assert.assertEquals(input, referenceParse(input), parse(input));
+            }
+        }
+
+        @Test
+        public void randomFractionsTest() {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 100_000; i++) {
+                long numerator = random.nextLong() >> random.nextInt(64);
+                long denominator = random.nextLong() >> random.nextInt(64);
+                String input = " ".repeat(random.nextInt(3)) + numerator + " ".repeat(random.nextInt(3)) + "/"
+                        + " ".repeat(random.nextInt(3)) + denominator + " ".repeat(random.nextInt(3));
+                Assert.assertEquals(input, referenceParse(input), parse(input));
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package fraction;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Parallel reductions (sum, product, minimum, maximum and the indices of the maxima) over collections of
+ * <pre>Fraction</pre> values and over {@link FractionArray} columns, using fork/join tasks.
+ *
+ * Sums and products are found by {@link Fractions}, so that they never overflow, and are combined as a balanced
+ * tree (<pre>((a + b) + (c + d))</pre> rather than <pre>(((a + b) + c) + d)</pre>), both across tasks and within
+ * them: each partial result then covers only a run of neighbouring elements, which keeps intermediate
+ * denominators smaller, and promotions to wider implementations later, than a left-to-right fold. As fraction
+ * arithmetic is exact, the order of combination never changes a result.
+ *
+ * The tasks run in the <pre>ForkJoinPool</pre> of the calling thread where it is a worker of one, and otherwise
+ * in the common pool. Inputs of up to {@link #LEAF_SIZE} elements are reduced on the calling thread alone.
+ */
+public final class FractionReductions {
+
+    /**
+     * The number of elements below which a task is reduced sequentially rather than split in two.
+     */
+    static final int LEAF_SIZE = 2048;
+
+    private FractionReductions() {
+    }
+
+    /**
+     * Returns the sum of <pre>fractions</pre>, or zero if there are none.
+     *
+     * @param fractions the fractions to sum
+     * @return their sum, promoted to a wider implementation if necessary
+     */
+    public static Fraction sum(Collection<? extends Fraction> fractions) {
+        Fraction[] array = fractions.toArray(new Fraction[0]);
+        return array.length == 0 ? Fraction.of(0) : reduce(i -> array[i], array.length, Fractions::add);
+    }
+
+    /**
+     * Returns the sum of the elements of <pre>array</pre>, or zero if there are none.
+     *
+     * @param array the fractions to sum
+     * @return their sum, promoted to a wider implementation if necessary
+     */
+    public static Fraction sum(FractionArray array) {
+        return array.size() == 0 ? Fraction.of(0) : reduce(array::get, array.size(), Fractions::add);
+    }
+
+    /**
+     * Returns the product of <pre>fractions</pre>, or one if there are none.
+     *
+     * @param fractions the fractions to multiply
+     * @return their product, promoted to a wider implementation if necessary
+     */
+    public static Fraction product(Collection<? extends Fraction> fractions) {
+        Fraction[] array = fractions.toArray(new Fraction[0]);
+        return array.length == 0 ? Fraction.of(1) : reduce(i -> array[i], array.length, Fractions::multiply);
+    }
+
+    /**
+     * Returns the product of the elements of <pre>array</pre>, or one if there are none.
+     *
+     * @param array the fractions to multiply
+     * @return their product, promoted to a wider implementation if necessary
+     */
+    public static Fraction product(FractionArray array) {
+        return array.size() == 0 ? Fraction.of(1) : reduce(array::get, array.size(), Fractions::multiply);
+    }
+
+    private static Fraction reduce(IntFunction<Fraction> element, int size, BinaryOperator<Fraction> operator) {
+        return new ReduceTask(element, operator, 0, size).invoke();
+    }
+
+    /**
+     * Returns the least of <pre>fractions</pre> (the first of them, where several are equally least).
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if there are none.
+     *
+     * @param fractions the fractions
+     * @return the least of them
+     */
+    public static Fraction min(Collection<? extends Fraction> fractions) {
+        Fraction[] array = fractions.toArray(new Fraction[0]);
+        return array[first(argMax((i, j) -> array[j].compareTo(array[i]), array.length))];
+    }
+
+    /**
+     * Returns the least element of <pre>array</pre>.
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if it is empty.
+     *
+     * @param array the fractions
+     * @return the least of them
+     */
+    public static Fraction min(FractionArray array) {
+        return array.get(first(argMax((i, j) -> array.compare(j, i), array.size())));
+    }
+
+    /**
+     * Returns the greatest of <pre>fractions</pre> (the first of them, where several are equally greatest).
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if there are none.
+     *
+     * @param fractions the fractions
+     * @return the greatest of them
+     */
+    public static Fraction max(Collection<? extends Fraction> fractions) {
+        Fraction[] array = fractions.toArray(new Fraction[0]);
+        return array[first(argMax((i, j) -> array[i].compareTo(array[j]), array.length))];
+    }
+
+    /**
+     * Returns the greatest element of <pre>array</pre>.
+     *
+     * A <pre>NoSuchElementException</pre> is thrown if it is empty.
+     *
+     * @param array the fractions
+     * @return the greatest of them
+     */
+    public static Fraction max(FractionArray array) {
+        return array.get(first(argMax(array::compare, array.size())));
+    }
+
+    /**
+     * Returns the indices, in iteration order, of every one of <pre>fractions</pre> that is equal to the
+     * greatest of them, or an empty array if there are none.
+     *
+     * @param fractions the fractions
+     * @return the indices of the greatest of them
+     */
+    public static int[] argMax(Collection<? extends Fraction> fractions) {
+        Fraction[] array = fractions.toArray(new Fraction[0]);
+        return argMax((i, j) -> array[i].compareTo(array[j]), array.length);
+    }
+
+    /**
+     * Returns the indices, in ascending order, of every element of <pre>array</pre> that is equal to its
+     * greatest element, or an empty array if it is empty. No <pre>Fraction</pre> is created.
+     *
+     * @param array the fractions
+     * @return the indices of the greatest elements
+     */
+    public static int[] argMax(FractionArray array) {
+        return argMax(array::compare, array.size());
+    }
+
+    private static int[] argMax(IntBinaryOperator comparator, int size) {
+        return size == 0 ? new int[0] : new ArgMaxTask(comparator, 0, size).invoke();
+    }
+
+    private static int first(int[] indices) {
+        if (indices.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return indices[0];
+    }
+
+    /**
+     * Combines the (at least one) elements from <pre>from</pre> (inclusive) to <pre>to</pre> (exclusive) as a
+     * balanced tree, splitting into parallel subtasks down to {@link #LEAF_SIZE} elements.
+     */
+    private static final class ReduceTask extends RecursiveTask<Fraction> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntFunction<Fraction> element;
+        private final BinaryOperator<Fraction> operator;
+        private final int from, to;
+
+        ReduceTask(IntFunction<Fraction> element, BinaryOperator<Fraction> operator, int from, int to) {
+            this.element = element;
+            this.operator = operator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Fraction compute() {
+            if (this.to - this.from <= LEAF_SIZE) {
+                return reduce(this.from, this.to);
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ReduceTask left = new ReduceTask(this.element, this.operator, this.from, middle);
+            left.fork();
+            Fraction right = new ReduceTask(this.element, this.operator, middle, this.to).compute();
+            return this.operator.apply(left.join(), right);
+        }
+
+        private Fraction reduce(int from, int to) {
+            if (to - from == 1) {
+                return this.element.apply(from);
+            }
+            int middle = (from + to) >>> 1;
+            return this.operator.apply(reduce(from, middle), reduce(middle, to));
+        }
+    }
+
+    /**
+     * Finds the indices of the greatest of the (at least one) elements from <pre>from</pre> (inclusive) to
+     * <pre>to</pre> (exclusive), compared by index, splitting into parallel subtasks down to {@link #LEAF_SIZE}
+     * elements.
+     */
+    private static final class ArgMaxTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntBinaryOperator comparator;
+        private final int from, to;
+
+        ArgMaxTask(IntBinaryOperator comparator, int from, int to) {
+            this.comparator = comparator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (this.to - this.from <= LEAF_SIZE) {
+                return scan();
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ArgMaxTask left = new ArgMaxTask(this.comparator, this.from, middle);
+            left.fork();
+            int[] right = new ArgMaxTask(this.comparator, middle, this.to).compute();
+            int[] leftIndices = left.join();
+            int comparison = this.comparator.applyAsInt(leftIndices[0], right[0]);
+            if (comparison != 0) {
+                return comparison > 0 ? leftIndices : right;
+            }
+            int[] indices = Arrays.copyOf(leftIndices, leftIndices.length + right.length);
+            System.arraycopy(right, 0, indices, leftIndices.length, right.length);
+            return indices;
+        }
+
+        private int[] scan() {
+            int[] indices = new int[1];
+            indices[0] = this.from;
+            int count = 1;
+            for (int i = this.from + 1; i < this.to; i++) {
+                int comparison = this.comparator.applyAsInt(i, indices[0]);
+                if (comparison > 0) {
+                    indices[0] = i;
+                    count = 1;
+                } else if (comparison == 0) {
+                    if (count == indices.length) {
+                        indices = Arrays.copyOf(indices, count * 2);
+                    }
+                    indices[count++] = i;
+                }
+            }
+            return count == indices.length ? indices : Arrays.copyOf(indices, count);
+        }
+    }
+}
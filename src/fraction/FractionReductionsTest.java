@@ -0,0 +1,167 @@
+package fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionReductionsTest {
+    /*
+    Tests in this file check FractionReductions' parallel reductions against sequential left-to-right folds done
+    with BigFraction (so that nothing overflows), for inputs both smaller and many times larger than a single
+    task's share, given both as collections and as FractionArrays. Values are drawn from few enough distinct
+    fractions that the maxima are tied.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class ReductionTest {
+
+        @Parameters(name = "{index}: {0} elements")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {1},
+                    {2},
+                    {10},
+                    {FractionReductions.LEAF_SIZE},
+                    {FractionReductions.LEAF_SIZE + 1},
+                    {50_000},
+            });
+        }
+
+        private final List<Fraction> fractions = new ArrayList<>();
+        private final FractionArray array;
+
+        public ReductionTest(int size) {
+            SplittableRandom random = new SplittableRandom(size);
+            array = new FractionArray(size);
+            for (int i = 0; i < size; i++) {
+                Fraction f = Fraction.of(random.nextInt(-50, 50), random.nextInt(1, 20));
+                fractions.add(f);
+                array.set(i, f);
+            }
+        }
+
+        @Test
+        public void sumTest() {
+            Fraction expected = new BigFraction(0);
+            for (Fraction f : fractions) {
+                expected = expected.add(BigFraction.valueOf(f));
+            }
+            Assert.assertEquals(expected, FractionReductions.sum(fractions));
+            Assert.assertEquals(expected, FractionReductions.sum(array));
+        }
+
+        @Test
+        public void productTest() {
+            // a product of every element would be too large to compare quickly, so take the product of the
+            // ratios of neighbours, which telescopes
+            List<Fraction> ratios = new ArrayList<>();
+            FractionList ratioArray = new FractionList();
+            for (int i = 1; i < fractions.size(); i++) {
+                if (fractions.get(i - 1).compareTo(Fraction.of(0)) != 0) {
+                    Fraction ratio = fractions.get(i).divide(fractions.get(i - 1));
+                    ratios.add(ratio);
+                    ratioArray.add(ratio);
+                }
+            }
+            Fraction expected = new BigFraction(1);
+            for (Fraction f : ratios) {
+                expected = expected.multiply(BigFraction.valueOf(f));
+            }
+            Assert.assertEquals(expected, FractionReductions.product(ratios));
+            Assert.assertEquals(expected, FractionReductions.product(ratioArray));
+        }
+
+        @Test
+        public void minAndMaxTest() {
+            Fraction min = fractions.get(0), max = fractions.get(0);
+            for (Fraction f : fractions) {
+                min = f.compareTo(min) < 0 ? f : min;
+                max = f.compareTo(max) > 0 ? f : max;
+            }
+            Assert.assertEquals(min, FractionReductions.min(fractions));
+            Assert.assertEquals(min, FractionReductions.min(array));
+            Assert.assertEquals(max, FractionReductions.max(fractions));
+            Assert.assertEquals(max, FractionReductions.max(array));
+        }
+
+        @Test
+        public void argMaxTest() {
+            Fraction max = Collections.max(fractions);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < fractions.size(); i++) {
+                if (fractions.get(i).equals(max)) {
+                    expected.add(i);
+                }
+            }
+            Assert.assertEquals(expected, toList(FractionReductions.argMax(fractions)));
+            Assert.assertEquals(expected, toList(FractionReductions.argMax(array)));
+        }
+
+        private static List<Integer> toList(int[] indices) {
+            List<Integer> list = new ArrayList<>();
+            for (int index : indices) {
+                list.add(index);
+            }
+            return list;
+        }
+    }
+
+    public static class EdgeCaseTest {
+
+        @Test
+        public void emptySumIsZeroTest() {
+            Assert.assertEquals(Fraction.of(0), FractionReductions.sum(Collections.emptyList()));
+            Assert.assertEquals(Fraction.of(0), FractionReductions.sum(new FractionArray(0)));
+        }
+
+        @Test
+        public void emptyProductIsOneTest() {
+            Assert.assertEquals(Fraction.of(1), FractionReductions.product(Collections.emptyList()));
+            Assert.assertEquals(Fraction.of(1), FractionReductions.product(new FractionArray(0)));
+        }
+
+        @Test
+        public void emptyArgMaxTest() {
+            Assert.assertArrayEquals(new int[0], FractionReductions.argMax(Collections.emptyList()));
+            Assert.assertArrayEquals(new int[0], FractionReductions.argMax(new FractionArray(0)));
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void emptyMinException() {
+            FractionReductions.min(Collections.emptyList());
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void emptyMaxException() {
+            FractionReductions.max(new FractionArray(0));
+        }
+
+        @Test
+        public void sumPromotesTest() {
+            List<Fraction> fractions = Collections.nCopies(10_000, Fraction.of(Integer.MAX_VALUE));
+            Assert.assertEquals(new LongFraction(Integer.MAX_VALUE * 10_000L), FractionReductions.sum(fractions));
+        }
+
+        @Test
+        public void mixedImplementationsTest() {
+            List<Fraction> fractions = Arrays.asList(Fraction.of(1, 2), new LongFraction(Long.MAX_VALUE),
+                    new BigFraction(BigInteger.TEN.pow(30), BigInteger.ONE), new LongFraction(-3, 4));
+            Assert.assertEquals(new BigFraction(BigInteger.TEN.pow(30), BigInteger.ONE),
+                    FractionReductions.max(fractions));
+            Assert.assertEquals(new LongFraction(-3, 4), FractionReductions.min(fractions));
+            Assert.assertArrayEquals(new int[]{2}, FractionReductions.argMax(fractions));
+        }
+
+        @Test
+        public void argMaxOfGradesTest() {
+            // the example of Grade.java: 96/120 and 160/200 tie at 4/5, ahead of 138/180
+            List<Fraction> grades = Arrays.asList(Fraction.of(96, 120), Fraction.of(138, 180), Fraction.of(160, 200));
+            Assert.assertArrayEquals(new int[]{0, 2}, FractionReductions.argMax(grades));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package fraction;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Arithmetic on <pre>Fraction</pre> values that never overflows: where a result isn't representable by the
+ * implementation of its operands, it is promoted to a wider one, from <pre>FractionImpl</pre> (<pre>int</pre>
+ * components) to {@link LongFraction} (<pre>long</pre> components) to {@link BigFraction} (arbitrary precision).
+ *
+ * Operands of different implementations may be mixed, and a result is always at least as wide as the wider of
+ * its operands, so a calculation, once promoted, stays promoted. Two <pre>FractionImpl</pre> operands are worked
+ * on with <pre>long</pre> arithmetic, as by <pre>FractionImpl</pre> itself, and nothing is thrown or allocated
+ * beyond the result where it fits.
+ *
+ * Any other implementation of <pre>Fraction</pre> is read through {@link Fraction#bigNumerator()} and
+ * {@link Fraction#bigDenominator()}, and treated as the narrowest of the three that can represent its value.
+ *
+ * Promotions are counted, so that a batch job can report how often its values outgrew their representation.
+ */
+public final class Fractions {
+
+    private static final int INT = 0, LONG = 1, BIG = 2;
+
+    private static final LongAdder INT_TO_LONG = new LongAdder();
+    private static final LongAdder LONG_TO_BIG = new LongAdder();
+
+    private Fractions() {
+    }
+
+    // the width of a fraction that has been passed through known(Fraction)
+    private static int width(Fraction f) {
+        return f instanceof FractionImpl ? INT : f instanceof LongFraction ? LONG : BIG;
+    }
+
+    /**
+     * @param f a fraction of any implementation
+     * @return the fraction, or if it is of an implementation other than <pre>FractionImpl</pre>,
+     * <pre>LongFraction</pre> or <pre>BigFraction</pre>, the narrowest of these that represents its value
+     */
+    private static Fraction known(Fraction f) {
+        if (f instanceof FractionImpl || f instanceof LongFraction || f instanceof BigFraction) {
+            return f;
+        }
+        BigFraction big = BigFraction.valueOf(f);
+        if (!big.isInline()) {
+            return big;
+        }
+        long numerator = big.numerator(), denominator = big.denominator();
+        return (int) numerator == numerator && (int) denominator == denominator ?
+                FractionImpl.canonical(numerator, denominator, 1) : LongFraction.reduced(numerator, denominator);
+    }
+
+    private static BigFraction big(Fraction f) {
+        return BigFraction.valueOf(f);
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and (positive) <em>denominator</em> of a fraction in its lowest
+     * terms, computed from <pre>FractionImpl</pre> operands.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the fraction as a <pre>FractionImpl</pre>, or promoted to a <pre>LongFraction</pre> if it doesn't fit
+     */
+    private static Fraction intResult(long numerator, long denominator) {
+        if ((int) numerator == numerator && (int) denominator == denominator) {
+            return FractionImpl.canonical(numerator, denominator, 1);
+        }
+        INT_TO_LONG.increment();
+        return LongFraction.reduced(numerator, denominator);
+    }
+
+    /**
+     * @param packed a result of {@link IntArithmetic} on <pre>FractionImpl</pre> operands, which is not
+     * <pre>NOT_REPRESENTABLE</pre>
+     * @return the result as a <pre>FractionImpl</pre>
+     */
+    private static Fraction intResult(long packed) {
+        return FractionImpl.canonical(IntArithmetic.numerator(packed), IntArithmetic.denominator(packed), 1);
+    }
+
+    /**
+     * @param result a result computed from <pre>LongFraction</pre> (or narrower) operands
+     * @return the result as a <pre>LongFraction</pre>, or left as a <pre>BigFraction</pre> if it doesn't fit
+     */
+    private static Fraction longResult(BigFraction result) {
+        if (result.isInline()) {
+            return LongFraction.reduced(result.numerator(), result.denominator());
+        }
+        LONG_TO_BIG.increment();
+        return result;
+    }
+
+    /**
+     * Returns <pre>f1 + f2</pre>, promoted to a wider implementation if necessary.
+     *
+     * @param f1 the first fraction
+     * @param f2 the second fraction
+     * @return the sum of the fractions
+     */
+    public static Fraction add(Fraction f1, Fraction f2) {
+        return sum(known(f1), known(f2), false);
+    }
+
+    /**
+     * Returns <pre>f1 - f2</pre>, promoted to a wider implementation if necessary.
+     *
+     * @param f1 the first fraction
+     * @param f2 the second fraction
+     * @return the difference of the fractions
+     */
+    public static Fraction subtract(Fraction f1, Fraction f2) {
+        return sum(known(f1), known(f2), true);
+    }
+
+    private static Fraction sum(Fraction f1, Fraction f2, boolean subtract) {
+        switch (Math.max(width(f1), width(f2))) {
+            case INT:
+                long c = f2.numerator();
+                long packed = IntArithmetic.sum(f1.numerator(), f1.denominator(), subtract ? -c : c, f2.denominator());
+                if (packed != IntArithmetic.NOT_REPRESENTABLE) {
+                    return intResult(packed);
+                }
+                // a result that doesn't fit in integers always fits in longs
+                INT_TO_LONG.increment();
+                return longResult(BigFraction.sum(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator(), subtract));
+            case LONG:
+                return longResult(BigFraction.sum(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator(), subtract));
+            default:
+                return subtract ? big(f1).subtract(big(f2)) : big(f1).add(big(f2));
+        }
+    }
+
+    /**
+     * Returns <pre>f1 * f2</pre>, promoted to a wider implementation if necessary.
+     *
+     * @param f1 the first fraction
+     * @param f2 the second fraction
+     * @return the product of the fractions
+     */
+    public static Fraction multiply(Fraction f1, Fraction f2) {
+        f1 = known(f1);
+        f2 = known(f2);
+        switch (Math.max(width(f1), width(f2))) {
+            case INT:
+                long packed = IntArithmetic.product(f1.numerator(), f1.denominator(), f2.numerator(), f2.denominator());
+                if (packed != IntArithmetic.NOT_REPRESENTABLE) {
+                    return intResult(packed);
+                }
+                INT_TO_LONG.increment();
+                return longResult(BigFraction.product(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator()));
+            case LONG:
+                return longResult(BigFraction.product(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator()));
+            default:
+                return big(f1).multiply(big(f2));
+        }
+    }
+
+    /**
+     * Returns <pre>f1 / f2</pre>, promoted to a wider implementation if necessary.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f2</pre> is zero.
+     *
+     * @param f1 the first fraction
+     * @param f2 the second fraction
+     * @return the quotient of the fractions
+     */
+    public static Fraction divide(Fraction f1, Fraction f2) {
+        f1 = known(f1);
+        f2 = known(f2);
+        switch (Math.max(width(f1), width(f2))) {
+            case INT:
+                long packed = IntArithmetic.quotient(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator());
+                if (packed != IntArithmetic.NOT_REPRESENTABLE) {
+                    return intResult(packed);
+                }
+                INT_TO_LONG.increment();
+                return longResult(BigFraction.quotient(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator()));
+            case LONG:
+                return longResult(BigFraction.quotient(f1.numerator(), f1.denominator(),
+                        f2.numerator(), f2.denominator()));
+            default:
+                return big(f1).divide(big(f2));
+        }
+    }
+
+    /**
+     * Returns <pre>-f</pre>, promoted to a wider implementation if necessary (as where its numerator is the
+     * minimum value of its implementation).
+     *
+     * @param f the fraction
+     * @return the negated fraction
+     */
+    public static Fraction negate(Fraction f) {
+        f = known(f);
+        switch (width(f)) {
+            case INT:
+                return intResult(-f.numerator(), f.denominator());
+            case LONG:
+                if (f.numerator() == Long.MIN_VALUE) {
+                    LONG_TO_BIG.increment();
+                    return big(f).negate();
+                }
+                return f.negate();
+            default:
+                return f.negate();
+        }
+    }
+
+    /**
+     * Returns <pre>|f|</pre>, promoted to a wider implementation if necessary.
+     *
+     * @param f the fraction
+     * @return the absolute value of the fraction
+     */
+    public static Fraction abs(Fraction f) {
+        f = known(f);
+        return compare(f, FractionImpl.canonical(0, 1, 1)) < 0 ? negate(f) : f;
+    }
+
+    /**
+     * Returns <pre>1/f</pre>, promoted to a wider implementation if necessary.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is zero.
+     *
+     * @param f the fraction
+     * @return the inverse of the fraction
+     */
+    public static Fraction inverse(Fraction f) {
+        f = known(f);
+        switch (width(f)) {
+            case INT:
+                long numerator = f.numerator();
+                if (numerator == 0) {
+                    throw new ArithmeticException("Denominator cannot be zero");
+                }
+                return numerator < 0 ? intResult(-f.denominator(), -numerator) : intResult(f.denominator(), numerator);
+            case LONG:
+                if (f.numerator() == Long.MIN_VALUE) {
+                    LONG_TO_BIG.increment();
+                    return big(f).inverse();
+                }
+                return f.inverse();
+            default:
+                return f.inverse();
+        }
+    }
+
+    /**
+     * Compares two fractions by value, whatever their implementations.
+     *
+     * @param f1 the first fraction
+     * @param f2 the second fraction
+     * @return a negative integer, zero, or a positive integer as <pre>f1</pre> is less than, equal to, or greater
+     * than <pre>f2</pre>
+     */
+    public static int compare(Fraction f1, Fraction f2) {
+        f1 = known(f1);
+        f2 = known(f2);
+        if (Math.max(width(f1), width(f2)) == BIG) {
+            return big(f1).compareTo(big(f2));
+        }
+        long a = f1.numerator(), b = f1.denominator(), c = f2.numerator(), d = f2.denominator();
+        int sign = Long.signum(a);
+        int otherSign = Long.signum(c);
+        if (sign != otherSign) {
+            return sign < otherSign ? -1 : 1;
+        }
+        // denominators are positive, so a/b < c/d exactly when ad < cb, compared as 128-bit products
+        return Int128.compare(Math.multiplyHigh(a, d), a * d, Math.multiplyHigh(c, b), c * b);
+    }
+
+    /**
+     * @return the number of results promoted from <pre>FractionImpl</pre> to <pre>LongFraction</pre>
+     */
+    public static long intToLongPromotions() {
+        return INT_TO_LONG.sum();
+    }
+
+    /**
+     * @return the number of results promoted from <pre>LongFraction</pre> to <pre>BigFraction</pre>
+     */
+    public static long longToBigPromotions() {
+        return LONG_TO_BIG.sum();
+    }
+
+    /**
+     * Resets the promotion counts to zero.
+     */
+    public static void resetPromotionCounts() {
+        INT_TO_LONG.reset();
+        LONG_TO_BIG.reset();
+    }
+}
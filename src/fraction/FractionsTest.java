@@ -0,0 +1,329 @@
+package fraction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class FractionsTest {
+    /*
+    Tests in this file check that Fractions' promoting arithmetic gives the exact result (as found with
+    BigInteger) for operands of every implementation, mixed freely, and that each result is of the narrowest
+    implementation that is at least as wide as its operands and can represent it, counting each promotion.
+    Implementations other than this package's are read by value, and every implementation interoperates.
+    */
+
+    private static final int INT = 0, LONG = 1, BIG = 2;
+
+    private static int width(Fraction f) {
+        return f instanceof FractionImpl ? INT : f instanceof LongFraction ? LONG : BIG;
+    }
+
+    private static int widthOf(String value) {
+        long bits = Arrays.stream(value.split("/")).mapToInt(part -> new BigInteger(part).bitLength()).max()
+                .getAsInt();
+        return bits < 32 ? INT : bits < 64 ? LONG : BIG;
+    }
+
+    private static Fraction of(int width, long numerator, long denominator) {
+        switch (width) {
+            case INT:
+                return new FractionImpl((int) numerator, (int) denominator);
+            case LONG:
+                return new LongFraction(numerator, denominator);
+            default:
+                return new BigFraction(numerator, denominator);
+        }
+    }
+
+    private static String reference(BigInteger n, BigInteger d) {
+        if (d.signum() == 0) {
+            return "ArithmeticException";
+        }
+        BigInteger g = n.gcd(d);
+        if (d.signum() < 0) {
+            g = g.negate();
+        }
+        n = n.divide(g);
+        d = d.divide(g);
+        return d.equals(BigInteger.ONE) ? n.toString() : n + "/" + d;
+    }
+
+    private static void check(String expected, BinaryOperator<Fraction> operation, Fraction f1, Fraction f2) {
+        Fraction result;
+        try {
+            result = operation.apply(f1, f2);
+        } catch (ArithmeticException e) {
+            Assert.assertEquals("ArithmeticException", expected);
+            return;
+        }
+        Assert.assertEquals(expected, result.toString());
+        int width = Math.max(Math.max(width(f1), width(f2)), widthOf(expected));
+        Assert.assertEquals(f1 + " and " + f2 + " gave " + result.getClass().getSimpleName(), width, width(result));
+    }
+
+    private static final long[][] OPERANDS = {
+            {0, 1},
+            {1, 1},
+            {-3, 8},
+            {Integer.MAX_VALUE, 1},
+            {Integer.MIN_VALUE, 1},
+            {1, Integer.MAX_VALUE},
+            {Integer.MIN_VALUE, Integer.MAX_VALUE},
+            {46_337, 46_339},
+    };
+
+    @RunWith(Parameterized.class)
+    public static class ArithmeticTest {
+
+        @Parameters(name = "{index}: {0}/{1} ({4}) and {2}/{3} ({5})")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (long[] first : OPERANDS) {
+                for (long[] second : OPERANDS) {
+                    for (int width1 = INT; width1 <= BIG; width1++) {
+                        for (int width2 = INT; width2 <= BIG; width2++) {
+                            data.add(new Object[] {first[0], first[1], second[0], second[1], width1, width2});
+                        }
+                    }
+                }
+            }
+            // long operands whose results need promoting to BigFraction
+            data.add(new Object[] {Long.MAX_VALUE, 1, Long.MAX_VALUE, 1, LONG, LONG});
+            data.add(new Object[] {Long.MIN_VALUE, 1, 3, 7, LONG, INT});
+            data.add(new Object[] {Long.MAX_VALUE, 3, -1, 2, LONG, LONG});
+            return data;
+        }
+
+        private final BigInteger a, b, c, d;
+        private final Fraction f1, f2;
+
+        public ArithmeticTest(long a, long b, long c, long d, int width1, int width2) {
+            this.a = BigInteger.valueOf(a);
+            this.b = BigInteger.valueOf(b);
+            this.c = BigInteger.valueOf(c);
+            this.d = BigInteger.valueOf(d);
+            this.f1 = of(width1, a, b);
+            this.f2 = of(width2, c, d);
+        }
+
+        @Test
+        public void addTest() {
+            check(reference(a.multiply(d).add(c.multiply(b)), b.multiply(d)), Fractions::add, f1, f2);
+        }
+
+        @Test
+        public void subtractTest() {
+            check(reference(a.multiply(d).subtract(c.multiply(b)), b.multiply(d)), Fractions::subtract, f1, f2);
+        }
+
+        @Test
+        public void multiplyTest() {
+            check(reference(a.multiply(c), b.multiply(d)), Fractions::multiply, f1, f2);
+        }
+
+        @Test
+        public void divideTest() {
+            check(reference(a.multiply(d), b.multiply(c)), Fractions::divide, f1, f2);
+        }
+
+        @Test
+        public void compareTest() {
+            Assert.assertEquals(a.multiply(d).compareTo(c.multiply(b)), Integer.signum(Fractions.compare(f1, f2)));
+        }
+
+        @Test
+        public void unaryTest() {
+            check(reference(a.negate(), b), (x, y) -> Fractions.negate(x), f1, f1);
+            check(reference(a.abs(), b), (x, y) -> Fractions.abs(x), f1, f1);
+            check(reference(b, a), (x, y) -> Fractions.inverse(x), f1, f1);
+        }
+    }
+
+    public static class PromotionCountTest {
+
+        @Before
+        public void reset() {
+            Fractions.resetPromotionCounts();
+        }
+
+        @Test
+        public void fittingResultsAreNotPromotedTest() {
+            Fraction sum = Fractions.add(new FractionImpl(1, 4), new FractionImpl(1, 4));
+            Assert.assertSame(Fraction.of(1, 2), sum);
+            Assert.assertEquals(0, Fractions.intToLongPromotions());
+            Assert.assertEquals(0, Fractions.longToBigPromotions());
+        }
+
+        @Test
+        public void overflowIsPromotedAndCountedTest() {
+            Fraction max = new FractionImpl(Integer.MAX_VALUE);
+            Fraction square = Fractions.multiply(max, max);
+            Assert.assertTrue(square instanceof LongFraction);
+            Assert.assertEquals(1, Fractions.intToLongPromotions());
+            Fraction fourth = Fractions.multiply(square, square);
+            Assert.assertTrue(fourth instanceof BigFraction);
+            Assert.assertEquals(1, Fractions.longToBigPromotions());
+            Assert.assertEquals(BigInteger.valueOf(Integer.MAX_VALUE).pow(4).toString(), fourth.toString());
+        }
+
+        @Test
+        public void minimumValuesArePromotedByNegateTest() {
+            Assert.assertEquals("2147483648", Fractions.negate(new FractionImpl(Integer.MIN_VALUE)).toString());
+            Assert.assertEquals("9223372036854775808", Fractions.negate(new LongFraction(Long.MIN_VALUE)).toString());
+            Assert.assertEquals(1, Fractions.intToLongPromotions());
+            Assert.assertEquals(1, Fractions.longToBigPromotions());
+        }
+    }
+
+    public static class ExceptionTest {
+
+        @Test(expected = ArithmeticException.class)
+        public void divideByZeroException() {
+            Fractions.divide(new FractionImpl(1), new LongFraction(0));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void inverseOfZeroException() {
+            Fractions.inverse(new FractionImpl(0));
+        }
+
+    }
+
+    /**
+     * A minimal implementation of Fraction, other than those of this package, whose arithmetic is Fractions'.
+     * As an implementation written before the accessors were added would, it is read through toString().
+     */
+    private static final class ForeignFraction implements Fraction {
+        private final long numerator, denominator;
+
+        ForeignFraction(long numerator, long denominator) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+
+        @Override
+        public Fraction add(Fraction f) {
+            return Fractions.add(this, f);
+        }
+
+        @Override
+        public Fraction subtract(Fraction f) {
+            return Fractions.subtract(this, f);
+        }
+
+        @Override
+        public Fraction multiply(Fraction f) {
+            return Fractions.multiply(this, f);
+        }
+
+        @Override
+        public Fraction divide(Fraction f) {
+            return Fractions.divide(this, f);
+        }
+
+        @Override
+        public Fraction abs() {
+            return Fractions.abs(this);
+        }
+
+        @Override
+        public Fraction negate() {
+            return Fractions.negate(this);
+        }
+
+        @Override
+        public Fraction inverse() {
+            return Fractions.inverse(this);
+        }
+
+        @Override
+        public int compareTo(Fraction f) {
+            return Fractions.compare(this, f);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Fraction) && compareTo((Fraction) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Fraction.hash(numerator, denominator);
+        }
+
+        @Override
+        public String toString() {
+            return denominator == 1 ? Long.toString(numerator) : numerator + "/" + denominator;
+        }
+    }
+
+    public static class InteroperabilityTest {
+
+        private final Fraction foreign = new ForeignFraction(3, 4);
+
+        @Test
+        public void foreignOperandsAreReadByValueTest() {
+            Assert.assertSame(Fraction.of(5, 4), new FractionImpl(1, 2).add(foreign));
+            Assert.assertEquals(new LongFraction(1, 4), new LongFraction(1).subtract(foreign));
+            Assert.assertEquals(new BigFraction(9, 16), new BigFraction(3, 4).multiply(foreign));
+            Assert.assertEquals(Fraction.of(3, 2), foreign.divide(new FractionImpl(1, 2)));
+            Assert.assertTrue(foreign.add(foreign) instanceof FractionImpl);
+        }
+
+        @Test
+        public void wideForeignValuesArePromotedTest() {
+            Fraction wide = new ForeignFraction(Long.MAX_VALUE, 1);
+            Assert.assertTrue(Fractions.add(new FractionImpl(1), wide) instanceof BigFraction);
+            Assert.assertTrue(Fractions.add(new FractionImpl(1), new ForeignFraction(Integer.MAX_VALUE, 1))
+                    instanceof LongFraction);
+        }
+
+        @Test
+        public void implementationsAreEqualByValueTest() {
+            Fraction[] equal = {new FractionImpl(3, 4), new LongFraction(3, 4), new BigFraction(3, 4), foreign};
+            for (Fraction f1 : equal) {
+                for (Fraction f2 : equal) {
+                    Assert.assertEquals(f1, f2);
+                    Assert.assertEquals(0, f1.compareTo(f2));
+                    Assert.assertEquals(f1.hashCode(), f2.hashCode());
+                }
+                Assert.assertTrue(f1.compareTo(new LongFraction(Long.MAX_VALUE, Long.MAX_VALUE - 1)) < 0);
+                Assert.assertNotEquals(f1, new BigFraction(-3, 4));
+            }
+        }
+
+        @Test
+        public void accessorsAreNormalisedTest() {
+            for (Fraction f : new Fraction[] {new FractionImpl(6, -8), new LongFraction(6, -8), new BigFraction(6, -8),
+                    new ForeignFraction(6, -8)}) {
+                Assert.assertEquals(-3, f.numerator());
+                Assert.assertEquals(4, f.denominator());
+                Assert.assertEquals(BigInteger.valueOf(-3), f.bigNumerator());
+                Assert.assertEquals(BigInteger.valueOf(4), f.bigDenominator());
+            }
+        }
+
+        @Test
+        public void appendToDefaultsToToStringTest() throws IOException {
+            StringBuilder sb = new StringBuilder("x = ");
+            Assert.assertSame(sb, foreign.appendTo(sb));
+            Assert.assertEquals("x = 3/4", sb.toString());
+            StringWriter writer = new StringWriter();
+            Assert.assertSame(writer, foreign.appendTo((Appendable) writer));
+            Assert.assertEquals("3/4", writer.toString());
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void promotedNumeratorIsNotRepresentableInLongException() {
+            new BigFraction(Long.MIN_VALUE).negate().numerator();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package fraction;
+
+/**
+ * Algorithms for finding the greatest common divisor of two <pre>long</pre> values, as needed to normalise
+ * a fraction's <em>numerator</em> and <em>denominator</em>.
+ *
+ * Every engine gives the same result: the non-negative greatest common divisor of the absolute values of its
+ * parameters, which is <pre>0</pre> only when both are <pre>0</pre>. As with {@link Math#abs(long)}, the one
+ * result that isn't representable, 2<sup>63</sup> (e.g. <pre>gcd(Long.MIN_VALUE, 0)</pre>), is returned as
+ * {@link Long#MIN_VALUE}.
+ */
+enum GcdEngine {
+
+    /**
+     * Iterative Euclid: replace the larger number with the remainder of dividing it by the smaller until the
+     * remainder is zero. Cheap for small operands, but each step is a (slow) 64-bit division.
+     */
+    EUCLID {
+        @Override
+        long gcd(long num1, long num2) {
+            // the remainder takes the sign of the dividend, so working on signed values is safe, even for
+            // Long.MIN_VALUE; only the final result need be made positive
+            while (num2 != 0) {
+                long remainder = num1 % num2;
+                num1 = num2;
+                num2 = remainder;
+            }
+            return Math.abs(num1);
+        }
+    },
+
+    /**
+     * Binary (Stein's) algorithm: strip common factors of two using {@link Long#numberOfTrailingZeros(long)},
+     * then repeatedly replace the larger of two odd numbers with their difference. Uses only shifts and
+     * subtraction, and selects the smaller value without branching.
+     */
+    BINARY {
+        @Override
+        long gcd(long num1, long num2) {
+            // as unsigned values, the absolute value of Long.MIN_VALUE (2^63) is representable
+            long a = Math.abs(num1);
+            long b = Math.abs(num2);
+            if (a == 0) { return b; }
+            if (b == 0) { return a; }
+
+            int shift = Long.numberOfTrailingZeros(a | b);
+            a >>>= Long.numberOfTrailingZeros(a);
+            // a is odd from here on, and neither value exceeds Long.MAX_VALUE once b has been shifted
+            while (b != 0) {
+                b >>>= Long.numberOfTrailingZeros(b);
+                long difference = b - a;
+                long negative = difference >> 63;
+                a += difference & negative;                // the smaller of a and b
+                b = (difference ^ negative) - negative;    // |b - a|, which is even
+            }
+            return a << shift;
+        }
+    },
+
+    /**
+     * Chooses between the other engines by operand magnitude. The binary algorithm is the quicker of the two
+     * (see <pre>GcdBenchmark</pre>) except where one operand is many bits wider than the other: its subtractions
+     * then shrink the wider operand a few bits at a time, where a single Euclid step would reduce it to below the
+     * narrower one at once.
+     */
+    ADAPTIVE {
+        @Override
+        long gcd(long num1, long num2) {
+            int gap = Long.numberOfLeadingZeros(Math.abs(num2)) - Long.numberOfLeadingZeros(Math.abs(num1));
+            if (gap > SKEW_THRESHOLD && num2 != 0) {
+                num1 %= num2;
+            } else if (gap < -SKEW_THRESHOLD && num1 != 0) {
+                num2 %= num1;
+            }
+            return BINARY.gcd(num1, num2);
+        }
+    };
+
+    /**
+     * The difference in bit length beyond which {@link #ADAPTIVE} takes a Euclid step before the binary algorithm.
+     */
+    private static final int SKEW_THRESHOLD = 16;
+
+    /**
+     * Returns the greatest common divisor of the parameters, which needn't be passed in any particular order.
+     *
+     * @param num1 numerator/denominator
+     * @param num2 numerator/denominator (num 2 must be whichever of these two that num1 is not)
+     * @return the greatest common divisor
+     */
+    abstract long gcd(long num1, long num2);
+}
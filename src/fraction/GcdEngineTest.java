@@ -0,0 +1,138 @@
+package fraction;
+
+import java.util.*;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class GcdEngineTest {
+    /*
+    Tests in this file check each GcdEngine against the recursive algorithm originally used by FractionImpl.gcd,
+    which is reproduced below as the reference implementation.
+    */
+
+    private static long referenceGcd(long num1, long num2) {
+        long larger = Math.max(Math.abs(num1), Math.abs(num2));
+        long smaller = Math.min(Math.abs(num1), Math.abs(num2));
+
+        if (smaller == 0) { return larger; }
+        return referenceGcd(larger % smaller, smaller);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class EdgeCaseTest {
+
+        @Parameters(name = "{index}: {0}.gcd({1}, {2})")
+        public static Collection<Object[]> data() {
+            long[][] pairs = {
+                {0, 0},
+                {0, 7},
+                {-7, 0},
+                {1, 1},
+                {17, -119},
+                {-666, -999},
+                {1_048_576, -40_000_000},
+                {Integer.MAX_VALUE, Integer.MIN_VALUE},
+                {Integer.MIN_VALUE, Integer.MIN_VALUE},
+                {(long) Integer.MIN_VALUE * Integer.MIN_VALUE, Integer.MIN_VALUE},
+                {15_032_385_529L, 81_604_378_586L},
+                {Long.MAX_VALUE, Long.MAX_VALUE - 1},
+                {Long.MAX_VALUE, 7 * 7 * 73},
+                {1L << 62, 3L << 40},
+                // tests that a skewed pair (which takes a Euclid step in the adaptive engine) is handled
+                {3_000_000_000_000_000_001L, 3},
+            };
+            List<Object[]> data = new ArrayList<>();
+            for (GcdEngine engine : GcdEngine.values()) {
+                for (long[] pair : pairs) {
+                    data.add(new Object[] {engine, pair[0], pair[1]});
+                }
+            }
+            return data;
+        }
+
+        private final GcdEngine engine;
+        private final long num1;
+        private final long num2;
+
+        public EdgeCaseTest(GcdEngine engine, long num1, long num2) {
+            this.engine = engine;
+            this.num1 = num1;
+            this.num2 = num2;
+        }
+
+        @Test
+        public void gcdTest() {
+            Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num1, num2));
+        }
+
+        @Test
+        public void gcdSwappedTest() {
+            Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num2, num1));
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class RandomTest {
+
+        @Parameters(name = "{index}: {0}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (GcdEngine engine : GcdEngine.values()) {
+                data.add(new Object[] {engine});
+            }
+            return data;
+        }
+
+        private final GcdEngine engine;
+
+        public RandomTest(GcdEngine engine) {
+            this.engine = engine;
+        }
+
+        @Test
+        public void smallOperandsTest() {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                long num1 = random.nextLong(-1000, 1000);
+                long num2 = random.nextLong(-1000, 1000);
+                Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num1, num2));
+            }
+        }
+
+        @Test
+        public void intOperandsTest() {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                long num1 = random.nextInt();
+                long num2 = random.nextInt();
+                Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num1, num2));
+            }
+        }
+
+        @Test
+        public void sharedFactorOperandsTest() {
+            // tests products of ints sharing a random factor, so that results other than 1 are common
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                long factor = random.nextInt(1, 1 << 16);
+                long num1 = factor * random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE) * random.nextInt(1, 1 << 15);
+                long num2 = factor * random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+                Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num1, num2));
+            }
+        }
+
+        @Test
+        public void longOperandsTest() {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < 10_000; i++) {
+                long num1 = random.nextLong(-Long.MAX_VALUE, Long.MAX_VALUE);
+                long num2 = random.nextLong(-Long.MAX_VALUE, Long.MAX_VALUE) >> random.nextInt(64);
+                Assert.assertEquals(referenceGcd(num1, num2), engine.gcd(num1, num2));
+            }
+        }
+    }
+}
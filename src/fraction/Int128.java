@@ -0,0 +1,142 @@
+package fraction;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic on 128-bit integers held as a pair of <pre>long</pre> values: the <em>high</em> 64 bits (signed)
+ * and the <em>low</em> 64 bits (unsigned).
+ *
+ * These let the products of two <pre>long</pre> values, which {@link Math#multiplyHigh(long, long)} and ordinary
+ * multiplication give the high and low halves of, be summed, compared and divided exactly, without
+ * <pre>BigInteger</pre>. Nothing here throws: callers check that a result fits where it needs to.
+ */
+final class Int128 {
+
+    private static final long DIGIT_MASK = 0xFFFFFFFFL;
+
+    private Int128() {
+    }
+
+    /**
+     * @param high the high 64 bits
+     * @param low the low 64 bits
+     * @return whether the 128-bit value is representable as a <pre>long</pre> (which is then <pre>low</pre>)
+     */
+    static boolean fitsLong(long high, long low) {
+        return high == (low >> 63);
+    }
+
+    /**
+     * @param high the high 64 bits
+     * @param low the low 64 bits
+     * @return the 128-bit value as a <pre>BigInteger</pre>
+     */
+    static BigInteger toBigInteger(long high, long low) {
+        BigInteger value = BigInteger.valueOf(high).shiftLeft(64).add(BigInteger.valueOf(low & Long.MAX_VALUE));
+        return low < 0 ? value.setBit(63) : value;
+    }
+
+    /**
+     * Returns the high 64 bits of <pre>-(high, low)</pre>; the low 64 bits are <pre>-low</pre>.
+     *
+     * @param high the high 64 bits
+     * @param low the low 64 bits
+     * @return the high 64 bits of the negated value
+     */
+    static long negateHigh(long high, long low) {
+        return low == 0 ? -high : ~high;
+    }
+
+    /**
+     * Returns the high 64 bits of the sum of two 128-bit values; the low 64 bits are <pre>low1 + low2</pre>.
+     *
+     * @param high1 the high 64 bits of the first value
+     * @param low1 the low 64 bits of the first value
+     * @param high2 the high 64 bits of the second value
+     * @param low2 the low 64 bits of the second value
+     * @return the high 64 bits of the sum
+     */
+    static long addHigh(long high1, long low1, long high2, long low2) {
+        // the low halves carried if, as unsigned values, their sum is less than either of them
+        return high1 + high2 + (Long.compareUnsigned(low1 + low2, low1) < 0 ? 1 : 0);
+    }
+
+    /**
+     * Compares two 128-bit signed values.
+     *
+     * @param high1 the high 64 bits of the first value
+     * @param low1 the low 64 bits of the first value
+     * @param high2 the high 64 bits of the second value
+     * @param low2 the low 64 bits of the second value
+     * @return a negative integer, zero, or a positive integer as the first value is less than, equal to, or
+     * greater than the second
+     */
+    static int compare(long high1, long low1, long high2, long low2) {
+        return high1 != high2 ? Long.compare(high1, high2) : Long.compareUnsigned(low1, low2);
+    }
+
+    /**
+     * Returns the remainder of dividing the unsigned 128-bit value <pre>(high, low)</pre> by the unsigned
+     * <pre>divisor</pre>, which must not be zero.
+     *
+     * @param high the high 64 bits of the dividend
+     * @param low the low 64 bits of the dividend
+     * @param divisor the divisor
+     * @return the (unsigned) remainder
+     */
+    static long remainderUnsigned(long high, long low, long divisor) {
+        long reducedHigh = Long.remainderUnsigned(high, divisor);
+        // the remainder is less than the divisor, so it is also the low 64 bits of dividend - quotient * divisor
+        return low - divideUnsigned(reducedHigh, low, divisor) * divisor;
+    }
+
+    /**
+     * Returns the quotient of dividing the unsigned 128-bit value <pre>(high, low)</pre> by the unsigned
+     * <pre>divisor</pre>, which must be (unsigned) greater than <pre>high</pre> so that the quotient fits in 64
+     * bits.
+     *
+     * This is the two-digit case of Knuth's Algorithm D, with 32-bit digits, as given in Hacker's Delight
+     * (<pre>divlu</pre>): the divisor is normalised so that its top bit is set, and each digit of the quotient is
+     * estimated from the leading digits and corrected at most twice.
+     *
+     * @param high the high 64 bits of the dividend
+     * @param low the low 64 bits of the dividend
+     * @param divisor the divisor
+     * @return the (unsigned) quotient
+     */
+    static long divideUnsigned(long high, long low, long divisor) {
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << shift;
+        long v1 = v >>> 32;
+        long v0 = v & DIGIT_MASK;
+
+        long u32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+        long u10 = low << shift;
+        long u1 = u10 >>> 32;
+        long u0 = u10 & DIGIT_MASK;
+
+        long q1 = Long.divideUnsigned(u32, v1);
+        long rhat = u32 - q1 * v1;
+        while (Long.compareUnsigned(q1, DIGIT_MASK) > 0
+                || Long.compareUnsigned(q1 * v0, (rhat << 32) | u1) > 0) {
+            q1--;
+            rhat += v1;
+            if (Long.compareUnsigned(rhat, DIGIT_MASK) > 0) {
+                break;
+            }
+        }
+
+        long u21 = (u32 << 32) + u1 - q1 * v;
+        long q0 = Long.divideUnsigned(u21, v1);
+        rhat = u21 - q0 * v1;
+        while (Long.compareUnsigned(q0, DIGIT_MASK) > 0
+                || Long.compareUnsigned(q0 * v0, (rhat << 32) | u0) > 0) {
+            q0--;
+            rhat += v1;
+            if (Long.compareUnsigned(rhat, DIGIT_MASK) > 0) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+}
@@ -0,0 +1,79 @@
+package fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+import org.junit.*;
+
+public class Int128Test {
+    /*
+    Tests in this file check Int128's helpers against the same operations on BigInteger, over random values and
+    values chosen to exercise carries and the correction steps of the division.
+    */
+
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private static BigInteger unsigned(long value) {
+        return BigInteger.valueOf(value).mod(TWO_64);
+    }
+
+    private static BigInteger signed(long high, long low) {
+        return BigInteger.valueOf(high).shiftLeft(64).add(unsigned(low));
+    }
+
+    private static BigInteger unsigned(long high, long low) {
+        return unsigned(high).shiftLeft(64).add(unsigned(low));
+    }
+
+    private static final long[] EDGES = {
+            0, 1, 2, 3, 0xFFFFFFFFL, 1L << 32, (1L << 32) + 1, 1L << 62, Long.MAX_VALUE, Long.MIN_VALUE,
+            Long.MIN_VALUE + 1, -2, -1, 0x8000_0000_FFFF_FFFFL, 0xFFFF_FFFF_0000_0000L,
+    };
+
+    private static long[] samples() {
+        SplittableRandom random = new SplittableRandom(128);
+        long[] samples = Arrays.copyOf(EDGES, EDGES.length + 200);
+        for (int i = EDGES.length; i < samples.length; i++) {
+            // varied widths, so that divisors with many leading zeros are tested too
+            samples[i] = random.nextLong() >>> random.nextInt(64);
+        }
+        return samples;
+    }
+
+    @Test
+    public void divideAndRemainderMatchBigInteger() {
+        long[] samples = samples();
+        for (long divisor : samples) {
+            if (divisor == 0) {
+                continue;
+            }
+            for (long high : samples) {
+                for (long low : EDGES) {
+                    BigInteger[] expected = unsigned(high, low).divideAndRemainder(unsigned(divisor));
+                    Assert.assertEquals(unsigned(Int128.remainderUnsigned(high, low, divisor)), expected[1]);
+                    if (Long.compareUnsigned(high, divisor) < 0) {
+                        Assert.assertEquals(unsigned(Int128.divideUnsigned(high, low, divisor)), expected[0]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void addNegateAndCompareMatchBigInteger() {
+        long[] samples = samples();
+        for (int i = 0; i + 3 < samples.length; i++) {
+            long high1 = samples[i], low1 = samples[i + 1], high2 = samples[i + 2], low2 = samples[i + 3];
+            BigInteger first = signed(high1, low1), second = signed(high2, low2);
+            BigInteger sum = first.add(second);
+            if (sum.bitLength() < 128) {
+                Assert.assertEquals(sum, signed(Int128.addHigh(high1, low1, high2, low2), low1 + low2));
+            }
+            if (!(high1 == Long.MIN_VALUE && low1 == 0)) {
+                Assert.assertEquals(first.negate(), signed(Int128.negateHigh(high1, low1), -low1));
+            }
+            Assert.assertEquals(Integer.signum(first.compareTo(second)),
+                    Integer.signum(Int128.compare(high1, low1, high2, low2)));
+            Assert.assertEquals(first.bitLength() < 64, Int128.fitsLong(high1, low1));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package fraction;
+
+/**
+ * Arithmetic on normalised fractions with <pre>int</pre> components, shared by {@link FractionImpl},
+ * {@link Fractions}, {@link MutableFraction} and {@link PackedFractions}.
+ *
+ * Each operation takes the <em>numerators</em> and (positive) <em>denominators</em> of two normalised fractions,
+ * <pre>a/b</pre> and <pre>c/d</pre>, as <pre>long</pre> values within <pre>int</pre> range (though <pre>c</pre>
+ * may be the negation of <pre>Integer.MIN_VALUE</pre>, for subtraction). No intermediate value can overflow a
+ * <pre>long</pre>. A result is returned normalised and packed as by <pre>PackedFractions</pre>, or as
+ * {@link #NOT_REPRESENTABLE} where it doesn't fit in integers, so that callers can choose whether to throw or
+ * widen without an exception being created.
+ */
+final class IntArithmetic {
+
+    /**
+     * Returned where a result is not representable in integers: a packed fraction whose denominator is zero,
+     * which no normalised fraction has.
+     */
+    static final long NOT_REPRESENTABLE = 0L;
+
+    private IntArithmetic() {
+    }
+
+    /**
+     * Returns <pre>a/b + c/d</pre>. Factors the two denominators share are divided out before any multiplication,
+     * so the result needs no further normalising beyond dividing out factors of <pre>gcd(b, d)</pre>.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return the packed sum, or <pre>NOT_REPRESENTABLE</pre>
+     */
+    static long sum(long a, long b, long c, long d) {
+        long g = FractionImpl.gcd(b, d);
+        if (g == 1) {
+            // coprime denominators: (ad + bc)/bd is already in its lowest terms
+            return pack(a * d + c * b, b * d);
+        }
+        // a/b + c/d is (a(d/g) + c(b/g))/((b/g)d), where the numerator can only share factors with g
+        long numerator = a * (d / g) + c * (b / g);
+        long g2 = FractionImpl.gcd(numerator, g);
+        return pack(numerator / g2, (b / g) * (d / g2));
+    }
+
+    /**
+     * Returns <pre>(a/b) * (c/d)</pre>.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return the packed product, or <pre>NOT_REPRESENTABLE</pre>
+     */
+    static long product(long a, long b, long c, long d) {
+        if (a == 0 || c == 0) {
+            return PackedFractions.ZERO;
+        }
+        // cancelling a with d, and c with b, leaves a product that is already in its lowest terms
+        long g1 = FractionImpl.gcd(a, d);
+        long g2 = FractionImpl.gcd(c, b);
+        return pack((a / g1) * (c / g2), (b / g2) * (d / g1));
+    }
+
+    /**
+     * Returns <pre>(a/b) / (c/d)</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>c</pre> is zero.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return the packed quotient, or <pre>NOT_REPRESENTABLE</pre>
+     */
+    static long quotient(long a, long b, long c, long d) {
+        if (c == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (a == 0) {
+            return PackedFractions.ZERO;
+        }
+        // cancelling a with c, and d with b, leaves a quotient that is already in its lowest terms
+        long g1 = FractionImpl.gcd(a, c);
+        long g2 = FractionImpl.gcd(d, b);
+        long numerator = (a / g1) * (d / g2);
+        long denominator = (b / g2) * (c / g1);
+        // only the sign of c can leave the denominator negative
+        return c < 0 ? pack(-numerator, -denominator) : pack(numerator, denominator);
+    }
+
+    /**
+     * Compares <pre>a/b</pre> with <pre>c/d</pre>, whose components are all within <pre>int</pre> range.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @return a negative integer, zero, or a positive integer as <pre>a/b</pre> is less than, equal to, or greater
+     * than <pre>c/d</pre>
+     */
+    static int compare(long a, long b, long c, long d) {
+        // denominators are positive, so a/b < c/d exactly when ad < cb; both products are within 2^62 in magnitude,
+        // so their difference cannot overflow, and its sign is found without branching
+        return Long.signum(a * d - c * b);
+    }
+
+    /**
+     * Returns <pre>packed</pre>, or throws an <pre>ArithmeticException</pre> if it is
+     * <pre>NOT_REPRESENTABLE</pre>.
+     *
+     * @param packed a result of this class
+     * @return the packed fraction
+     */
+    static long checked(long packed) {
+        if (packed == NOT_REPRESENTABLE) {
+            throw new ArithmeticException("Fraction not representable in integers.");
+        }
+        return packed;
+    }
+
+    /**
+     * @param packed a result of this class, other than <pre>NOT_REPRESENTABLE</pre>
+     * @return its numerator
+     */
+    static int numerator(long packed) {
+        return PackedFractions.numerator(packed);
+    }
+
+    /**
+     * @param packed a result of this class, other than <pre>NOT_REPRESENTABLE</pre>
+     * @return its denominator
+     */
+    static int denominator(long packed) {
+        return PackedFractions.denominator(packed);
+    }
+
+    private static long pack(long numerator, long denominator) {
+        return (int) numerator == numerator && (int) denominator == denominator ?
+                PackedFractions.pack((int) numerator, (int) denominator) : NOT_REPRESENTABLE;
+    }
+}
@@ -0,0 +1,391 @@
+package fraction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * A <pre>Fraction</pre> whose <em>numerator</em> and <em>denominator</em> are <pre>long</pre> values, for
+ * calculations (such as compounding) whose normalised values quickly outgrow <pre>int</pre>.
+ *
+ * Arithmetic is exact: intermediate products are carried as 128-bit values (see {@link Int128}), so an
+ * <pre>ArithmeticException</pre> is thrown only where the normalised result itself is not representable using
+ * <pre>long</pre> values.
+ *
+ * Arithmetic with an operand of another implementation is done by {@link Fractions}, and so promotes a result
+ * that doesn't fit rather than throwing.
+ */
+public class LongFraction implements Fraction {
+
+    private final long numerator, denominator;
+
+    /**
+     * Parameters are the <em>numerator</em> and the <em>denominator</em>, normalised as the fraction is created.
+     * For instance, if the parameters are <pre>(8, -12)</pre>, a <pre>Fraction</pre> with numerator
+     * <pre>-2</pre> and denominator <pre>3</pre> is created.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is not
+     * representable using <pre>long</pre> values (as with <pre>(1, Long.MIN_VALUE)</pre>).
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public LongFraction(long numerator, long denominator) {
+        this(numerator, denominator, divisor(numerator, denominator));
+    }
+
+    /**
+     * The parameter is the numerator and <pre>1</pre> is the implicit denominator.
+     *
+     * @param wholeNumber representing the numerator
+     */
+    public LongFraction(long wholeNumber) {
+        this(wholeNumber, 1, 1);
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction, and the signed
+     * <em>divisor</em> that normalises them; a divisor of <pre>1</pre> may be passed where the fraction is
+     * already known to be in its lowest terms with a positive denominator.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @param divisor the signed divisor that normalises the fraction
+     */
+    private LongFraction(long numerator, long denominator, long divisor) {
+        this.numerator = numerator / divisor;
+        this.denominator = denominator / divisor;
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and <em>denominator</em> of a fraction in its lowest terms, with
+     * a positive denominator.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the fraction
+     */
+    static LongFraction reduced(long numerator, long denominator) {
+        return new LongFraction(numerator, denominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long numerator() {
+        return this.numerator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public long denominator() {
+        return this.denominator;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigNumerator() {
+        return BigInteger.valueOf(this.numerator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public BigInteger bigDenominator() {
+        return BigInteger.valueOf(this.denominator);
+    }
+
+    /**
+     * Returns the signed divisor that normalises the fraction, as {@link FractionImpl#divisor(long, long)}
+     * does, having checked that dividing by it does not overflow.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the divisor that normalises the fraction
+     */
+    private static long divisor(long numerator, long denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        // only a divisor of -1 can overflow, negating Long.MIN_VALUE
+        if (divisor == -1 && (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)) {
+            throw notRepresentable();
+        }
+        return divisor;
+    }
+
+    private static ArithmeticException notRepresentable() {
+        return new ArithmeticException("Fraction not representable in longs.");
+    }
+
+    /**
+     * Returns the 128-bit value <pre>(high, low)</pre> as a <pre>long</pre>, or throws an
+     * <pre>ArithmeticException</pre> if it is not representable as one.
+     *
+     * @param high the high 64 bits
+     * @param low the low 64 bits
+     * @return the value as a <pre>long</pre>
+     */
+    private static long checkedLong(long high, long low) {
+        if (!Int128.fitsLong(high, low)) {
+            throw notRepresentable();
+        }
+        return low;
+    }
+
+    /**
+     * Returns <pre>x * y</pre>, or its negation, found exactly from the 128-bit product.
+     *
+     * @param x the first factor
+     * @param y the second factor
+     * @param negate whether to negate the product
+     * @return the (possibly negated) product
+     */
+    private static long checkedProduct(long x, long y, boolean negate) {
+        long high = Math.multiplyHigh(x, y);
+        long low = x * y;
+        return negate ? checkedLong(Int128.negateHigh(high, low), -low) : checkedLong(high, low);
+    }
+
+    /**
+     * The parameters are the <em>numerators</em> and (positive) <em>denominators</em> of two normalised fractions,
+     * <pre>a/b</pre> and <pre>c/d</pre>.
+     *
+     * Returns their sum, as {@link FractionImpl} does: with <pre>g = gcd(b, d)</pre>, the sum is
+     * <pre>(a(d/g) + c(b/g))/((b/g)d)</pre>, where the numerator can only share factors with <pre>g</pre>. The
+     * numerator is summed as a 128-bit value, so only the normalised result need fit in a <pre>long</pre>.
+     *
+     * @param a the first fraction's numerator
+     * @param b the first fraction's denominator
+     * @param c the second fraction's numerator
+     * @param d the second fraction's denominator
+     * @param subtract whether to subtract the second fraction rather than add it
+     * @return the normalised sum (or difference) of the two fractions
+     */
+    private static LongFraction sum(long a, long b, long c, long d, boolean subtract) {
+        long g = FractionImpl.gcd(b, d);
+        long bg = b / g, dg = d / g;
+
+        // each product is less than 2^126 in magnitude, so their sum cannot overflow 128 bits
+        long low1 = a * dg, low2 = c * bg;
+        long high1 = Math.multiplyHigh(a, dg), high2 = Math.multiplyHigh(c, bg);
+        if (subtract) {
+            // negated as a 128-bit value, as -c overflows where c is Long.MIN_VALUE
+            high2 = Int128.negateHigh(high2, low2);
+            low2 = -low2;
+        }
+        long high = Int128.addHigh(high1, low1, high2, low2);
+        long low = low1 + low2;
+
+        boolean negative = high < 0;
+        long magnitudeHigh = negative ? Int128.negateHigh(high, low) : high;
+        long magnitudeLow = negative ? -low : low;
+
+        long g2 = g == 1 ? 1 : FractionImpl.gcd(Int128.remainderUnsigned(magnitudeHigh, magnitudeLow, g), g);
+        // a quotient of 2^64 or more cannot be representable
+        if (Long.compareUnsigned(magnitudeHigh, g2) >= 0) {
+            throw notRepresentable();
+        }
+        long quotient = Int128.divideUnsigned(magnitudeHigh, magnitudeLow, g2);
+        // as unsigned, the magnitude may reach 2^63 (Long.MIN_VALUE) only if negative
+        if (negative ? Long.compareUnsigned(quotient, Long.MIN_VALUE) > 0 : quotient < 0) {
+            throw notRepresentable();
+        }
+        return new LongFraction(negative ? -quotient : quotient, checkedProduct(bg, d / g2, false), 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction add(Fraction f) {
+        // a/b + c/d is (ad + bc)/bd
+        if (!(f instanceof LongFraction)) {
+            return Fractions.add(this, f);
+        }
+        LongFraction other = (LongFraction) f;
+        return sum(this.numerator, this.denominator, other.numerator, other.denominator, false);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction subtract(Fraction f) {
+        // a/b - c/d is (ad - bc)/bd
+        if (!(f instanceof LongFraction)) {
+            return Fractions.subtract(this, f);
+        }
+        LongFraction other = (LongFraction) f;
+        return sum(this.numerator, this.denominator, other.numerator, other.denominator, true);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction multiply(Fraction f) {
+        // (a/b) * (c/d) is (a*c)/(b*d)
+        if (!(f instanceof LongFraction)) {
+            return Fractions.multiply(this, f);
+        }
+        LongFraction other = (LongFraction) f;
+        if (this.numerator == 0 || other.numerator == 0) {
+            return new LongFraction(0);
+        }
+        // cancelling a with d, and c with b, leaves a product that is already in its lowest terms
+        long g1 = FractionImpl.gcd(this.numerator, other.denominator);
+        long g2 = FractionImpl.gcd(other.numerator, this.denominator);
+        long numerator = checkedProduct(this.numerator / g1, other.numerator / g2, false);
+        long denominator = checkedProduct(this.denominator / g2, other.denominator / g1, false);
+        return new LongFraction(numerator, denominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction divide(Fraction f) {
+        // (a/b) / (c/d) is (a*d)/(b*c)
+        if (!(f instanceof LongFraction)) {
+            return Fractions.divide(this, f);
+        }
+        LongFraction other = (LongFraction) f;
+        if (other.numerator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (this.numerator == 0) {
+            return new LongFraction(0);
+        }
+        // cancelling a with c, and d with b, leaves a quotient that is already in its lowest terms
+        long g1 = FractionImpl.gcd(this.numerator, other.numerator);
+        long g2 = FractionImpl.gcd(other.denominator, this.denominator);
+        // only the sign of c/g1 can leave the denominator negative, in which case both products are negated
+        // (where a and c are both Long.MIN_VALUE, g1 is too, and the cancelled values are both positive)
+        long c = other.numerator / g1;
+        boolean negate = c < 0;
+        long numerator = checkedProduct(this.numerator / g1, other.denominator / g2, negate);
+        long denominator = checkedProduct(this.denominator / g2, c, negate);
+        return new LongFraction(numerator, denominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction abs() {
+        if (this.numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("Cannot represent the absolute value of a fraction " +
+                    "where the numerator is Long's minimum value.");
+        }
+        return new LongFraction(Math.abs(this.numerator), this.denominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction negate() {
+        if (this.numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("Cannot negate a fraction " +
+                    "where the numerator is Long's minimum value.");
+        }
+        return new LongFraction(-this.numerator, this.denominator, 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Fraction inverse() {
+        if (this.numerator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (this.numerator == Long.MIN_VALUE) {
+            throw notRepresentable();
+        }
+        // already in lowest terms, so only a negative sign needs moving back onto the numerator
+        return new LongFraction(this.denominator, this.numerator, this.numerator < 0 ? -1 : 1);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int compareTo(Fraction o) {
+        if (!(o instanceof LongFraction)) {
+            return Fractions.compare(this, o);
+        }
+        LongFraction other = (LongFraction) o;
+        int sign = Long.signum(this.numerator);
+        int otherSign = Long.signum(other.numerator);
+        if (sign != otherSign) {
+            return sign < otherSign ? -1 : 1;
+        }
+        // denominators are positive, so a/b < c/d exactly when ad < cb, compared as 128-bit products
+        long a = this.numerator, b = this.denominator, c = other.numerator, d = other.denominator;
+        return Int128.compare(Math.multiplyHigh(a, d), a * d, Math.multiplyHigh(c, b), c * b);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LongFraction) {
+            // normalised, so equal values have equal components
+            LongFraction other = (LongFraction) obj;
+            return this.numerator == other.numerator && this.denominator == other.denominator;
+        }
+        return (obj instanceof Fraction) && this.compareTo((Fraction) obj) == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int hashCode() {
+        // the same hash as a FractionImpl of equal value
+        return FractionImpl.hash(this.numerator, this.denominator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        return this.denominator != 1 ?
+                this.numerator + "/" + this.denominator : String.valueOf(this.numerator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        sb.append(this.numerator);
+        if (this.denominator != 1) {
+            sb.append('/').append(this.denominator);
+        }
+        return sb;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Appendable appendTo(Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return appendTo((StringBuilder) out);
+        }
+        Digits.append(out, this.numerator);
+        if (this.denominator != 1) {
+            out.append('/');
+            Digits.append(out, this.denominator);
+        }
+        return out;
+    }
+}
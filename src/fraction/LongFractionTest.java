@@ -0,0 +1,245 @@
+package fraction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class LongFractionTest {
+    /*
+    Tests in this file check LongFraction's arithmetic against the same arithmetic done with BigInteger and then
+    normalised, which gives either the expected fraction or shows that the result is not representable in longs
+    (when an ArithmeticException is expected). Operands are chosen near the limits of long, where intermediate
+    products need all 128 bits.
+    */
+
+    private static final BigInteger MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * @return the normalised fraction n/d as a string, or "ArithmeticException" if it isn't representable
+     */
+    private static String reference(BigInteger n, BigInteger d) {
+        if (d.signum() == 0) {
+            return "ArithmeticException";
+        }
+        BigInteger g = n.gcd(d);
+        if (d.signum() < 0) {
+            g = g.negate();
+        }
+        n = n.divide(g);
+        d = d.divide(g);
+        if (n.compareTo(MIN) < 0 || n.compareTo(MAX) > 0 || d.compareTo(MAX) > 0) {
+            return "ArithmeticException";
+        }
+        return d.equals(BigInteger.ONE) ? n.toString() : n + "/" + d;
+    }
+
+    private static String result(BinaryOperator<Fraction> operation, Fraction f1, Fraction f2) {
+        try {
+            return operation.apply(f1, f2).toString();
+        } catch (ArithmeticException e) {
+            return "ArithmeticException";
+        }
+    }
+
+    private static final long[][] OPERANDS = {
+            {0, 1},
+            {1, 1},
+            {-1, 1},
+            {3, 8},
+            {Long.MAX_VALUE, 1},
+            {Long.MIN_VALUE, 1},
+            {1, Long.MAX_VALUE},
+            {-1, Long.MAX_VALUE},
+            {Long.MAX_VALUE, Long.MAX_VALUE - 1},
+            {Long.MIN_VALUE, Long.MAX_VALUE},
+            {Long.MIN_VALUE + 1, 3},
+            {1L << 62, 3},
+            {-(1L << 40), 1_000_000_007},
+            {999_999_999_989L, 1L << 50},
+            {6_440_648_040L, 89_453_445L},
+            {4_611_686_018_427_387_903L, 4_611_686_018_427_387_904L},
+    };
+
+    @RunWith(Parameterized.class)
+    public static class ArithmeticTest {
+
+        @Parameters(name = "{index}: {0}/{1} and {2}/{3}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (long[] first : OPERANDS) {
+                for (long[] second : OPERANDS) {
+                    data.add(new Object[] {first[0], first[1], second[0], second[1]});
+                }
+            }
+            return data;
+        }
+
+        private final BigInteger a, b, c, d;
+        private final Fraction f1, f2;
+
+        public ArithmeticTest(long a, long b, long c, long d) {
+            this.a = BigInteger.valueOf(a);
+            this.b = BigInteger.valueOf(b);
+            this.c = BigInteger.valueOf(c);
+            this.d = BigInteger.valueOf(d);
+            this.f1 = new LongFraction(a, b);
+            this.f2 = new LongFraction(c, d);
+        }
+
+        @Test
+        public void addTest() {
+            Assert.assertEquals(reference(a.multiply(d).add(c.multiply(b)), b.multiply(d)),
+                    result(Fraction::add, f1, f2));
+        }
+
+        @Test
+        public void subtractTest() {
+            Assert.assertEquals(reference(a.multiply(d).subtract(c.multiply(b)), b.multiply(d)),
+                    result(Fraction::subtract, f1, f2));
+        }
+
+        @Test
+        public void multiplyTest() {
+            Assert.assertEquals(reference(a.multiply(c), b.multiply(d)), result(Fraction::multiply, f1, f2));
+        }
+
+        @Test
+        public void divideTest() {
+            Assert.assertEquals(reference(a.multiply(d), b.multiply(c)), result(Fraction::divide, f1, f2));
+        }
+
+        @Test
+        public void compareToTest() {
+            Assert.assertEquals(a.multiply(d).compareTo(c.multiply(b)), Integer.signum(f1.compareTo(f2)));
+        }
+    }
+
+    public static class RandomArithmeticTest {
+
+        @Test
+        public void randomOperandsMatchBigInteger() {
+            SplittableRandom random = new SplittableRandom(13);
+            for (int i = 0; i < 20_000; i++) {
+                // varied widths, so that results are sometimes, but not always, representable
+                long a = random.nextLong() >> random.nextInt(64), b = (random.nextLong() >>> random.nextInt(1, 64)) + 1;
+                long c = random.nextLong() >> random.nextInt(64), d = (random.nextLong() >>> random.nextInt(1, 64)) + 1;
+                BigInteger ba = BigInteger.valueOf(a), bb = BigInteger.valueOf(b);
+                BigInteger bc = BigInteger.valueOf(c), bd = BigInteger.valueOf(d);
+                Fraction f1 = new LongFraction(a, b), f2 = new LongFraction(c, d);
+                // operands are normalised by the constructor, so reference the normalised values
+                String message = f1 + " and " + f2;
+                Assert.assertEquals(message, reference(ba.multiply(bd).add(bc.multiply(bb)), bb.multiply(bd)),
+                        result(Fraction::add, f1, f2));
+                Assert.assertEquals(message, reference(ba.multiply(bc), bb.multiply(bd)),
+                        result(Fraction::multiply, f1, f2));
+                Assert.assertEquals(message, ba.multiply(bd).compareTo(bc.multiply(bb)),
+                        Integer.signum(f1.compareTo(f2)));
+            }
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ConstructorTest {
+
+        @Parameters(name = "{index}: {0}/{1} is {2}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {8, -12, "-2/3"},
+                    {0, -5, "0"},
+                    {Long.MIN_VALUE, 1, "-9223372036854775808"},
+                    {Long.MIN_VALUE, -2, "4611686018427387904"},
+                    {Long.MIN_VALUE, Long.MIN_VALUE, "1"},
+                    {Long.MIN_VALUE, -1, "ArithmeticException"},
+                    {1, Long.MIN_VALUE, "ArithmeticException"},
+                    {2, Long.MIN_VALUE, "-1/4611686018427387904"},
+                    {1, 0, "ArithmeticException"},
+            });
+        }
+
+        private final long numerator, denominator;
+        private final String expected;
+
+        public ConstructorTest(long numerator, long denominator, String expected) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.expected = expected;
+        }
+
+        @Test
+        public void constructorTest() {
+            String actual;
+            try {
+                actual = new LongFraction(numerator, denominator).toString();
+            } catch (ArithmeticException e) {
+                actual = "ArithmeticException";
+            }
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    public static class UnaryTest {
+
+        @Test
+        public void absNegateAndInverse() {
+            Fraction f = new LongFraction(-3, Long.MAX_VALUE);
+            Assert.assertEquals(new LongFraction(3, Long.MAX_VALUE), f.abs());
+            Assert.assertEquals(new LongFraction(3, Long.MAX_VALUE), f.negate());
+            Assert.assertEquals(new LongFraction(-Long.MAX_VALUE, 3), f.inverse());
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void negateMinimumValue() {
+            new LongFraction(Long.MIN_VALUE).negate();
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void absMinimumValue() {
+            new LongFraction(Long.MIN_VALUE, 3).abs();
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void inverseMinimumValue() {
+            new LongFraction(Long.MIN_VALUE).inverse();
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void inverseZero() {
+            new LongFraction(0).inverse();
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void divideByZero() {
+            new LongFraction(1).divide(new LongFraction(0));
+        }
+    }
+
+    public static class ObjectMethodsTest {
+
+        @Test
+        public void equalsAndHashCode() {
+            Fraction f = new LongFraction(6_440_648_040L, 89_453_445L);
+            Assert.assertEquals(new LongFraction(72, 1), f);
+            Assert.assertEquals(new LongFraction(72).hashCode(), f.hashCode());
+            Assert.assertEquals(new FractionImpl(72).hashCode(), f.hashCode());
+            Assert.assertNotEquals(new LongFraction(71), f);
+        }
+
+        @Test
+        public void appendToMatchesToString() throws IOException {
+            for (long[] operand : OPERANDS) {
+                Fraction f = new LongFraction(operand[0], operand[1]);
+                Assert.assertEquals(f.toString(), f.appendTo(new StringBuilder()).toString());
+                Assert.assertEquals(f.toString(), f.appendTo(new StringWriter()).toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package fraction;
+
+/**
+ * Thrown when a line of a file of fractions cannot be read as a <pre>Fraction</pre>, either because it is not
+ * in the format accepted by {@link FractionImpl#FractionImpl(String)}, or because it represents a fraction that
+ * cannot be constructed (e.g. one whose denominator is zero). The original exception is kept as the cause.
+ */
+public class MalformedFractionException extends NumberFormatException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long lineNumber;
+
+    /**
+     * @param lineNumber the (1-based) number of the malformed line
+     * @param cause the exception thrown when the line was parsed
+     */
+    public MalformedFractionException(long lineNumber, RuntimeException cause) {
+        super("Malformed fraction on line " + lineNumber + ": " + cause.getMessage());
+        this.lineNumber = lineNumber;
+        initCause(cause);
+    }
+
+    /**
+     * @return the (1-based) number of the malformed line
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,365 @@
+package fraction;
+
+/**
+ * A mutable fraction, for inner loops that would otherwise allocate a new <pre>Fraction</pre> for every
+ * intermediate result: its arithmetic updates it in place, and allocates nothing.
+ *
+ * It follows the rules of <pre>FractionImpl</pre>: its <em>numerator</em> and <em>denominator</em> are
+ * <pre>int</pre> values, always normalised (in lowest terms, with the sign carried by the <em>numerator</em>), and
+ * found with the same arithmetic. An operation whose result is not representable in integers, or that divides by
+ * zero, throws an <pre>ArithmeticException</pre> and leaves the fraction unchanged.
+ *
+ * It does not implement <pre>Fraction</pre>, whose values are immutable: convert with {@link #toFraction()} and
+ * {@link #set(Fraction)}. For the same reason, <pre>equals</pre> and <pre>hashCode</pre> are those of
+ * <pre>Object</pre>. A <pre>MutableFraction</pre> is not thread-safe.
+ */
+public final class MutableFraction {
+
+    private int numerator, denominator;
+
+    /**
+     * Creates a fraction whose value is zero.
+     */
+    public MutableFraction() {
+        this.denominator = 1;
+    }
+
+    /**
+     * Parameters are the <em>numerator</em> and the <em>denominator</em>, normalised as the fraction is created.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public MutableFraction(int numerator, int denominator) {
+        set(numerator, denominator);
+    }
+
+    /**
+     * Creates a fraction with the value of <pre>f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the initial value
+     */
+    public MutableFraction(Fraction f) {
+        set(f);
+    }
+
+    /**
+     * @return the normalised numerator
+     */
+    public int numerator() {
+        return this.numerator;
+    }
+
+    /**
+     * @return the normalised (positive) denominator
+     */
+    public int denominator() {
+        return this.denominator;
+    }
+
+    /**
+     * Sets the fraction to <pre>numerator/denominator</pre>, normalised.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return this fraction
+     */
+    public MutableFraction set(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return store(numerator / divisor, denominator / divisor);
+    }
+
+    /**
+     * Sets the fraction to the value of <pre>f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the new value
+     * @return this fraction
+     */
+    public MutableFraction set(Fraction f) {
+        return store(f.numerator(), f.denominator());
+    }
+
+    /**
+     * Sets the fraction to the value of <pre>f</pre>.
+     *
+     * @param f the new value
+     * @return this fraction
+     */
+    public MutableFraction set(MutableFraction f) {
+        this.numerator = f.numerator;
+        this.denominator = f.denominator;
+        return this;
+    }
+
+    /**
+     * Returns the fraction's current value as an immutable <pre>Fraction</pre> (a canonical instance, for the
+     * small values held by {@link FractionCache}).
+     *
+     * @return the fraction's value
+     */
+    public Fraction toFraction() {
+        return FractionImpl.canonical(this.numerator, this.denominator, 1);
+    }
+
+    /**
+     * Adds <pre>f</pre> to this fraction.
+     *
+     * @param f the fraction to add
+     * @return this fraction
+     */
+    public MutableFraction addInPlace(MutableFraction f) {
+        return sum(f.numerator, f.denominator);
+    }
+
+    /**
+     * Adds <pre>f</pre> to this fraction.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction to add
+     * @return this fraction
+     */
+    public MutableFraction addInPlace(Fraction f) {
+        return sum(FractionImpl.checkedInt(f.numerator()), FractionImpl.checkedInt(f.denominator()));
+    }
+
+    /**
+     * Adds <pre>numerator/denominator</pre> to this fraction.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the numerator of the fraction to add
+     * @param denominator the denominator of the fraction to add
+     * @return this fraction
+     */
+    public MutableFraction addInPlace(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return sum(FractionImpl.checkedInt(numerator / divisor), FractionImpl.checkedInt(denominator / divisor));
+    }
+
+    /**
+     * Subtracts <pre>f</pre> from this fraction.
+     *
+     * @param f the fraction to subtract
+     * @return this fraction
+     */
+    public MutableFraction subtractInPlace(MutableFraction f) {
+        return sum(-(long) f.numerator, f.denominator);
+    }
+
+    /**
+     * Subtracts <pre>f</pre> from this fraction.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction to subtract
+     * @return this fraction
+     */
+    public MutableFraction subtractInPlace(Fraction f) {
+        return sum(-(long) FractionImpl.checkedInt(f.numerator()), FractionImpl.checkedInt(f.denominator()));
+    }
+
+    /**
+     * Subtracts <pre>numerator/denominator</pre> from this fraction.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the numerator of the fraction to subtract
+     * @param denominator the denominator of the fraction to subtract
+     * @return this fraction
+     */
+    public MutableFraction subtractInPlace(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return sum(-(long) FractionImpl.checkedInt(numerator / divisor),
+                FractionImpl.checkedInt(denominator / divisor));
+    }
+
+    /**
+     * Multiplies this fraction by <pre>f</pre>.
+     *
+     * @param f the fraction to multiply by
+     * @return this fraction
+     */
+    public MutableFraction multiplyInPlace(MutableFraction f) {
+        return product(f.numerator, f.denominator);
+    }
+
+    /**
+     * Multiplies this fraction by <pre>f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction to multiply by
+     * @return this fraction
+     */
+    public MutableFraction multiplyInPlace(Fraction f) {
+        return product(FractionImpl.checkedInt(f.numerator()), FractionImpl.checkedInt(f.denominator()));
+    }
+
+    /**
+     * Multiplies this fraction by <pre>numerator/denominator</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the numerator of the fraction to multiply by
+     * @param denominator the denominator of the fraction to multiply by
+     * @return this fraction
+     */
+    public MutableFraction multiplyInPlace(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return product(FractionImpl.checkedInt(numerator / divisor), FractionImpl.checkedInt(denominator / divisor));
+    }
+
+    /**
+     * Divides this fraction by <pre>f</pre>.
+     *
+     * @param f the fraction to divide by
+     * @return this fraction
+     */
+    public MutableFraction divideInPlace(MutableFraction f) {
+        return quotient(f.numerator, f.denominator);
+    }
+
+    /**
+     * Divides this fraction by <pre>f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction to divide by
+     * @return this fraction
+     */
+    public MutableFraction divideInPlace(Fraction f) {
+        return quotient(FractionImpl.checkedInt(f.numerator()), FractionImpl.checkedInt(f.denominator()));
+    }
+
+    /**
+     * Divides this fraction by <pre>numerator/denominator</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the numerator of the fraction to divide by
+     * @param denominator the denominator of the fraction to divide by
+     * @return this fraction
+     */
+    public MutableFraction divideInPlace(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return quotient(FractionImpl.checkedInt(numerator / divisor), FractionImpl.checkedInt(denominator / divisor));
+    }
+
+    /**
+     * Negates this fraction.
+     *
+     * @return this fraction
+     */
+    public MutableFraction negateInPlace() {
+        if (this.numerator == Integer.MIN_VALUE) {
+            throw new ArithmeticException("Cannot negate a fraction " +
+                    "where the numerator is Integer's minimum value.");
+        }
+        this.numerator = -this.numerator;
+        return this;
+    }
+
+    /**
+     * Replaces this fraction with its absolute value.
+     *
+     * @return this fraction
+     */
+    public MutableFraction absInPlace() {
+        if (this.numerator == Integer.MIN_VALUE) {
+            throw new ArithmeticException("Cannot represent the absolute value of a fraction " +
+                    "where the numerator is Integer's minimum value.");
+        }
+        this.numerator = Math.abs(this.numerator);
+        return this;
+    }
+
+    /**
+     * Replaces this fraction with its inverse.
+     *
+     * @return this fraction
+     */
+    public MutableFraction invertInPlace() {
+        if (this.numerator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        // already in lowest terms, so only a negative sign needs moving back onto the numerator
+        return this.numerator < 0 ? store(-(long) this.denominator, -(long) this.numerator) :
+                store(this.denominator, this.numerator);
+    }
+
+    /**
+     * Compares this fraction with <pre>f</pre>, as <pre>Fraction.compareTo</pre> does.
+     *
+     * @param f the fraction to compare with
+     * @return a negative integer, zero, or a positive integer as this fraction is less than, equal to, or
+     * greater than <pre>f</pre>
+     */
+    public int compareTo(MutableFraction f) {
+        return IntArithmetic.compare(this.numerator, this.denominator, f.numerator, f.denominator);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        return this.denominator != 1 ?
+                this.numerator + "/" + this.denominator : String.valueOf(this.numerator);
+    }
+
+    /**
+     * The parameters are the <em>numerator</em> and (positive) <em>denominator</em> of a normalised fraction,
+     * <pre>c/d</pre>, whose values are within <pre>int</pre> range (though <pre>c</pre> may be the negation of
+     * <pre>Integer.MIN_VALUE</pre>), to add to this one.
+     */
+    private MutableFraction sum(long c, long d) {
+        return store(IntArithmetic.sum(this.numerator, this.denominator, c, d));
+    }
+
+    // multiplies this fraction by the normalised fraction c/d
+    private MutableFraction product(long c, long d) {
+        return store(IntArithmetic.product(this.numerator, this.denominator, c, d));
+    }
+
+    // divides this fraction by the normalised fraction c/d
+    private MutableFraction quotient(long c, long d) {
+        return store(IntArithmetic.quotient(this.numerator, this.denominator, c, d));
+    }
+
+    /**
+     * Sets the fraction to a result of {@link IntArithmetic}, or throws an <pre>ArithmeticException</pre>, leaving
+     * it unchanged, if the result is not representable in integers.
+     */
+    private MutableFraction store(long packed) {
+        packed = IntArithmetic.checked(packed);
+        this.numerator = IntArithmetic.numerator(packed);
+        this.denominator = IntArithmetic.denominator(packed);
+        return this;
+    }
+
+    /**
+     * Sets the fraction to <pre>numerator/denominator</pre>, already normalised, or throws an
+     * <pre>ArithmeticException</pre>, leaving it unchanged, if either is not representable as an <pre>int</pre>.
+     */
+    private MutableFraction store(long numerator, long denominator) {
+        int checkedNumerator = FractionImpl.checkedInt(numerator);
+        this.denominator = FractionImpl.checkedInt(denominator);
+        this.numerator = checkedNumerator;
+        return this;
+    }
+}
@@ -0,0 +1,228 @@
+package fraction;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class MutableFractionTest {
+    /*
+    Tests in this file check MutableFraction's in-place arithmetic against FractionImpl's, which it should match
+    exactly: the same results, and an ArithmeticException in the same cases, after which the mutable fraction
+    should be unchanged. Operands range from small values to the limits of int.
+    */
+
+    private interface InPlace {
+        MutableFraction apply(MutableFraction target, MutableFraction operand);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ArithmeticTest {
+
+        @Parameters(name = "{index}: {0}, |values| < {1}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (String operation : new String[]{"add", "subtract", "multiply", "divide"}) {
+                for (int bound : new int[]{10, 100_000, Integer.MAX_VALUE}) {
+                    data.add(new Object[]{operation, bound});
+                }
+            }
+            return data;
+        }
+
+        private final BinaryOperator<Fraction> expected;
+        private final InPlace inPlace;
+        private final InPlace inPlaceWithFraction;
+        private final int bound;
+        private final long seed;
+
+        public ArithmeticTest(String name, int bound) {
+            switch (name) {
+                case "add":
+                    expected = Fraction::add;
+                    inPlace = MutableFraction::addInPlace;
+                    inPlaceWithFraction = (target, operand) -> target.addInPlace(operand.toFraction());
+                    break;
+                case "subtract":
+                    expected = Fraction::subtract;
+                    inPlace = MutableFraction::subtractInPlace;
+                    inPlaceWithFraction = (target, operand) -> target.subtractInPlace(operand.toFraction());
+                    break;
+                case "multiply":
+                    expected = Fraction::multiply;
+                    inPlace = MutableFraction::multiplyInPlace;
+                    inPlaceWithFraction = (target, operand) -> target.multiplyInPlace(operand.toFraction());
+                    break;
+                default:
+                    expected = Fraction::divide;
+                    inPlace = MutableFraction::divideInPlace;
+                    inPlaceWithFraction = (target, operand) -> target.divideInPlace(operand.toFraction());
+                    break;
+            }
+            this.bound = bound;
+            this.seed = name.hashCode() * 31L + bound;
+        }
+
+        private void check(InPlace operation) {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < 2000; i++) {
+                Fraction left = Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                Fraction right = Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                MutableFraction target = new MutableFraction(left);
+                Fraction result;
+                try {
+                    result = expected.apply(left, right);
+                } catch (ArithmeticException e) {
+                    try {
+                        operation.apply(target, new MutableFraction(right));
+                        Assert.fail(left + ", " + right);
+                    } catch (ArithmeticException expected) {
+                        Assert.assertEquals(left, target.toFraction());
+                    }
+                    continue;
+                }
+                Assert.assertSame(target, operation.apply(target, new MutableFraction(right)));
+                Assert.assertEquals(left + ", " + right, result, target.toFraction());
+            }
+        }
+
+        @Test
+        public void matchesFractionImplTest() {
+            check(inPlace);
+        }
+
+        @Test
+        public void matchesFractionImplWithFractionOperandTest() {
+            check(inPlaceWithFraction);
+        }
+    }
+
+    public static class MutationTest {
+
+        @Test
+        public void setNormalisesTest() {
+            MutableFraction f = new MutableFraction().set(10, -4);
+            Assert.assertEquals(-5, f.numerator());
+            Assert.assertEquals(2, f.denominator());
+            Assert.assertEquals("-5/2", f.toString());
+        }
+
+        @Test
+        public void convertsBothWaysTest() {
+            Fraction immutable = Fraction.of(-7, 3);
+            Assert.assertEquals(immutable, new MutableFraction(immutable).toFraction());
+            Assert.assertSame(Fraction.of(1, 2), new MutableFraction(2, 4).toFraction());
+            Assert.assertEquals(Fraction.of(3), new MutableFraction().set(new LongFraction(3)).toFraction());
+        }
+
+        @Test
+        public void intOperandsAreNormalisedTest() {
+            MutableFraction f = new MutableFraction(1, 2).addInPlace(2, -6).multiplyInPlace(-12, 4);
+            Assert.assertEquals(Fraction.of(-1, 2), f.toFraction());
+            f.subtractInPlace(-3, 4).divideInPlace(10, -8);
+            Assert.assertEquals(Fraction.of(-1, 5), f.toFraction());
+            Assert.assertEquals(Fraction.of(Integer.MAX_VALUE),
+                    new MutableFraction(-1, 1).subtractInPlace(Integer.MIN_VALUE, 1).toFraction());
+            Assert.assertEquals(Fraction.of(-1, 2),
+                    new MutableFraction(1, 1).divideInPlace(Integer.MIN_VALUE, 1 << 30).toFraction());
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void rawDivisorIsZeroException() {
+            new MutableFraction(1, 2).divideInPlace(0, 5);
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void rawMinimumDenominatorException() {
+            new MutableFraction(2, 1).multiplyInPlace(1, Integer.MIN_VALUE);
+        }
+
+        @Test
+        public void rawMinimumDenominatorLeavesUnchangedTest() {
+            MutableFraction f = new MutableFraction(2, 1);
+            List<Consumer<MutableFraction>> operations = Arrays.asList(
+                    g -> g.addInPlace(1, Integer.MIN_VALUE),
+                    g -> g.subtractInPlace(1, Integer.MIN_VALUE),
+                    g -> g.multiplyInPlace(1, Integer.MIN_VALUE),
+                    g -> g.divideInPlace(1, Integer.MIN_VALUE));
+            for (Consumer<MutableFraction> operation : operations) {
+                try {
+                    operation.accept(f);
+                    Assert.fail();
+                } catch (ArithmeticException expected) {
+                }
+                Assert.assertEquals(Fraction.of(2), f.toFraction());
+            }
+        }
+
+        @Test
+        public void failedRawSubtractLeavesUnchangedTest() {
+            MutableFraction f = new MutableFraction(Integer.MAX_VALUE, 1);
+            try {
+                f.subtractInPlace(-1, 1);
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            Assert.assertEquals(Fraction.of(Integer.MAX_VALUE), f.toFraction());
+        }
+
+        @Test
+        public void unaryOperationsTest() {
+            MutableFraction f = new MutableFraction(-3, 4);
+            Assert.assertEquals(Fraction.of(3, 4), f.negateInPlace().toFraction());
+            Assert.assertEquals(Fraction.of(4, 3), f.invertInPlace().toFraction());
+            Assert.assertEquals(Fraction.of(-3, 4), f.negateInPlace().invertInPlace().toFraction());
+            Assert.assertEquals(Fraction.of(3, 4), f.absInPlace().toFraction());
+            Assert.assertEquals("1", new MutableFraction(5, 5).toString());
+        }
+
+        @Test
+        public void invertsMinimumDenominatorTest() {
+            MutableFraction f = new MutableFraction(-1, Integer.MAX_VALUE);
+            Assert.assertEquals(Fraction.of(-Integer.MAX_VALUE), f.invertInPlace().toFraction());
+        }
+
+        @Test
+        public void comparesByValueTest() {
+            Assert.assertTrue(new MutableFraction(1, 3).compareTo(new MutableFraction(1, 2)) < 0);
+            Assert.assertEquals(0, new MutableFraction(2, 4).compareTo(new MutableFraction(1, 2)));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void zeroDenominatorException() {
+            new MutableFraction(1, 0);
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void operandNotRepresentableException() {
+            new MutableFraction().addInPlace(new LongFraction(1, Long.MAX_VALUE));
+        }
+
+        @Test
+        public void failedNegateLeavesUnchangedTest() {
+            MutableFraction f = new MutableFraction(Integer.MIN_VALUE, 1);
+            try {
+                f.negateInPlace();
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            Assert.assertEquals(Fraction.of(Integer.MIN_VALUE), f.toFraction());
+        }
+
+        @Test
+        public void failedInvertLeavesUnchangedTest() {
+            MutableFraction f = new MutableFraction(Integer.MIN_VALUE, 3);
+            try {
+                f.invertInPlace();
+                Assert.fail();
+            } catch (ArithmeticException expected) {
+            }
+            Assert.assertEquals(Fraction.of(Integer.MIN_VALUE, 3), f.toFraction());
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package fraction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A fixed-size array of fractions held outside the Java heap, in direct or memory-mapped
+ * <pre>ByteBuffer</pre>s, for datasets too large to hold as objects without long garbage collection pauses.
+ *
+ * Each element is a normalised fraction packed into eight bytes as by {@link PackedFractions}, written
+ * little-endian. A single buffer holds at most 2<sup>31</sup> bytes, so elements are spread across buffers of
+ * 2<sup>27</sup> elements (1 GiB) each, and an array holds up to <pre>Integer.MAX_VALUE</pre> elements.
+ *
+ * An array created by {@link #create(Path, int)} or opened by {@link #open(Path)} is backed by a file, which
+ * holds nothing but the packed elements, so that a dataset survives a restart without being parsed again; call
+ * {@link #force()} to write changes through to the storage device. Values read from a file are used as they are,
+ * and are assumed to have been written normalised. The memory is released (and a file unmapped) only once the
+ * array has been garbage collected.
+ *
+ * An array is not thread-safe, though distinct elements may be written by distinct threads.
+ */
+public final class OffHeapFractionArray {
+
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private static final int ADD = 0, SUBTRACT = 1, MULTIPLY = 2, DIVIDE = 3;
+
+    private final ByteBuffer[] chunks;
+    private final int size;
+
+    private OffHeapFractionArray(ByteBuffer[] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Creates an array of <pre>size</pre> fractions in direct (off-heap) memory, each of which is zero.
+     *
+     * @param size the number of fractions
+     * @return the array
+     */
+    public static OffHeapFractionArray allocate(int size) {
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkLength(size, i) << 3).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        OffHeapFractionArray array = new OffHeapFractionArray(chunks, size);
+        array.fill(PackedFractions.ZERO);
+        return array;
+    }
+
+    /**
+     * Creates (or replaces) <pre>file</pre> as an array of <pre>size</pre> fractions, each of which is zero, and
+     * maps it into memory.
+     *
+     * The file is replaced as by {@link AtomicFiles}, so that any array still mapping a file it replaces keeps
+     * reading that file's contents.
+     *
+     * @param file the file to hold the array
+     * @param size the number of fractions
+     * @return the array
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static OffHeapFractionArray create(Path file, int size) throws IOException {
+        return AtomicFiles.replace(file, temporary -> {
+            OffHeapFractionArray array = map(temporary, size, StandardOpenOption.CREATE_NEW);
+            array.fill(PackedFractions.ZERO);
+            array.force();
+            return array;
+        });
+    }
+
+    /**
+     * Maps an existing <pre>file</pre>, written by an array created with {@link #create(Path, int)}, into memory,
+     * for reading and writing.
+     *
+     * @param file the file holding the array
+     * @return the array
+     * @throws IOException if the file cannot be mapped, or its length is not that of a whole number of fractions
+     */
+    public static OffHeapFractionArray open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if ((length & 7) != 0 || length >>> 3 > Integer.MAX_VALUE) {
+                throw new IOException("Not a whole number of fractions: " + length + " bytes in " + file);
+            }
+            return map(file, (int) (length >>> 3));
+        }
+    }
+
+    private static OffHeapFractionArray map(Path file, int size, StandardOpenOption... options) throws IOException {
+        StandardOpenOption[] allOptions = new StandardOpenOption[options.length + 2];
+        allOptions[0] = StandardOpenOption.READ;
+        allOptions[1] = StandardOpenOption.WRITE;
+        System.arraycopy(options, 0, allOptions, 2, options.length);
+        try (FileChannel channel = FileChannel.open(file, allOptions)) {
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+            for (int i = 0; i < chunks.length; i++) {
+                // mapping past the end of the file extends it; the mapping stays valid once the channel is closed
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << (CHUNK_SHIFT + 3),
+                        (long) chunkLength(size, i) << 3).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new OffHeapFractionArray(chunks, size);
+        }
+    }
+
+    private static int chunkCount(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        return (int) (((long) size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkLength(int size, int chunk) {
+        return Math.min(size - (chunk << CHUNK_SHIFT), 1 << CHUNK_SHIFT);
+    }
+
+    /**
+     * Writes any changes to a file-backed array through to the storage device. Does nothing for an array in
+     * direct memory.
+     */
+    public void force() {
+        for (ByteBuffer chunk : this.chunks) {
+            if (chunk instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /**
+     * @return the number of fractions
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the element, packed as by {@link PackedFractions}
+     */
+    public long getPacked(int index) {
+        Objects.checkIndex(index, this.size);
+        return load(index);
+    }
+
+    /**
+     * Sets the element to a packed fraction, which must be normalised (as are all those returned by
+     * {@link PackedFractions}).
+     *
+     * @param index the index of the element
+     * @param packed the packed fraction
+     */
+    public void setPacked(int index, long packed) {
+        Objects.checkIndex(index, this.size);
+        store(index, packed);
+    }
+
+    private long load(int index) {
+        return this.chunks[index >>> CHUNK_SHIFT].getLong((index & CHUNK_MASK) << 3);
+    }
+
+    private void store(int index, long packed) {
+        this.chunks[index >>> CHUNK_SHIFT].putLong((index & CHUNK_MASK) << 3, packed);
+    }
+
+    private void fill(long packed) {
+        for (int i = 0; i < this.size; i++) {
+            store(i, packed);
+        }
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the normalised numerator of the element
+     */
+    public int numerator(int index) {
+        return PackedFractions.numerator(getPacked(index));
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the normalised (positive) denominator of the element
+     */
+    public int denominator(int index) {
+        return PackedFractions.denominator(getPacked(index));
+    }
+
+    /**
+     * Returns the element as a <pre>Fraction</pre>, created on demand (or shared, for the small values held by
+     * {@link FractionCache}).
+     *
+     * @param index the index of the element
+     * @return the element
+     */
+    public Fraction get(int index) {
+        return PackedFractions.toFraction(getPacked(index));
+    }
+
+    /**
+     * Sets the element to <pre>fraction</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>fraction</pre> is not representable in integers.
+     *
+     * @param index the index of the element
+     * @param fraction the fraction to store
+     */
+    public void set(int index, Fraction fraction) {
+        setPacked(index, PackedFractions.valueOf(fraction));
+    }
+
+    /**
+     * Sets the element to <pre>numerator/denominator</pre>, normalised.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param index the index of the element
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     */
+    public void set(int index, int numerator, int denominator) {
+        setPacked(index, PackedFractions.of(numerator, denominator));
+    }
+
+    /**
+     * Compares two elements by value.
+     *
+     * @param i the index of the first element
+     * @param j the index of the second element
+     * @return a negative integer, zero, or a positive integer as the first element is less than, equal to, or
+     * greater than the second
+     */
+    public int compare(int i, int j) {
+        return PackedFractions.compare(getPacked(i), getPacked(j));
+    }
+
+    /**
+     * Compares an element with <pre>fraction</pre>, as <pre>get(index).compareTo(fraction)</pre> would, but
+     * without creating the element. Comparing with a <pre>FractionImpl</pre> or a <pre>LongFraction</pre> creates
+     * nothing; any other implementation is compared through its <pre>BigInteger</pre> components.
+     *
+     * @param index the index of the element
+     * @param fraction the fraction to compare with, of any implementation
+     * @return a negative integer, zero, or a positive integer as the element is less than, equal to, or greater
+     * than <pre>fraction</pre>
+     */
+    public int compare(int index, Fraction fraction) {
+        long packed = getPacked(index);
+        if (fraction instanceof FractionImpl) {
+            return PackedFractions.compare(packed, PackedFractions.valueOf(fraction));
+        }
+        long a = PackedFractions.numerator(packed), b = PackedFractions.denominator(packed);
+        if (fraction instanceof LongFraction) {
+            long c = fraction.numerator(), d = fraction.denominator();
+            // as Fractions.compare: denominators are positive, so a/b < c/d exactly when ad < cb
+            return Int128.compare(Math.multiplyHigh(a, d), a * d, Math.multiplyHigh(c, b), c * b);
+        }
+        BigInteger c = fraction.bigNumerator(), d = fraction.bigDenominator();
+        return BigInteger.valueOf(a).multiply(d).compareTo(c.multiply(BigInteger.valueOf(b)));
+    }
+
+    /**
+     * Sorts the elements into ascending order, in place.
+     */
+    public void sort() {
+        quickSort(0, this.size - 1);
+    }
+
+    // as FractionArray's sort: a median-of-three quicksort, leaving short ranges to an insertion sort
+    private void quickSort(int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(middle, low) < 0) {
+                swap(middle, low);
+            }
+            if (compareAt(high, low) < 0) {
+                swap(high, low);
+            }
+            if (compareAt(high, middle) < 0) {
+                swap(high, middle);
+            }
+            long pivot = load(middle);
+            int i = low, j = high;
+            while (i <= j) {
+                while (PackedFractions.compare(load(i), pivot) < 0) {
+                    i++;
+                }
+                while (PackedFractions.compare(load(j), pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // recurse into the smaller part, and loop on the larger, to bound the stack depth
+            if (j - low < high - i) {
+                quickSort(low, j);
+                low = i;
+            } else {
+                quickSort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            long value = load(i);
+            int j = i - 1;
+            while (j >= low && PackedFractions.compare(load(j), value) > 0) {
+                store(j + 1, load(j));
+                j--;
+            }
+            store(j + 1, value);
+        }
+    }
+
+    private int compareAt(int i, int j) {
+        return PackedFractions.compare(load(i), load(j));
+    }
+
+    private void swap(int i, int j) {
+        long value = load(i);
+        store(i, load(j));
+        store(j, value);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the sum of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index, as by {@link #apply(LongBinaryOperator, OffHeapFractionArray,
+     * OffHeapFractionArray, OffHeapFractionArray)}.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet add(OffHeapFractionArray left, OffHeapFractionArray right, OffHeapFractionArray destination) {
+        return apply(ADD, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the difference of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index, as by {@link #apply(LongBinaryOperator, OffHeapFractionArray,
+     * OffHeapFractionArray, OffHeapFractionArray)}.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet subtract(OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        return apply(SUBTRACT, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the product of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index, as by {@link #apply(LongBinaryOperator, OffHeapFractionArray,
+     * OffHeapFractionArray, OffHeapFractionArray)}.
+     *
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers
+     */
+    public static BitSet multiply(OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        return apply(MULTIPLY, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> to the quotient of the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index, as by {@link #apply(LongBinaryOperator, OffHeapFractionArray,
+     * OffHeapFractionArray, OffHeapFractionArray)}.
+     *
+     * @param left the dividends
+     * @param right the divisors
+     * @param destination the array to hold the results
+     * @return the indices of the elements whose results are not representable in integers, or whose divisor is
+     * zero
+     */
+    public static BitSet divide(OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        return apply(DIVIDE, left, right, destination);
+    }
+
+    /**
+     * Sets each element of <pre>destination</pre> (which may be one of the operands) to the result of
+     * <pre>operation</pre>, an operation of {@link PackedFractions}, on the elements of <pre>left</pre> and
+     * <pre>right</pre> at the same index.
+     *
+     * Where the operation throws an <pre>ArithmeticException</pre> for an element, its destination element is
+     * left unchanged, and its index is reported in the <pre>BitSet</pre> returned; the other elements are still
+     * computed. An <pre>IllegalArgumentException</pre> is thrown if the arrays are not all the same size.
+     *
+     * @param operation the operation on packed fractions
+     * @param left the first operands
+     * @param right the second operands
+     * @param destination the array to hold the results
+     * @return the indices of the elements for which the operation threw
+     */
+    public static BitSet apply(LongBinaryOperator operation, OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        checkSizes(left, right, destination);
+        BitSet unrepresentable = new BitSet();
+        for (int i = 0; i < left.size; i++) {
+            try {
+                destination.store(i, operation.applyAsLong(left.load(i), right.load(i)));
+            } catch (ArithmeticException e) {
+                unrepresentable.set(i);
+            }
+        }
+        return unrepresentable;
+    }
+
+    /**
+     * The built-in operations, as by {@link #apply(LongBinaryOperator, OffHeapFractionArray, OffHeapFractionArray,
+     * OffHeapFractionArray)}, but computed through <pre>IntArithmetic</pre>, whose <pre>NOT_REPRESENTABLE</pre>
+     * result marks an element to report: no exception is created for it.
+     */
+    private static BitSet apply(int operation, OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        checkSizes(left, right, destination);
+        BitSet unrepresentable = new BitSet();
+        for (int i = 0; i < left.size; i++) {
+            long f1 = left.load(i), f2 = right.load(i);
+            long result = result(operation, PackedFractions.numerator(f1), PackedFractions.denominator(f1),
+                    PackedFractions.numerator(f2), PackedFractions.denominator(f2));
+            if (result == IntArithmetic.NOT_REPRESENTABLE) {
+                unrepresentable.set(i);
+            } else {
+                destination.store(i, result);
+            }
+        }
+        return unrepresentable;
+    }
+
+    // the packed result of a/b and c/d, or NOT_REPRESENTABLE if it doesn't fit in integers or divides by zero
+    private static long result(int operation, long a, long b, long c, long d) {
+        switch (operation) {
+            case ADD:
+                return IntArithmetic.sum(a, b, c, d);
+            case SUBTRACT:
+                return IntArithmetic.sum(a, b, -c, d);
+            case MULTIPLY:
+                return IntArithmetic.product(a, b, c, d);
+            default:
+                return c == 0 ? IntArithmetic.NOT_REPRESENTABLE : IntArithmetic.quotient(a, b, c, d);
+        }
+    }
+
+    private static void checkSizes(OffHeapFractionArray left, OffHeapFractionArray right,
+            OffHeapFractionArray destination) {
+        if (left.size != right.size || left.size != destination.size) {
+            throw new IllegalArgumentException("Array sizes differ: " + left.size + ", " + right.size + " and "
+                    + destination.size);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package fraction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(Enclosed.class)
+public class OffHeapFractionArrayTest {
+    /*
+    Tests in this file check that OffHeapFractionArray stores fractions normalised in direct and file-backed
+    memory, that a file-backed array keeps its contents when reopened, and that its sort, comparisons and
+    element-wise arithmetic agree with the same operations on FractionImpl values.
+    */
+
+    private static OffHeapFractionArray random(SplittableRandom random, int size, int bound) {
+        OffHeapFractionArray array = OffHeapFractionArray.allocate(size);
+        for (int i = 0; i < size; i++) {
+            array.set(i, random.nextInt(-bound, bound), random.nextInt(1, bound));
+        }
+        return array;
+    }
+
+    private static List<Fraction> toList(OffHeapFractionArray array) {
+        List<Fraction> list = new ArrayList<>();
+        for (int i = 0; i < array.size(); i++) {
+            list.add(array.get(i));
+        }
+        return list;
+    }
+
+    public static class StorageTest {
+
+        @Test
+        public void newArrayIsZerosTest() {
+            OffHeapFractionArray array = OffHeapFractionArray.allocate(3);
+            Assert.assertEquals(Collections.nCopies(3, Fraction.of(0)), toList(array));
+        }
+
+        @Test
+        public void setNormalisesTest() {
+            OffHeapFractionArray array = OffHeapFractionArray.allocate(2);
+            array.set(0, 6, -4);
+            array.set(1, new LongFraction(10, 5));
+            Assert.assertEquals(-3, array.numerator(0));
+            Assert.assertEquals(2, array.denominator(0));
+            Assert.assertEquals(Fraction.of(2), array.get(1));
+            Assert.assertEquals(PackedFractions.of(-3, 2), array.getPacked(0));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void notRepresentableException() {
+            OffHeapFractionArray.allocate(1).set(0, new LongFraction(Long.MAX_VALUE));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void indexOutOfBoundsException() {
+            OffHeapFractionArray.allocate(2).get(2);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeSizeException() {
+            OffHeapFractionArray.allocate(-1);
+        }
+
+        @Test
+        public void comparesWithFractionsTest() {
+            OffHeapFractionArray array = OffHeapFractionArray.allocate(2);
+            array.set(0, 1, 3);
+            array.set(1, 1, 2);
+            Assert.assertTrue(array.compare(0, 1) < 0);
+            Assert.assertTrue(array.compare(1, Fraction.of(1, 3)) > 0);
+            Assert.assertEquals(0, array.compare(1, new LongFraction(2, 4)));
+            Assert.assertTrue(array.compare(0, new BigFraction(Long.MAX_VALUE)) < 0);
+        }
+
+        @Test
+        public void comparesWithWideFractionsTest() {
+            OffHeapFractionArray array = OffHeapFractionArray.allocate(2);
+            array.set(0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            array.set(1, Integer.MAX_VALUE, 1);
+            Assert.assertTrue(array.compare(0, new LongFraction(Long.MIN_VALUE + 1, Long.MAX_VALUE)) < 0);
+            Assert.assertTrue(array.compare(1, new LongFraction(Long.MAX_VALUE, Long.MAX_VALUE - 1)) > 0);
+            Assert.assertTrue(array.compare(1, new LongFraction(Long.MAX_VALUE, 2)) < 0);
+            Assert.assertTrue(array.compare(1, BigFraction.valueOf(Fraction.of(-1, 2))) > 0);
+            Assert.assertEquals(0, array.compare(1, new BigFraction(Integer.MAX_VALUE)));
+        }
+    }
+
+    public static class FileTest {
+
+        @Rule
+        public TemporaryFolder folder = new TemporaryFolder();
+
+        @Test
+        public void survivesReopeningTest() throws IOException {
+            Path file = folder.getRoot().toPath().resolve("fractions.bin");
+            OffHeapFractionArray array = OffHeapFractionArray.create(file, 1000);
+            List<Fraction> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                array.set(i, i - 500, i % 7 + 1);
+                expected.add(Fraction.of(i - 500, i % 7 + 1));
+            }
+            array.force();
+            Assert.assertEquals(8000, Files.size(file));
+            Assert.assertEquals(expected, toList(OffHeapFractionArray.open(file)));
+        }
+
+        @Test
+        public void createReplacesFileTest() throws IOException {
+            Path file = folder.newFile().toPath();
+            Files.write(file, new byte[100]);
+            OffHeapFractionArray array = OffHeapFractionArray.create(file, 2);
+            Assert.assertEquals(16, Files.size(file));
+            Assert.assertEquals(Collections.nCopies(2, Fraction.of(0)), toList(array));
+        }
+
+        @Test
+        public void replacingLeavesOpenArrayReadableTest() throws IOException {
+            Path file = folder.getRoot().toPath().resolve("fractions.bin");
+            OffHeapFractionArray array = OffHeapFractionArray.create(file, 1000);
+            array.set(999, 1, 3);
+            OffHeapFractionArray replacement = OffHeapFractionArray.create(file, 2);
+            // tests that the replaced file's mapping is still readable past the replacement's length
+            Assert.assertEquals(Fraction.of(1, 3), array.get(999));
+            Assert.assertEquals(Collections.nCopies(2, Fraction.of(0)), toList(OffHeapFractionArray.open(file)));
+            replacement.set(0, 1, 2);
+            Assert.assertEquals(Fraction.of(0), array.get(0));
+            Assert.assertEquals(Collections.singletonList(file), listFolder());
+        }
+
+        private List<Path> listFolder() throws IOException {
+            try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+                return files.collect(Collectors.toList());
+            }
+        }
+
+        @Test
+        public void emptyFileTest() throws IOException {
+            Path file = folder.newFile().toPath();
+            Assert.assertEquals(0, OffHeapFractionArray.open(file).size());
+        }
+
+        @Test(expected = IOException.class)
+        public void partialFractionException() throws IOException {
+            Path file = folder.newFile().toPath();
+            Files.write(file, new byte[12]);
+            OffHeapFractionArray.open(file);
+        }
+    }
+
+    public static class SortTest {
+
+        @Test
+        public void sortMatchesCollectionsSortTest() {
+            for (int size : new int[]{0, 1, 20, 5000}) {
+                OffHeapFractionArray array = random(new SplittableRandom(size), size, Integer.MAX_VALUE);
+                List<Fraction> expected = toList(array);
+                Collections.sort(expected);
+                array.sort();
+                Assert.assertEquals(expected, toList(array));
+            }
+        }
+
+        @Test
+        public void sortsDuplicatesTest() {
+            OffHeapFractionArray array = random(new SplittableRandom(3), 5000, 4);
+            List<Fraction> expected = toList(array);
+            Collections.sort(expected);
+            array.sort();
+            Assert.assertEquals(expected, toList(array));
+        }
+    }
+
+    public static class ArithmeticTest {
+
+        @Test
+        public void matchesFractionImplTest() {
+            SplittableRandom random = new SplittableRandom(11);
+            OffHeapFractionArray left = random(random, 3000, Integer.MAX_VALUE);
+            OffHeapFractionArray right = random(random, 3000, 100);
+            OffHeapFractionArray destination = OffHeapFractionArray.allocate(3000);
+            BitSet unrepresentable = OffHeapFractionArray.multiply(left, right, destination);
+            Assert.assertFalse(unrepresentable.isEmpty());
+            for (int i = 0; i < left.size(); i++) {
+                try {
+                    Assert.assertEquals(left.get(i).multiply(right.get(i)), destination.get(i));
+                    Assert.assertFalse(unrepresentable.get(i));
+                } catch (ArithmeticException e) {
+                    Assert.assertTrue(unrepresentable.get(i));
+                    Assert.assertEquals(Fraction.of(0), destination.get(i));
+                }
+            }
+        }
+
+        @Test
+        public void destinationMayBeAnOperandTest() {
+            OffHeapFractionArray left = OffHeapFractionArray.allocate(3);
+            OffHeapFractionArray right = OffHeapFractionArray.allocate(3);
+            for (int i = 0; i < 3; i++) {
+                left.set(i, i + 1, 2);
+                right.set(i, i, 3);
+            }
+            Assert.assertEquals(BitSet.valueOf(new long[]{1}), OffHeapFractionArray.divide(left, right, left));
+            OffHeapFractionArray.add(left, right, left);
+            OffHeapFractionArray.subtract(left, right, right);
+            Assert.assertEquals(Arrays.asList(Fraction.of(1, 2), Fraction.of(10, 3), Fraction.of(35, 12)),
+                    toList(left));
+            Assert.assertEquals(Arrays.asList(Fraction.of(1, 2), Fraction.of(3), Fraction.of(9, 4)), toList(right));
+        }
+
+        @Test
+        public void builtInOperationsMatchApplyTest() {
+            SplittableRandom random = new SplittableRandom(12);
+            OffHeapFractionArray left = random(random, 3000, Integer.MAX_VALUE);
+            OffHeapFractionArray right = random(random, 3000, 4);
+            OffHeapFractionArray expected = OffHeapFractionArray.allocate(3000);
+            OffHeapFractionArray actual = OffHeapFractionArray.allocate(3000);
+            Assert.assertEquals(OffHeapFractionArray.apply(PackedFractions::add, left, right, expected),
+                    OffHeapFractionArray.add(left, right, actual));
+            Assert.assertEquals(OffHeapFractionArray.apply(PackedFractions::subtract, right, left, expected),
+                    OffHeapFractionArray.subtract(right, left, actual));
+            Assert.assertEquals(OffHeapFractionArray.apply(PackedFractions::multiply, left, right, expected),
+                    OffHeapFractionArray.multiply(left, right, actual));
+            Assert.assertEquals(OffHeapFractionArray.apply(PackedFractions::divide, left, right, expected),
+                    OffHeapFractionArray.divide(left, right, actual));
+            Assert.assertEquals(toList(expected), toList(actual));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void sizesDifferException() {
+            OffHeapFractionArray.add(OffHeapFractionArray.allocate(1), OffHeapFractionArray.allocate(2),
+                    OffHeapFractionArray.allocate(1));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package fraction;
+
+/**
+ * Arithmetic on fractions packed into single <pre>long</pre> values, for pipelines of primitives
+ * (<pre>long[]</pre>, <pre>LongStream</pre>, buffers) that would otherwise need a <pre>Fraction</pre> object per
+ * value.
+ *
+ * A packed fraction holds an <pre>int</pre> <em>numerator</em> in its upper 32 bits and an <pre>int</pre>
+ * <em>denominator</em> in its lower 32 bits, the layout that {@link FractionParser} produces. Every value returned
+ * here is normalised, as a <pre>FractionImpl</pre> would be, so two packed fractions are equal exactly when they
+ * are <pre>==</pre>. Operations follow the semantics of <pre>FractionImpl</pre>, and throw the same
+ * <pre>ArithmeticException</pre>s, on the same inputs; their operands are assumed to be normalised, and a value
+ * packed some other way should first be passed through {@link #normalise(long)}.
+ */
+public final class PackedFractions {
+
+    /**
+     * The packed fraction <pre>0/1</pre>.
+     */
+    public static final long ZERO = 1L;
+
+    /**
+     * The packed fraction <pre>1/1</pre>.
+     */
+    public static final long ONE = 1L << 32 | 1L;
+
+    private PackedFractions() {
+    }
+
+    /**
+     * Packs the parameters as they are, without normalising them.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the packed fraction
+     */
+    static long pack(int numerator, int denominator) {
+        return (long) numerator << 32 | (denominator & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns <pre>numerator/denominator</pre>, normalised and packed.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the denominator is zero, or if the normalised fraction is
+     * not representable in integers.
+     *
+     * @param numerator the fraction's numerator
+     * @param denominator the fraction's denominator
+     * @return the packed fraction
+     */
+    public static long of(int numerator, int denominator) {
+        long divisor = FractionImpl.divisor(numerator, denominator);
+        return checkedPack(numerator / divisor, denominator / divisor);
+    }
+
+    /**
+     * Returns the whole number <pre>wholeNumber/1</pre>, packed.
+     *
+     * @param wholeNumber the fraction's numerator
+     * @return the packed fraction
+     */
+    public static long of(int wholeNumber) {
+        return pack(wholeNumber, 1);
+    }
+
+    /**
+     * Returns the value of <pre>f</pre>, packed.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is not representable in integers.
+     *
+     * @param f the fraction
+     * @return the packed fraction
+     */
+    public static long valueOf(Fraction f) {
+        return checkedPack(f.numerator(), f.denominator());
+    }
+
+    /**
+     * Parses a fraction, as {@link Fraction#valueOf(String)} does, and returns it packed.
+     *
+     * A <pre>NumberFormatException</pre> is thrown if the text is not a fraction, and an
+     * <pre>ArithmeticException</pre> as by {@link #of(int, int)}.
+     *
+     * @param text the fraction's text
+     * @return the packed fraction
+     */
+    public static long parse(CharSequence text) {
+        return normalise(FractionParser.parse(text, 0, text.length()));
+    }
+
+    /**
+     * Returns the packed fraction as a <pre>Fraction</pre> (a canonical instance, for the small values held by
+     * {@link FractionCache}).
+     *
+     * @param packed a normalised packed fraction
+     * @return the fraction
+     */
+    public static Fraction toFraction(long packed) {
+        return FractionImpl.canonical(numerator(packed), denominator(packed), 1);
+    }
+
+    /**
+     * @param packed a packed fraction
+     * @return its numerator
+     */
+    public static int numerator(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * @param packed a packed fraction
+     * @return its denominator
+     */
+    public static int denominator(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Normalises a packed fraction whose components may not be in lowest terms, or whose denominator may be
+     * negative, as {@link #of(int, int)} does.
+     *
+     * @param packed a packed fraction
+     * @return the normalised packed fraction
+     */
+    public static long normalise(long packed) {
+        return of(numerator(packed), denominator(packed));
+    }
+
+    /**
+     * Returns <pre>f1 + f2</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the result is not representable in integers.
+     *
+     * @param f1 the first packed fraction
+     * @param f2 the second packed fraction
+     * @return their packed sum
+     */
+    public static long add(long f1, long f2) {
+        return IntArithmetic.checked(
+                IntArithmetic.sum(numerator(f1), denominator(f1), numerator(f2), denominator(f2)));
+    }
+
+    /**
+     * Returns <pre>f1 - f2</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the result is not representable in integers.
+     *
+     * @param f1 the first packed fraction
+     * @param f2 the second packed fraction
+     * @return their packed difference
+     */
+    public static long subtract(long f1, long f2) {
+        return IntArithmetic.checked(
+                IntArithmetic.sum(numerator(f1), denominator(f1), -(long) numerator(f2), denominator(f2)));
+    }
+
+    /**
+     * Returns <pre>f1 * f2</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the result is not representable in integers.
+     *
+     * @param f1 the first packed fraction
+     * @param f2 the second packed fraction
+     * @return their packed product
+     */
+    public static long multiply(long f1, long f2) {
+        return IntArithmetic.checked(
+                IntArithmetic.product(numerator(f1), denominator(f1), numerator(f2), denominator(f2)));
+    }
+
+    /**
+     * Returns <pre>f1 / f2</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f2</pre> is zero, or if the result is not
+     * representable in integers.
+     *
+     * @param f1 the first packed fraction
+     * @param f2 the second packed fraction
+     * @return their packed quotient
+     */
+    public static long divide(long f1, long f2) {
+        return IntArithmetic.checked(
+                IntArithmetic.quotient(numerator(f1), denominator(f1), numerator(f2), denominator(f2)));
+    }
+
+    /**
+     * Returns <pre>-f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if the numerator is <pre>Integer.MIN_VALUE</pre>.
+     *
+     * @param f a packed fraction
+     * @return its packed negation
+     */
+    public static long negate(long f) {
+        int numerator = numerator(f);
+        if (numerator == Integer.MIN_VALUE) {
+            throw new ArithmeticException("Cannot negate a fraction " +
+                    "where the numerator is Integer's minimum value.");
+        }
+        return pack(-numerator, denominator(f));
+    }
+
+    /**
+     * Returns <pre>1 / f</pre>.
+     *
+     * An <pre>ArithmeticException</pre> is thrown if <pre>f</pre> is zero, or if the result is not
+     * representable in integers.
+     *
+     * @param f a packed fraction
+     * @return its packed inverse
+     */
+    public static long inverse(long f) {
+        long numerator = numerator(f), denominator = denominator(f);
+        if (numerator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        // already in lowest terms, so only a negative sign needs moving back onto the numerator
+        return numerator < 0 ? checkedPack(-denominator, -numerator) : checkedPack(denominator, numerator);
+    }
+
+    /**
+     * Compares two packed fractions by value, as <pre>Fraction.compareTo</pre> does.
+     *
+     * @param f1 the first packed fraction
+     * @param f2 the second packed fraction
+     * @return a negative integer, zero, or a positive integer as <pre>f1</pre> is less than, equal to, or greater
+     * than <pre>f2</pre>
+     */
+    public static int compare(long f1, long f2) {
+        return IntArithmetic.compare(numerator(f1), denominator(f1), numerator(f2), denominator(f2));
+    }
+
+    /**
+     * Returns the packed fraction as text, as <pre>Fraction.toString</pre> does.
+     *
+     * @param packed a packed fraction
+     * @return its text
+     */
+    public static String toString(long packed) {
+        int numerator = numerator(packed), denominator = denominator(packed);
+        return denominator != 1 ? numerator + "/" + denominator : String.valueOf(numerator);
+    }
+
+    // packs a normalised fraction, or throws if it is not representable in integers
+    private static long checkedPack(long numerator, long denominator) {
+        return pack(FractionImpl.checkedInt(numerator), FractionImpl.checkedInt(denominator));
+    }
+}
@@ -0,0 +1,213 @@
+package fraction;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.LongBinaryOperator;
+import org.junit.*;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized;
+
+@RunWith(Enclosed.class)
+public class PackedFractionsTest {
+    /*
+    Tests in this file check PackedFractions' arithmetic on packed longs against FractionImpl's on the same
+    values: the same results, which are normalised so that equal values pack identically, and an
+    ArithmeticException in the same cases. Operands range from small values to the limits of int.
+    */
+
+    @RunWith(Parameterized.class)
+    public static class ArithmeticTest {
+
+        @Parameters(name = "{index}: {0}, |values| < {1}")
+        public static Collection<Object[]> data() {
+            List<Object[]> data = new ArrayList<>();
+            for (String operation : new String[]{"add", "subtract", "multiply", "divide"}) {
+                for (int bound : new int[]{10, 100_000, Integer.MAX_VALUE}) {
+                    data.add(new Object[]{operation, bound});
+                }
+            }
+            return data;
+        }
+
+        private final BinaryOperator<Fraction> expected;
+        private final LongBinaryOperator packed;
+        private final int bound;
+        private final long seed;
+
+        public ArithmeticTest(String name, int bound) {
+            switch (name) {
+                case "add":
+                    expected = Fraction::add;
+                    packed = PackedFractions::add;
+                    break;
+                case "subtract":
+                    expected = Fraction::subtract;
+                    packed = PackedFractions::subtract;
+                    break;
+                case "multiply":
+                    expected = Fraction::multiply;
+                    packed = PackedFractions::multiply;
+                    break;
+                default:
+                    expected = Fraction::divide;
+                    packed = PackedFractions::divide;
+                    break;
+            }
+            this.bound = bound;
+            this.seed = name.hashCode() * 31L + bound;
+        }
+
+        @Test
+        public void matchesFractionImplTest() {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < 5000; i++) {
+                Fraction left = Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                Fraction right = Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                long packedLeft = PackedFractions.valueOf(left), packedRight = PackedFractions.valueOf(right);
+                Fraction result;
+                try {
+                    result = expected.apply(left, right);
+                } catch (ArithmeticException e) {
+                    try {
+                        packed.applyAsLong(packedLeft, packedRight);
+                        Assert.fail(left + ", " + right);
+                    } catch (ArithmeticException expected) {
+                    }
+                    continue;
+                }
+                long packedResult = packed.applyAsLong(packedLeft, packedRight);
+                Assert.assertEquals(left + ", " + right, result, PackedFractions.toFraction(packedResult));
+                Assert.assertEquals(PackedFractions.valueOf(result), packedResult);
+            }
+        }
+
+        @Test
+        public void compareMatchesCompareToTest() {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < 5000; i++) {
+                Fraction left = Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                Fraction right = random.nextInt(10) == 0 ? left :
+                        Fraction.of(random.nextInt(-bound, bound), random.nextInt(1, bound));
+                Assert.assertEquals(Integer.signum(left.compareTo(right)), Integer.signum(
+                        PackedFractions.compare(PackedFractions.valueOf(left), PackedFractions.valueOf(right))));
+            }
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class NormaliseTest {
+
+        @Parameters(name = "{index}: {0}/{1} is {2}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {0, 5, "0"},
+                    {0, -5, "0"},
+                    {6, 4, "3/2"},
+                    {6, -4, "-3/2"},
+                    {-6, -4, "3/2"},
+                    {Integer.MIN_VALUE, Integer.MIN_VALUE, "1"},
+                    {Integer.MAX_VALUE, Integer.MIN_VALUE, "ArithmeticException"},
+                    {Integer.MIN_VALUE, -1, "ArithmeticException"},
+                    {1, 0, "ArithmeticException"},
+            });
+        }
+
+        private final int numerator, denominator;
+        private final String expected;
+
+        public NormaliseTest(int numerator, int denominator, String expected) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.expected = expected;
+        }
+
+        private String normalised() {
+            try {
+                return PackedFractions.toString(
+                        PackedFractions.normalise(PackedFractions.pack(numerator, denominator)));
+            } catch (ArithmeticException e) {
+                return "ArithmeticException";
+            }
+        }
+
+        private String reference() {
+            try {
+                return new FractionImpl(numerator, denominator).toString();
+            } catch (ArithmeticException e) {
+                return "ArithmeticException";
+            }
+        }
+
+        @Test
+        public void normalisesAsFractionImplTest() {
+            Assert.assertEquals(reference(), normalised());
+        }
+
+        @Test
+        public void normalisesTest() {
+            Assert.assertEquals(expected, normalised());
+        }
+    }
+
+    public static class ConversionTest {
+
+        @Test
+        public void constantsTest() {
+            Assert.assertEquals(PackedFractions.of(0), PackedFractions.ZERO);
+            Assert.assertEquals(PackedFractions.of(1), PackedFractions.ONE);
+            Assert.assertEquals(PackedFractions.of(0, -3), PackedFractions.ZERO);
+        }
+
+        @Test
+        public void packsNumeratorHighTest() {
+            long packed = PackedFractions.of(-3, 4);
+            Assert.assertEquals(-3, PackedFractions.numerator(packed));
+            Assert.assertEquals(4, PackedFractions.denominator(packed));
+            Assert.assertEquals(-3L << 32 | 4, packed);
+        }
+
+        @Test
+        public void convertsBothWaysTest() {
+            Assert.assertEquals(Fraction.of(-7, 3),
+                    PackedFractions.toFraction(PackedFractions.valueOf(Fraction.of(-7, 3))));
+            Assert.assertSame(Fraction.of(1, 2), PackedFractions.toFraction(PackedFractions.of(2, 4)));
+            Assert.assertEquals(PackedFractions.of(5, 2), PackedFractions.valueOf(new LongFraction(10, 4)));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void notRepresentableException() {
+            PackedFractions.valueOf(new LongFraction(Long.MAX_VALUE));
+        }
+
+        @Test
+        public void parsesTest() {
+            Assert.assertEquals(PackedFractions.of(-1, 2), PackedFractions.parse(" 3 / -6 "));
+        }
+
+        @Test(expected = NumberFormatException.class)
+        public void malformedException() {
+            PackedFractions.parse("1/2/3");
+        }
+
+        @Test
+        public void unaryOperationsTest() {
+            long f = PackedFractions.of(-3, 4);
+            Assert.assertEquals(PackedFractions.of(3, 4), PackedFractions.negate(f));
+            Assert.assertEquals(PackedFractions.of(-4, 3), PackedFractions.inverse(f));
+            Assert.assertEquals("-3/4", PackedFractions.toString(f));
+            Assert.assertEquals("5", PackedFractions.toString(PackedFractions.of(5)));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void negateMinimumException() {
+            PackedFractions.negate(PackedFractions.of(Integer.MIN_VALUE));
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void inverseOfZeroException() {
+            PackedFractions.inverse(PackedFractions.ZERO);
+        }
+    }
+}